@@ -4,7 +4,9 @@ import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import org.mongodb.morphia.Morphia;
 import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.mapping.MappingException;
 import org.mongodb.morphia.utils.Assert;
+import org.mongodb.morphia.utils.ReflectionUtils;
 import org.reflections.Reflections;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.scanners.TypeAnnotationsScanner;
@@ -12,8 +14,11 @@ import org.reflections.scanners.TypeElementsScanner;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 
+import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -38,7 +43,8 @@ public class EntityScanner {
     }
 
     /**
-     * Creates an EntityScanner using the given Morphia instance with the given predicate.
+     * Creates an EntityScanner using the given Morphia instance with the given predicate.  The entities of the jars and directories with
+     * an entity index, as generated by the morphia-processor annotation processor, are read from the index instead of being scanned for.
      *
      * @param m         the Morphia instance
      * @param predicate the Predicate to use when determining which classes to map.
@@ -55,6 +61,8 @@ public class EntityScanner {
         final Set<URL> s = new HashSet<URL>();
         s.addAll(ClasspathHelper.forClassLoader());
         s.addAll(ClasspathHelper.forJavaClassPath());
+        // the jars and directories with an entity index are not scanned
+        s.removeAll(mapIndexed(m, localPredicate));
         final Iterator<URL> iterator = s.iterator();
         while (iterator.hasNext()) {
             final URL url = iterator.next();
@@ -62,6 +70,9 @@ public class EntityScanner {
                 iterator.remove();
             }
         }
+        if (s.isEmpty()) {
+            return;
+        }
         conf.setUrls(new ArrayList<URL>(s));
 
         conf.filterInputsBy(localPredicate);
@@ -74,4 +85,46 @@ public class EntityScanner {
             m.map(c);
         }
     }
+
+    /**
+     * Maps the entities listed in the entity indexes found on the classpath
+     *
+     * @return the jars and directories holding the indexes
+     */
+    private static Set<URL> mapIndexed(final Morphia m, final Predicate<String> predicate) {
+        final Set<URL> indexed = new HashSet<URL>();
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        try {
+            final Enumeration<URL> indexes = loader.getResources(ReflectionUtils.ENTITY_INDEX);
+            while (indexes.hasMoreElements()) {
+                final URL index = indexes.nextElement();
+                for (final String className : ReflectionUtils.readEntityIndex(index)) {
+                    if (predicate.apply(className + ".class")) {
+                        final Class<?> c = Class.forName(className, true, loader);
+                        if (ReflectionUtils.getClassEntityAnnotation(c) != null) {
+                            m.map(c);
+                        }
+                    }
+                }
+                indexed.add(getRoot(index));
+            }
+        } catch (IOException e) {
+            throw new MappingException("Could not read the entity indexes", e);
+        } catch (ClassNotFoundException e) {
+            throw new MappingException("Could not load an indexed entity", e);
+        }
+        return indexed;
+    }
+
+    /**
+     * @return the URL of the jar or directory holding an index, as the classpath lists it
+     */
+    private static URL getRoot(final URL index) throws MalformedURLException {
+        String root = index.toExternalForm();
+        root = root.substring(0, root.length() - ReflectionUtils.ENTITY_INDEX.length());
+        if (root.startsWith("jar:") && root.endsWith("!/")) {
+            root = root.substring("jar:".length(), root.length() - "!/".length());
+        }
+        return new URL(root);
+    }
 }
@@ -437,6 +437,18 @@ public interface Datastore {
      */
     <T> List<T> getByKeys(Iterable<Key<T>> keys);
 
+    /**
+     * Find the given entities (by id), verifying they are of the correct type.  The entities are returned in the order of the keys.
+     *
+     * @param clazz   the class to use for mapping, or null to use the type of each key
+     * @param keys    the keys to search with
+     * @param options the options to apply
+     * @param <T>     the type to fetch
+     * @return the matched entities
+     * @since 1.4
+     */
+    <T> List<T> getByKeys(Class<T> clazz, Iterable<Key<T>> keys, GetByKeysOptions options);
+
     /**
      * @param clazz the class to use for mapping
      * @return the mapped collection for the collection
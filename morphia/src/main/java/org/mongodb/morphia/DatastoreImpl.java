@@ -2,39 +2,62 @@ package org.mongodb.morphia;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.BasicDBObjectBuilder;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.BulkWriteResult;
 import com.mongodb.CommandResult;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
 import com.mongodb.DBDecoderFactory;
 import com.mongodb.DBObject;
 import com.mongodb.DBRef;
 import com.mongodb.DefaultDBDecoder;
+import com.mongodb.DuplicateKeyException;
+import com.mongodb.ErrorCategory;
 import com.mongodb.MapReduceCommand;
 import com.mongodb.MapReduceCommand.OutputType;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
+import com.mongodb.MongoException;
+import com.mongodb.MongoWriteException;
 import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
 import com.mongodb.WriteConcern;
+import com.mongodb.WriteConcernResult;
+import com.mongodb.WriteError;
 import com.mongodb.WriteResult;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.DBCollectionUpdateOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.InsertOneOptions;
 import com.mongodb.client.model.ValidationOptions;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.types.ObjectId;
 import org.mongodb.morphia.aggregation.AggregationPipeline;
 import org.mongodb.morphia.aggregation.AggregationPipelineImpl;
 import org.mongodb.morphia.annotations.CappedAt;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.annotations.NotSaved;
 import org.mongodb.morphia.annotations.PostPersist;
+import org.mongodb.morphia.annotations.TrackChanges;
 import org.mongodb.morphia.annotations.Validation;
 import org.mongodb.morphia.annotations.Version;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.EntityCodecProvider;
 import org.mongodb.morphia.mapping.MappedClass;
 import org.mongodb.morphia.mapping.MappedField;
 import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.MappingException;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.cache.EntityCacheFactory;
+import org.mongodb.morphia.mapping.cache.SecondLevelCache;
+import org.mongodb.morphia.mapping.cache.SecondLevelEntityCacheFactory;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxyHelper;
 import org.mongodb.morphia.query.CountOptions;
 import org.mongodb.morphia.query.DefaultQueryFactory;
@@ -48,14 +71,22 @@ import org.mongodb.morphia.query.UpdateResults;
 import org.mongodb.morphia.utils.Assert;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static com.mongodb.BasicDBObject.parse;
 import static com.mongodb.BasicDBObjectBuilder.start;
@@ -63,6 +94,8 @@ import static com.mongodb.DBCollection.ID_FIELD_NAME;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
 /**
  * A generic (type-safe) wrapper around mongodb collections
@@ -173,7 +206,9 @@ public class DatastoreImpl implements AdvancedDatastore {
             throw new QueryException("Delete does not allow sort/offset/limit query options.");
         }
 
-        return dbColl.remove(query.getQueryObject(), enforceWriteConcern(options, query.getEntityClass()).getOptions());
+        final WriteResult result = dbColl.remove(query.getQueryObject(), enforceWriteConcern(options, query.getEntityClass()).getOptions());
+        evictCached(dbColl, query.getQueryObject());
+        return result;
     }
 
     @Override
@@ -352,7 +387,7 @@ public class DatastoreImpl implements AdvancedDatastore {
 
         final DBObject result = dbColl.findAndModify(query.getQueryObject(), copy.getOptions());
 
-        return result == null ? null : mapper.fromDBObject(this, query.getEntityClass(), result, createCache());
+        return evictCached(dbColl, result == null ? null : mapper.fromDBObject(this, query.getEntityClass(), result, createCache()));
     }
 
     @Override
@@ -374,7 +409,11 @@ public class DatastoreImpl implements AdvancedDatastore {
                                                                            .update(((UpdateOpsImpl<T>) operations).getOps())
                                            .getOptions());
 
-        return res == null ? null : mapper.fromDBObject(this, query.getEntityClass(), res, createCache());
+        if (res == null) {
+            evictCached(dbColl, query.getQueryObject());
+            return null;
+        }
+        return evictCached(dbColl, mapper.fromDBObject(this, query.getEntityClass(), res, createCache()));
 
     }
 
@@ -418,7 +457,15 @@ public class DatastoreImpl implements AdvancedDatastore {
 
     @Override
     public <T, V> T get(final Class<T> clazz, final V id) {
-        return find(getCollection(clazz).getName(), clazz, Mapper.ID_KEY, id, 0, 1, true).get();
+        final String collection = getCollection(clazz).getName();
+        final SecondLevelCache secondLevelCache = getSecondLevelCache();
+        if (secondLevelCache != null) {
+            final T cached = secondLevelCache.get(new Key<T>(clazz, collection, id));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return find(collection, clazz, Mapper.ID_KEY, id, 0, 1, true).get();
     }
 
     @Override
@@ -448,39 +495,70 @@ public class DatastoreImpl implements AdvancedDatastore {
     }
 
     @Override
-    @SuppressWarnings({"rawtypes", "unchecked"})
     public <T> List<T> getByKeys(final Class<T> clazz, final Iterable<Key<T>> keys) {
+        return getByKeys(clazz, keys, new GetByKeysOptions());
+    }
 
-        final Map<String, List<Key>> kindMap = new HashMap<String, List<Key>>();
-        final List<T> entities = new ArrayList<T>();
-        // String clazzKind = (clazz==null) ? null :
-        // getMapper().getCollectionName(clazz);
-        for (final Key<?> key : keys) {
-            mapper.updateCollection(key);
-
-            // if (clazzKind != null && !key.getKind().equals(clazzKind))
-            // throw new IllegalArgumentException("Types are not equal (" +
-            // clazz + "!=" + key.getKindClass() +
-            // ") for key and method parameter clazz");
-            //
-            if (kindMap.containsKey(key.getCollection())) {
-                kindMap.get(key.getCollection()).add(key);
-            } else {
-                kindMap.put(key.getCollection(), new ArrayList<Key>(singletonList((Key) key)));
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getByKeys(final Class<T> clazz, final Iterable<Key<T>> keys, final GetByKeysOptions options) {
+        final List<Key<T>> keyList = new ArrayList<Key<T>>();
+        final List<Object> ids = new ArrayList<Object>();
+        final Map<String, Set<Object>> kindMap = new LinkedHashMap<String, Set<Object>>();
+        final Map<String, Class<T>> kindTypes = new HashMap<String, Class<T>>();
+        for (final Key<T> key : keys) {
+            final String collection = mapper.updateCollection(key);
+            final Object id = toQueryId(mapper.keyToDBRef(key).getId());
+            keyList.add(key);
+            ids.add(id);
+
+            Set<Object> kindIds = kindMap.get(collection);
+            if (kindIds == null) {
+                kindIds = new LinkedHashSet<Object>();
+                kindMap.put(collection, kindIds);
+                kindTypes.put(collection, clazz != null ? clazz : (Class<T>) key.getType());
+            }
+            kindIds.add(id);
+        }
+
+        final List<String> taskKinds = new ArrayList<String>();
+        final List<Callable<Map<Object, T>>> tasks = new ArrayList<Callable<Map<Object, T>>>();
+        for (final Entry<String, Set<Object>> entry : kindMap.entrySet()) {
+            final List<Object> kindIds = new ArrayList<Object>(entry.getValue());
+            final int chunkSize = options.getChunkSize() == 0 ? kindIds.size() : options.getChunkSize();
+            for (int i = 0; i < kindIds.size(); i += chunkSize) {
+                final String collection = entry.getKey();
+                final Class<T> type = kindTypes.get(collection);
+                final List<Object> chunk = kindIds.subList(i, Math.min(i + chunkSize, kindIds.size()));
+                taskKinds.add(collection);
+                tasks.add(new Callable<Map<Object, T>>() {
+                    @Override
+                    public Map<Object, T> call() {
+                        return getByIds(collection, type, chunk);
+                    }
+                });
             }
         }
-        for (final Map.Entry<String, List<Key>> entry : kindMap.entrySet()) {
-            final List<Key> kindKeys = entry.getValue();
 
-            final List<Object> objIds = new ArrayList<Object>();
-            for (final Key key : kindKeys) {
-                objIds.add(key.getId());
+        final Map<String, Map<Object, T>> found = new HashMap<String, Map<Object, T>>();
+        final List<Map<Object, T>> results = execute(tasks, options.getExecutor());
+        for (int i = 0; i < results.size(); i++) {
+            final Map<Object, T> entities = found.get(taskKinds.get(i));
+            if (entities == null) {
+                found.put(taskKinds.get(i), results.get(i));
+            } else {
+                entities.putAll(results.get(i));
             }
-            final List kindResults = find(entry.getKey(), null).disableValidation().filter("_id in", objIds).asList();
-            entities.addAll(kindResults);
         }
 
-        // TODO: order them based on the incoming Keys.
+        final List<T> entities = new ArrayList<T>(keyList.size());
+        for (int i = 0; i < keyList.size(); i++) {
+            final Map<Object, T> kindEntities = found.get(keyList.get(i).getCollection());
+            final T entity = kindEntities != null ? kindEntities.get(ids.get(i)) : null;
+            if (entity != null || options.isIncludeMissing()) {
+                entities.add(entity);
+            }
+        }
         return entities;
     }
 
@@ -681,11 +759,10 @@ public class DatastoreImpl implements AdvancedDatastore {
     @Override
     @SuppressWarnings("unchecked")
     public <T> Key<T> merge(final T entity, final WriteConcern wc) {
-        T unwrapped = entity;
+        final T unwrapped = ProxyHelper.unwrap(entity);
         final LinkedHashMap<Object, DBObject> involvedObjects = new LinkedHashMap<Object, DBObject>();
         final DBObject dbObj = mapper.toDBObject(unwrapped, involvedObjects);
         final Key<T> key = mapper.getKey(unwrapped);
-        unwrapped = ProxyHelper.unwrap(unwrapped);
         final Object id = mapper.getId(unwrapped);
         if (id == null) {
             throw new MappingException("Could not get id for " + unwrapped.getClass().getName());
@@ -699,13 +776,19 @@ public class DatastoreImpl implements AdvancedDatastore {
 
         final MappedClass mc = mapper.getMappedClass(unwrapped);
         final DBCollection dbColl = getCollection(unwrapped);
+        final DBObject snapshot = getSnapshot(mc, unwrapped, idValue);
 
         // try to do an update if there is a @Version field
-        wr = tryVersionedUpdate(dbColl, unwrapped, dbObj, idValue, new InsertOptions().writeConcern(wc), mc);
+        wr = tryVersionedUpdate(dbColl, unwrapped, dbObj, snapshot, false, idValue, new InsertOptions().writeConcern(wc), mc);
 
         if (wr == null) {
             final Query<T> query = (Query<T>) createQuery(unwrapped.getClass()).filter(Mapper.ID_KEY, id);
-            wr = update(query, new BasicDBObject("$set", dbObj), false, false, wc).getWriteResult();
+            DBObject update = snapshot == null ? null : getChanges(snapshot, dbObj, false, null);
+            if (update == null || update.keySet().isEmpty()) {
+                // still write the unchanged fields to find out if the document exists
+                update = new BasicDBObject("$set", dbObj);
+            }
+            wr = update(query, update, false, false, wc).getWriteResult();
         }
 
         final UpdateResults res = new UpdateResults(wr);
@@ -715,6 +798,12 @@ public class DatastoreImpl implements AdvancedDatastore {
         }
 
         dbObj.put(Mapper.ID_KEY, idValue);
+        if (snapshot != null) {
+            // the fields of the document which the entity does not write are left as they were
+            final DBObject merged = new BasicDBObject(snapshot.toMap());
+            merged.putAll(dbObj);
+            mapper.setSnapshot(unwrapped, merged);
+        }
         postSaveOperations(Collections.<Object>singletonList(entity), involvedObjects, dbColl, false);
         return key;
     }
@@ -739,6 +828,9 @@ public class DatastoreImpl implements AdvancedDatastore {
 
     @Override
     public <T> Iterable<Key<T>> save(final Iterable<T> entities, final InsertOptions options) {
+        if (morphia.isUseBulkWriteOperations()) {
+            return saveBulk(entities, options);
+        }
         final List<Key<T>> savedKeys = new ArrayList<Key<T>>();
         for (final T ent : entities) {
             savedKeys.add(save(ent, options));
@@ -1019,8 +1111,9 @@ public class DatastoreImpl implements AdvancedDatastore {
 
     @Override
     public <T> T get(final Class<T> clazz, final DBRef ref) {
+        final EntityCache cache = createCache();
         DBObject object = getDB().getCollection(ref.getCollectionName()).findOne(new BasicDBObject("_id", ref.getId()));
-        return mapper.fromDBObject(this, clazz, object, createCache());
+        return mapper.fromDBObject(this, clazz, object, cache);
     }
 
     @Override
@@ -1047,6 +1140,25 @@ public class DatastoreImpl implements AdvancedDatastore {
         decoderFactory = fact;
     }
 
+    /**
+     * Gets a MongoCollection for the given collection which reads and writes entities using the codecs of the given provider rather than
+     * DBObjects.
+     *
+     * @param dbColl   the collection to use
+     * @param type     the entity type
+     * @param provider the provider of the entity codecs
+     * @param <T>      the entity type
+     * @return the MongoCollection
+     * @see org.mongodb.morphia.mapping.MapperOptions#setUseCodecs(boolean)
+     */
+    public <T> MongoCollection<T> getMongoCollection(final DBCollection dbColl, final Class<T> type, final EntityCodecProvider provider) {
+        final MongoCollection<T> collection = mongoClient.getDatabase(dbColl.getDB().getName()).getCollection(dbColl.getName(), type);
+        return collection.withCodecRegistry(fromRegistries(fromProviders(provider), collection.getCodecRegistry()))
+                         .withReadPreference(dbColl.getReadPreference())
+                         .withReadConcern(dbColl.getReadConcern())
+                         .withWriteConcern(dbColl.getWriteConcern());
+    }
+
     @Override
     public <T> Key<T> insert(final String collection, final T entity) {
         final T unwrapped = ProxyHelper.unwrap(entity);
@@ -1230,6 +1342,11 @@ public class DatastoreImpl implements AdvancedDatastore {
     }
 
     protected <T> Key<T> insert(final DBCollection dbColl, final T entity, final InsertOptions options) {
+        final EntityCodecProvider codecProvider = getCodecProvider(singletonList(entity));
+        if (codecProvider != null) {
+            return insert(dbColl, singletonList(entity), codecProvider, enforceWriteConcern(options, entity.getClass())).get(0);
+        }
+
         final LinkedHashMap<Object, DBObject> involvedObjects = new LinkedHashMap<Object, DBObject>();
         dbColl.insert(singletonList(entityToDBObj(entity, involvedObjects)), enforceWriteConcern(options, entity.getClass())
             .getOptions());
@@ -1284,21 +1401,181 @@ public class DatastoreImpl implements AdvancedDatastore {
                                               mc.getClazz().getName()));
         }
 
+        final EntityCodecProvider codecProvider = getCodecProvider(singletonList(entity));
+        if (codecProvider != null && mc.getFieldsAnnotatedWith(Version.class).isEmpty()) {
+            return save(dbColl, entity, codecProvider, options);
+        }
+
         // involvedObjects is used not only as a cache but also as a list of what needs to be called for life-cycle methods at the end.
         final LinkedHashMap<Object, DBObject> involvedObjects = new LinkedHashMap<Object, DBObject>();
         final DBObject document = entityToDBObj(entity, involvedObjects);
 
         // try to do an update if there is a @Version field
         final Object idValue = document.get(Mapper.ID_KEY);
-        WriteResult wr = tryVersionedUpdate(dbColl, entity, document, idValue, enforceWriteConcern(options, entity.getClass()), mc);
+        final DBObject snapshot = getSnapshot(mc, entity, idValue);
+        WriteResult wr = tryVersionedUpdate(dbColl, entity, document, snapshot, true, idValue,
+                                            enforceWriteConcern(options, entity.getClass()), mc);
 
-        if (wr == null) {
+        if (wr == null && (snapshot == null || !saveChanges(dbColl, document, snapshot, options))) {
             saveDocument(dbColl, document, options);
         }
 
         return postSaveOperations(singletonList(entity), involvedObjects, dbColl).get(0);
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> Key<T> save(final DBCollection dbColl, final T entity, final EntityCodecProvider codecProvider,
+                            final InsertOptions options) {
+        final MongoCollection<T> collection = withWriteConcern(getMongoCollection(dbColl, (Class<T>) entity.getClass(), codecProvider),
+                                                               options.getWriteConcern());
+        final CollectibleCodec<T> codec = (CollectibleCodec<T>) collection.getCodecRegistry().get(entity.getClass());
+        try {
+            if (!codec.documentHasId(entity)) {
+                collection.insertOne(entity, new InsertOneOptions().bypassDocumentValidation(options.getBypassDocumentValidation()));
+            } else {
+                collection.replaceOne(new BsonDocument(ID_FIELD_NAME, codec.getDocumentId(entity)), entity,
+                                      new com.mongodb.client.model.UpdateOptions()
+                                          .bypassDocumentValidation(options.getBypassDocumentValidation())
+                                          .upsert(true));
+            }
+        } catch (MongoWriteException e) {
+            throw translateWriteError(e, e.getError(), e.getServerAddress());
+        }
+
+        evictCached(dbColl, entity);
+        return new Key<T>((Class<? extends T>) entity.getClass(), dbColl.getName(), mapper.getId(entity));
+    }
+
+    private <T> List<Key<T>> saveBulk(final Iterable<T> entities, final InsertOptions options) {
+        final Map<String, List<T>> batches = new LinkedHashMap<String, List<T>>();
+        final List<T> unwrappedEntities = new ArrayList<T>();
+        for (final T entity : entities) {
+            if (entity == null) {
+                throw new UpdateException("Can not persist a null entity");
+            }
+            final T unwrapped = ProxyHelper.unwrap(entity);
+            final String collection = getCollection(unwrapped).getName();
+            List<T> batch = batches.get(collection);
+            if (batch == null) {
+                batch = new ArrayList<T>();
+                batches.put(collection, batch);
+            }
+            batch.add(unwrapped);
+            unwrappedEntities.add(unwrapped);
+        }
+
+        final Map<T, Key<T>> keys = new IdentityHashMap<T, Key<T>>();
+        for (final List<T> batch : batches.values()) {
+            final T first = batch.get(0);
+            final List<Key<T>> batchKeys = saveBulk(getCollection(first), batch, enforceWriteConcern(options, first.getClass()));
+            for (int i = 0; i < batch.size(); i++) {
+                keys.put(batch.get(i), batchKeys.get(i));
+            }
+        }
+
+        final List<Key<T>> savedKeys = new ArrayList<Key<T>>();
+        for (final T entity : unwrappedEntities) {
+            savedKeys.add(keys.get(entity));
+        }
+        return savedKeys;
+    }
+
+    /**
+     * Saves the entities with a single bulk write.  @Version checks become part of the filter of each replacement.  The bulk result only
+     * carries totals so if fewer replacements matched than were sent, the versions of the versioned documents are read back with one query
+     * to find the stale entities, which are reported with a ConcurrentModificationException once the rest of the bulk has been applied.
+     */
+    private <T> List<Key<T>> saveBulk(final DBCollection dbColl, final List<T> entities, final InsertOptions options) {
+        final BulkWriteOperation bulk = options.isContinueOnError()
+                                        ? dbColl.initializeUnorderedBulkOperation()
+                                        : dbColl.initializeOrderedBulkOperation();
+        bulk.setBypassDocumentValidation(options.getBypassDocumentValidation());
+
+        // involvedObjects is used not only as a cache but also as a list of what needs to be called for life-cycle methods at the end.
+        final LinkedHashMap<Object, DBObject> involvedObjects = new LinkedHashMap<Object, DBObject>();
+        final List<T> versioned = new ArrayList<T>();
+        final List<Object> versionedIds = new ArrayList<Object>();
+        final List<String> versionKeyNames = new ArrayList<String>();
+        final List<Long> newVersions = new ArrayList<Long>();
+        final DBObject versionKeys = new BasicDBObject(ID_FIELD_NAME, 1);
+        int replacements = 0;
+        for (final T entity : entities) {
+            final MappedClass mc = mapper.getMappedClass(entity);
+            if (mc.getAnnotation(NotSaved.class) != null) {
+                throw new MappingException(format("Entity type: %s is marked as NotSaved which means you should not try to save it!",
+                                                  mc.getClazz().getName()));
+            }
+            final DBObject document = entityToDBObj(entity, involvedObjects);
+            final Object idValue = document.get(ID_FIELD_NAME);
+            if (!mc.getFieldsAnnotatedWith(Version.class).isEmpty()) {
+                final MappedField mfVersion = mc.getMappedVersionField();
+                final String versionKeyName = mfVersion.getNameToStore();
+                final Long oldVersion = (Long) mfVersion.getFieldValue(entity);
+                final long newVersion = nextValue(oldVersion);
+                document.put(versionKeyName, newVersion);
+
+                if (idValue != null && newVersion != 1) {
+                    bulk.find(new BasicDBObject(ID_FIELD_NAME, idValue).append(versionKeyName, oldVersion)).replaceOne(document);
+                    versioned.add(entity);
+                    versionedIds.add(idValue);
+                    versionKeyNames.add(versionKeyName);
+                    newVersions.add(newVersion);
+                    versionKeys.put(versionKeyName, 1);
+                    replacements++;
+                    continue;
+                }
+            }
+            if (idValue == null) {
+                bulk.insert(document);
+            } else {
+                bulk.find(new BasicDBObject(ID_FIELD_NAME, idValue)).upsert().replaceOne(document);
+                replacements++;
+            }
+        }
+
+        final BulkWriteResult result = bulk.execute(options.getWriteConcern());
+
+        final Set<T> stale = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+        T conflicted = null;
+        if (!versioned.isEmpty() && result.isAcknowledged() && result.getMatchedCount() + result.getUpserts().size() < replacements) {
+            final Map<Object, DBObject> current = new HashMap<Object, DBObject>();
+            final DBCursor cursor = dbColl.find(new BasicDBObject(ID_FIELD_NAME, new BasicDBObject("$in", versionedIds)), versionKeys);
+            try {
+                while (cursor.hasNext()) {
+                    final DBObject document = cursor.next();
+                    current.put(document.get(ID_FIELD_NAME), document);
+                }
+            } finally {
+                cursor.close();
+            }
+            for (int i = 0; i < versioned.size(); i++) {
+                final T entity = versioned.get(i);
+                final DBObject document = current.get(versionedIds.get(i));
+                final Object version = document == null ? null : document.get(versionKeyNames.get(i));
+                if (!(version instanceof Number) || ((Number) version).longValue() != newVersions.get(i)) {
+                    conflicted = conflicted == null ? entity : conflicted;
+                    stale.add(entity);
+                    involvedObjects.remove(entity);
+                }
+            }
+        }
+        final List<T> saved = new ArrayList<T>(entities.size());
+        for (final T entity : entities) {
+            if (!stale.contains(entity)) {
+                saved.add(entity);
+            }
+        }
+
+        final List<Key<T>> keys = postSaveOperations(saved, involvedObjects, dbColl);
+        if (conflicted != null) {
+            final MappedField mfVersion = mapper.getMappedClass(conflicted).getMappedVersionField();
+            throw new ConcurrentModificationException(format("Entity of class %s (id='%s',version='%d') was concurrently updated.",
+                                                             conflicted.getClass().getName(), mapper.getId(conflicted),
+                                                             mfVersion.getFieldValue(conflicted)));
+        }
+        return keys;
+    }
+
     private WriteResult saveDocument(final DBCollection dbColl, final DBObject document, final InsertOptions options) {
         if (document.get(ID_FIELD_NAME) == null) {
             return dbColl.insert(singletonList(document), options.getOptions());
@@ -1311,8 +1588,95 @@ public class DatastoreImpl implements AdvancedDatastore {
         }
     }
 
-    private <T> WriteResult tryVersionedUpdate(final DBCollection dbColl, final T entity, final DBObject dbObj, final Object idValue,
-                                               final InsertOptions options, final MappedClass mc) {
+    /**
+     * Writes only the fields of a document which differ from the snapshot of its entity.
+     *
+     * @return false if nothing was written because the document no longer exists
+     */
+    private boolean saveChanges(final DBCollection dbColl, final DBObject document, final DBObject snapshot, final InsertOptions options) {
+        final DBObject changes = getChanges(snapshot, document, true, null);
+        if (changes.keySet().isEmpty()) {
+            return true;
+        }
+        final WriteResult wr = dbColl.update(new BasicDBObject(ID_FIELD_NAME, document.get(ID_FIELD_NAME)), changes,
+                                             new DBCollectionUpdateOptions()
+                                                 .bypassDocumentValidation(options.getBypassDocumentValidation())
+                                                 .writeConcern(options.getWriteConcern()));
+        return !wr.wasAcknowledged() || wr.getN() != 0;
+    }
+
+    /**
+     * Returns the snapshot of an entity if it was taken from the document the entity is about to be written to.  Only entities annotated
+     * with {@link TrackChanges} are looked up, as the snapshots are shared by all threads.
+     */
+    private DBObject getSnapshot(final MappedClass mc, final Object entity, final Object idValue) {
+        if (idValue == null || mc.getAnnotation(TrackChanges.class) == null) {
+            return null;
+        }
+        final DBObject snapshot = mapper.getSnapshot(entity);
+        return snapshot != null && idValue.equals(snapshot.get(Mapper.ID_KEY)) ? snapshot : null;
+    }
+
+    /**
+     * Returns the update which turns a snapshot in to a document, setting the changed fields of embedded documents by their paths.
+     *
+     * @param snapshot   the document as it was loaded or last saved
+     * @param document   the document as it should be
+     * @param unset      true to unset the fields missing from the document, false to leave them
+     * @param versionKey the field of the version to leave out as it is incremented separately, or null
+     * @return the $set and $unset operators to apply, empty if the documents are the same
+     */
+    private static DBObject getChanges(final DBObject snapshot, final DBObject document, final boolean unset, final String versionKey) {
+        final DBObject set = new BasicDBObject();
+        final DBObject unsets = new BasicDBObject();
+        addChanges("", snapshot, document, set, unset ? unsets : null);
+        set.removeField(Mapper.ID_KEY);
+        unsets.removeField(Mapper.ID_KEY);
+        if (versionKey != null) {
+            set.removeField(versionKey);
+        }
+
+        final DBObject changes = new BasicDBObject();
+        if (!set.keySet().isEmpty()) {
+            changes.put("$set", set);
+        }
+        if (!unsets.keySet().isEmpty()) {
+            changes.put("$unset", unsets);
+        }
+        return changes;
+    }
+
+    private static void addChanges(final String prefix, final DBObject before, final DBObject after, final DBObject set,
+                                   final DBObject unset) {
+        for (final String key : after.keySet()) {
+            final Object value = after.get(key);
+            final Object old = before.get(key);
+            if (!before.containsField(key)) {
+                set.put(prefix + key, value);
+            } else if (isDocument(value) && isDocument(old)) {
+                addChanges(prefix + key + ".", (DBObject) old, (DBObject) value, set, unset);
+            } else if (value == null ? old != null : !(value instanceof byte[] && old instanceof byte[]
+                                                         ? Arrays.equals((byte[]) value, (byte[]) old)
+                                                         : value.equals(old))) {
+                set.put(prefix + key, value);
+            }
+        }
+        if (unset != null) {
+            for (final String key : before.keySet()) {
+                if (!after.containsField(key)) {
+                    unset.put(prefix + key, "");
+                }
+            }
+        }
+    }
+
+    private static boolean isDocument(final Object value) {
+        return value instanceof DBObject && !(value instanceof List);
+    }
+
+    private <T> WriteResult tryVersionedUpdate(final DBCollection dbColl, final T entity, final DBObject dbObj, final DBObject snapshot,
+                                               final boolean unset, final Object idValue, final InsertOptions options,
+                                               final MappedClass mc) {
         WriteResult wr;
         if (mc.getFieldsAnnotatedWith(Version.class).isEmpty()) {
             return null;
@@ -1333,13 +1697,23 @@ public class DatastoreImpl implements AdvancedDatastore {
                 .filter(Mapper.ID_KEY, idValue)
                 .enableValidation()
                 .filter(versionKeyName, oldVersion);
-            final UpdateResults res = update(query, dbObj, new UpdateOptions()
-                .bypassDocumentValidation(options.getBypassDocumentValidation())
-                .writeConcern(options.getWriteConcern()));
-
-            wr = res.getWriteResult();
+            // update() increments the version of a partial update
+            final DBObject update = snapshot == null ? dbObj : getChanges(snapshot, dbObj, unset, versionKeyName);
+            final long updated;
+            if (update.keySet().isEmpty()) {
+                // nothing changed since the snapshot, so keep the version and only check that it is still current
+                dbObj.put(versionKeyName, oldVersion);
+                updated = query.count();
+                wr = new WriteResult((int) updated, true, null);
+            } else {
+                final UpdateResults res = update(query, update, new UpdateOptions()
+                    .bypassDocumentValidation(options.getBypassDocumentValidation())
+                    .writeConcern(options.getWriteConcern()));
+                wr = res.getWriteResult();
+                updated = res.getUpdatedCount();
+            }
 
-            if (res.getUpdatedCount() != 1) {
+            if (updated != 1) {
                 throw new ConcurrentModificationException(format("Entity of class %s (id='%s',version='%d') was concurrently updated.",
                                                                  entity.getClass().getName(), idValue, oldVersion));
             }
@@ -1350,6 +1724,62 @@ public class DatastoreImpl implements AdvancedDatastore {
         return wr;
     }
 
+    private <T> List<T> execute(final List<Callable<T>> tasks, final ExecutorService executor) {
+        final List<T> results = new ArrayList<T>(tasks.size());
+        try {
+            if (executor == null) {
+                for (final Callable<T> task : tasks) {
+                    results.add(task.call());
+                }
+            } else {
+                for (final Future<T> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MappingException("Interrupted while fetching entities", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new MappingException("Could not fetch entities", e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MappingException("Could not fetch entities", e);
+        }
+        return results;
+    }
+
+    private <T> Map<Object, T> getByIds(final String collection, final Class<T> type, final List<Object> ids) {
+        final EntityCache cache = createCache();
+        final Map<Object, T> entities = new HashMap<Object, T>();
+        final DBCursor cursor = getDB().getCollection(collection).find(new BasicDBObject(ID_FIELD_NAME, new BasicDBObject("$in", ids)));
+        try {
+            cursor.setDecoderFactory(getDecoderFact());
+            while (cursor.hasNext()) {
+                final DBObject dbObj = cursor.next();
+                entities.put(toQueryId(dbObj.get(ID_FIELD_NAME)), mapper.fromDBObject(this, type, dbObj, cache));
+            }
+        } finally {
+            cursor.close();
+        }
+        return entities;
+    }
+
+    /**
+     * Stored ids do not carry a className so one is dropped from the id to match them.
+     */
+    private Object toQueryId(final Object id) {
+        if (id instanceof DBObject && ((DBObject) id).containsField(Mapper.CLASS_NAME_FIELDNAME)) {
+            final BasicDBObject copy = new BasicDBObject(((DBObject) id).toMap());
+            copy.removeField(Mapper.CLASS_NAME_FIELDNAME);
+            return copy;
+        }
+        return id;
+    }
+
     private Query<?> buildExistsQuery(final Object entityOrKey) {
         final Object unwrapped = ProxyHelper.unwrap(entityOrKey);
         final Key<?> key = mapper.getKey(unwrapped);
@@ -1365,6 +1795,67 @@ public class DatastoreImpl implements AdvancedDatastore {
         return mapper.createEntityCache();
     }
 
+    private SecondLevelCache getSecondLevelCache() {
+        final EntityCacheFactory factory = mapper.getOptions().getCacheFactory();
+        return factory instanceof SecondLevelEntityCacheFactory ? ((SecondLevelEntityCacheFactory) factory).getSecondLevelCache() : null;
+    }
+
+    /**
+     * Evicts the cached copy of an entity which was just written.  The cache is keyed by the stored ids, so an entity whose id is stored
+     * as an embedded document evicts the whole collection.
+     */
+    private <T> T evictCached(final DBCollection dbColl, final T entity) {
+        final SecondLevelCache secondLevelCache = getSecondLevelCache();
+        if (secondLevelCache != null && entity != null) {
+            final Object id = mapper.getId(ProxyHelper.unwrap(entity));
+            if (id == null || mapper.isMapped(id.getClass())) {
+                secondLevelCache.evictAll(dbColl.getName());
+            } else {
+                secondLevelCache.evict(dbColl.getName(), id);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Evicts the cached copies of the entities a write may have changed.  A filter matching _id to a value, or to the values of an $in,
+     * can only change the documents with those ids whatever else it matches, so only those are evicted.  Any other filter evicts the whole
+     * collection.
+     */
+    private void evictCached(final DBCollection dbColl, final DBObject queryObject) {
+        final SecondLevelCache secondLevelCache = getSecondLevelCache();
+        if (secondLevelCache != null) {
+            final Object id = queryObject.get(Mapper.ID_KEY);
+            if (id == null) {
+                secondLevelCache.evictAll(dbColl.getName());
+            } else if (!(id instanceof DBObject) || id instanceof List || !isOperators((DBObject) id)) {
+                // a plain value, an array or an id stored as an embedded document
+                secondLevelCache.evict(dbColl.getName(), id);
+            } else {
+                final DBObject operators = (DBObject) id;
+                final Object values = operators.get("$in");
+                if (operators.keySet().size() == 1 && operators.containsField("$eq")) {
+                    secondLevelCache.evict(dbColl.getName(), operators.get("$eq"));
+                } else if (operators.keySet().size() == 1 && values instanceof Iterable) {
+                    for (final Object value : (Iterable<?>) values) {
+                        secondLevelCache.evict(dbColl.getName(), value);
+                    }
+                } else {
+                    secondLevelCache.evictAll(dbColl.getName());
+                }
+            }
+        }
+    }
+
+    private static boolean isOperators(final DBObject value) {
+        for (final String key : value.keySet()) {
+            if (key.startsWith("$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private DBObject entityToDBObj(final Object entity, final Map<Object, DBObject> involvedObjects) {
         return mapper.toDBObject(ProxyHelper.unwrap(entity), involvedObjects);
     }
@@ -1374,6 +1865,11 @@ public class DatastoreImpl implements AdvancedDatastore {
             return Collections.emptyList();
         }
 
+        final EntityCodecProvider codecProvider = getCodecProvider(entities);
+        if (codecProvider != null) {
+            return insert(dbColl, entities, codecProvider, enforceWriteConcern(options, entities.iterator().next().getClass()));
+        }
+
         final Map<Object, DBObject> involvedObjects = new LinkedHashMap<Object, DBObject>();
         final List<DBObject> list = new ArrayList<DBObject>();
         com.mongodb.InsertOptions insertOptions = options.getOptions();
@@ -1388,6 +1884,90 @@ public class DatastoreImpl implements AdvancedDatastore {
         return postSaveOperations(entities, involvedObjects, dbColl);
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> List<Key<T>> insert(final DBCollection dbColl, final Iterable<T> entities, final EntityCodecProvider codecProvider,
+                                    final InsertOptions options) {
+        final List<T> list = new ArrayList<T>();
+        for (final T entity : entities) {
+            final MappedClass mc = mapper.getMappedClass(entity);
+            if (mc.getAnnotation(NotSaved.class) != null) {
+                throw new MappingException(format("Entity type: %s is marked as NotSaved which means you should not try to save it!",
+                                                  mc.getClazz().getName()));
+            }
+            for (MappedField mappedField : mc.getFieldsAnnotatedWith(Version.class)) {
+                if (mappedField.getFieldValue(entity) == null) {
+                    mappedField.setFieldValue(entity, 1L);
+                }
+            }
+            list.add(entity);
+        }
+
+        final MongoCollection<T> collection = withWriteConcern(getMongoCollection(dbColl, (Class<T>) list.get(0).getClass(), codecProvider),
+                                                               options.getWriteConcern());
+        try {
+            if (list.size() == 1) {
+                collection.insertOne(list.get(0), new InsertOneOptions().bypassDocumentValidation(options.getBypassDocumentValidation()));
+            } else {
+                collection.insertMany(list, new InsertManyOptions()
+                    .ordered(!options.isContinueOnError())
+                    .bypassDocumentValidation(options.getBypassDocumentValidation()));
+            }
+        } catch (MongoWriteException e) {
+            throw translateWriteError(e, e.getError(), e.getServerAddress());
+        } catch (MongoBulkWriteException e) {
+            throw e.getWriteErrors().isEmpty() ? e : translateWriteError(e, e.getWriteErrors().get(0), e.getServerAddress());
+        }
+
+        final List<Key<T>> keys = new ArrayList<Key<T>>();
+        for (final T entity : list) {
+            evictCached(dbColl, entity);
+            keys.add(new Key<T>((Class<? extends T>) entity.getClass(), dbColl.getName(), mapper.getId(entity)));
+        }
+        return keys;
+    }
+
+    /**
+     * Returns an EntityCodecProvider if all the entities are of the same type and can be written through an entity codec, null otherwise.
+     */
+    private <T> EntityCodecProvider getCodecProvider(final Iterable<T> entities) {
+        if (!mapper.getOptions().isUseCodecs()) {
+            return null;
+        }
+        Class<?> type = null;
+        for (final T entity : entities) {
+            if (type == null) {
+                type = entity.getClass();
+            } else if (!type.equals(entity.getClass())) {
+                return null;
+            }
+            if (mapper.getId(entity) == null) {
+                final MappedField idField = mapper.getMappedClass(entity).getMappedIdField();
+                if (idField == null || !idField.getType().isAssignableFrom(ObjectId.class)) {
+                    return null;
+                }
+            }
+        }
+        final EntityCodecProvider provider = new EntityCodecProvider(this, mapper, createCache());
+        return type != null && provider.isSupported(type) ? provider : null;
+    }
+
+    /**
+     * Raises duplicate keys as the same exception the DBCollection based writes do.
+     */
+    private MongoException translateWriteError(final MongoException e, final WriteError error, final ServerAddress serverAddress) {
+        if (error.getCategory() != ErrorCategory.DUPLICATE_KEY) {
+            return e;
+        }
+        return new DuplicateKeyException(new BsonDocument("ok", new BsonInt32(1))
+                                             .append("err", new BsonString(error.getMessage()))
+                                             .append("code", new BsonInt32(error.getCode())),
+                                         serverAddress, WriteConcernResult.acknowledged(0, false, null));
+    }
+
+    private <T> MongoCollection<T> withWriteConcern(final MongoCollection<T> collection, final WriteConcern writeConcern) {
+        return writeConcern == null ? collection : collection.withWriteConcern(writeConcern);
+    }
+
     /**
      * Creates and returns a {@link Query} using the underlying {@link QueryFactory}.
      *
@@ -1427,8 +2007,10 @@ public class DatastoreImpl implements AdvancedDatastore {
                     throw new MappingException(format("Missing _id after save on %s", entity.getClass().getName()));
                 }
                 mapper.updateKeyAndVersionInfo(this, dbObj, createCache(), entity);
+                mapper.setSnapshot(entity, dbObj);
                 keys.add(new Key<T>((Class<? extends T>) entity.getClass(), collection.getName(), mapper.getId(entity)));
             }
+            evictCached(collection, entity);
             mapper.getMappedClass(entity).callLifecycleMethods(PostPersist.class, entity, dbObj, mapper);
         }
 
@@ -1492,9 +2074,11 @@ public class DatastoreImpl implements AdvancedDatastore {
                              dbColl.getName(), queryObject, update, options.isMulti(), options.isUpsert()));
         }
 
-        return new UpdateResults(dbColl.update(queryObject, update,
-                                               enforceWriteConcern(options, query.getEntityClass())
-                                                   .getOptions()));
+        final UpdateResults results = new UpdateResults(dbColl.update(queryObject, update,
+                                                                      enforceWriteConcern(options, query.getEntityClass())
+                                                                          .getOptions()));
+        evictCached(dbColl, queryObject);
+        return results;
     }
 
     @SuppressWarnings("unchecked")
@@ -1545,9 +2129,11 @@ public class DatastoreImpl implements AdvancedDatastore {
                              dbColl.getName(), queryObject, update, options.isMulti(), options.isUpsert()));
         }
 
-        return new UpdateResults(dbColl.update(queryObject, update,
-                                               enforceWriteConcern(options, query.getEntityClass())
-                                                   .getOptions()));
+        final UpdateResults results = new UpdateResults(dbColl.update(queryObject, update,
+                                                                      enforceWriteConcern(options, query.getEntityClass())
+                                                                          .getOptions()));
+        evictCached(dbColl, queryObject);
+        return results;
     }
 
     /**
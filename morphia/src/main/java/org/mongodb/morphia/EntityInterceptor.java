@@ -30,6 +30,9 @@ public interface EntityInterceptor {
     void postPersist(Object ent, DBObject dbObj, Mapper mapper);
 
     /**
+     * Not called for the classes created through a {@link org.mongodb.morphia.annotations.Creator}, as there is no instance before the
+     * document is read.
+     *
      * @param ent    the entity being processed
      * @param dbObj  the DBObject form of the entity
      * @param mapper the Mapper being used
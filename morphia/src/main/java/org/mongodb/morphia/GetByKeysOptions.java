@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The options to apply when fetching entities by their keys.  The entities are always returned in the order of the keys given.
+ *
+ * @see Datastore#getByKeys(Class, Iterable, GetByKeysOptions)
+ * @since 1.4
+ */
+public final class GetByKeysOptions {
+    private int chunkSize;
+    private ExecutorService executor;
+    private boolean includeMissing;
+
+    /**
+     * Copies this instance to a new one.
+     *
+     * @return the new instance
+     */
+    public GetByKeysOptions copy() {
+        return new GetByKeysOptions()
+            .chunkSize(getChunkSize())
+            .executor(getExecutor())
+            .includeMissing(isIncludeMissing());
+    }
+
+    /**
+     * @return the maximum number of keys to fetch with a single query, or 0 to fetch all the keys of a collection at once.  The default
+     * is 0.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the maximum number of keys to fetch with a single query.  Large key lists are split in to chunks of this size.
+     *
+     * @param chunkSize the chunk size, or 0 to fetch all the keys of a collection at once
+     * @return this
+     */
+    public GetByKeysOptions chunkSize(final int chunkSize) {
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("The chunk size can not be negative: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @return the executor to run the queries on, or null if they are run on the calling thread
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor to run the queries on.  Each chunk of each collection is fetched as a separate task and the calling thread waits
+     * for all of them to complete.  The executor is not shut down.
+     *
+     * @param executor the executor, or null to run the queries on the calling thread
+     * @return this
+     */
+    public GetByKeysOptions executor(final ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * @return true if a null is returned in place of each entity which could not be found.  The default is false.
+     */
+    public boolean isIncludeMissing() {
+        return includeMissing;
+    }
+
+    /**
+     * Sets whether a null is returned in place of each entity which could not be found.  If false, missing entities are omitted from the
+     * results.
+     *
+     * @param includeMissing true to keep the results aligned with the keys
+     * @return this
+     */
+    public GetByKeysOptions includeMissing(final boolean includeMissing) {
+        this.includeMissing = includeMissing;
+        return this;
+    }
+}
@@ -39,6 +39,7 @@ import java.util.Set;
 public class Morphia {
     private static final Logger LOG = MorphiaLoggerFactory.get(Morphia.class);
     private final Mapper mapper;
+    private boolean useBulkWriteOperations = false;
 
     /**
      * Creates a Morphia instance with a default Mapper and an empty class set.
@@ -147,13 +148,12 @@ public class Morphia {
     }
 
     /**
-     * @return false.  Setting this value has no value functionally or performance-wise.
-     * @deprecated
-     * @see <a href="https://github.com/MorphiaOrg/morphia/issues/1052">Issue #1052</a>
+     * @return true if Morphia should use bulk writes
+     * @deprecated use {@link #isUseBulkWriteOperations()}
      */
     @Deprecated
     public boolean getUseBulkWriteOperations() {
-        return false;
+        return isUseBulkWriteOperations();
     }
 
     /**
@@ -167,24 +167,24 @@ public class Morphia {
     }
 
     /**
-     * @return false.  Setting this value has no value functionally or performance-wise.
-     * @deprecated
-     * @see <a href="https://github.com/MorphiaOrg/morphia/issues/1052">Issue #1052</a>
+     * @return true if Morphia should use bulk writes
+     * @see #setUseBulkWriteOperations(boolean)
      */
-    @Deprecated
     public boolean isUseBulkWriteOperations() {
-        return false;
+        return useBulkWriteOperations;
     }
 
     /**
-     * Configures Morphia to use bulk writes.  Only useful with MongoDB 2.6+.
+     * Configures Morphia to use bulk writes.  Only useful with MongoDB 2.6+.  When enabled, saving an {@link Iterable} of entities
+     * sends one bulk write per collection rather than one write per entity.  The bulk is unordered if
+     * {@link InsertOptions#continueOnError(boolean)} is set and ordered otherwise.  Deleting by a list of ids already takes a single
+     * delete, and merges are written one entity at a time.
      *
      * @param useBulkWriteOperations true if Morphia should use bulk writes
-     * @see <a href="https://github.com/MorphiaOrg/morphia/issues/1052">Issue #1052</a>
-     * @deprecated Setting this value has no value functionally or performance-wise.
+     * @see Datastore#save(Iterable)
      */
-    @Deprecated
     public void setUseBulkWriteOperations(final boolean useBulkWriteOperations) {
+        this.useBulkWriteOperations = useBulkWriteOperations;
     }
 
     /**
@@ -232,7 +232,8 @@ public class Morphia {
     }
 
     /**
-     * Tries to map all classes in the package specified.
+     * Tries to map all classes in the package specified.  Where a jar or directory has an entity index, as generated by the
+     * morphia-processor annotation processor, only the classes it lists are loaded instead of every class of the package.
      *
      * @param packageName          the name of the package to process
      * @param ignoreInvalidClasses specifies whether to ignore classes in the package that cannot be mapped
@@ -240,7 +241,8 @@ public class Morphia {
      */
     public synchronized Morphia mapPackage(final String packageName, final boolean ignoreInvalidClasses) {
         try {
-            for (final Class clazz : ReflectionUtils.getClasses(packageName, mapper.getOptions().isMapSubPackages())) {
+            for (final Class clazz : ReflectionUtils.getIndexedClasses(Thread.currentThread().getContextClassLoader(), packageName,
+                                                                        mapper.getOptions().isMapSubPackages())) {
                 try {
                     final Embedded embeddedAnn = ReflectionUtils.getClassEmbeddedAnnotation(clazz);
                     final Entity entityAnn = ReflectionUtils.getClassEntityAnnotation(clazz);
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity as eligible for the second level cache.  Loaded instances are shared between all the callers of a {@link
+ * org.mongodb.morphia.mapping.cache.SecondLevelCache} so this is meant for reference data which is read often and rarely changed.
+ * Cached instances should be treated as read only.
+ *
+ * @see org.mongodb.morphia.mapping.cache.SecondLevelEntityCacheFactory
+ * @since 1.4
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Cached {
+    /**
+     * @return the number of seconds an instance stays in the cache after being loaded, or 0 to use the default of the cache
+     */
+    long expireAfterSeconds() default 0;
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the constructor, or static factory method, which creates the instances of an entity or embedded class when they are loaded.  The
+ * fields of the document are decoded as usual and passed to the creator by name, in the order listed, so the class needs neither a no-args
+ * constructor nor setters and its fields can be final.  Mapped fields which are not passed to the creator are then read in to the instance
+ * it returns.  As there is no instance before the creator is called, such classes can not have @PreLoad methods, interceptors are not
+ * called on @PreLoad, and the references passed to the creator can not refer back to the instance being created.
+ * <p>
+ * <pre>
+ * &#64;Embedded
+ * public class Money {
+ *     private final String currency;
+ *     private final long amount;
+ *
+ *     &#64;Creator({"currency", "amount"})
+ *     public Money(final String currency, final long amount) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 1.4
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.CONSTRUCTOR, ElementType.METHOD})
+public @interface Creator {
+    /**
+     * @return the java or stored names of the mapped fields to pass as the parameters, in order
+     */
+    String[] value();
+}
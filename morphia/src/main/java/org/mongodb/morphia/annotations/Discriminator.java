@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stores a short code instead of the class name in the {@code className} field of the documents of an entity or embedded class.  The
+ * class name is written in every document and every embedded document, so a short code saves space on the wire, in the cache of the
+ * server and in indexes on the field.  Documents written before the code was assigned still hold the class name and are read as before.
+ * <p>
+ * Codes need to be unique across the classes of a Mapper and every class needs to be mapped before documents using its code are read.
+ * The annotation is not inherited: subclasses which do not declare a code of their own store their class name.  Queries filtering on
+ * the {@code className} field with a class, or the name of a class, use the code of that class.
+ *
+ * @since 1.4
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Discriminator {
+    /**
+     * @return the code to store in place of the class name
+     */
+    String value();
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stores an array of primitives as a single binary value holding its elements in little-endian order, rather than as an array of BSON
+ * values.  Each element then only takes the bytes of its type, without a type tag and an index key, and reading the array is a bulk copy
+ * instead of a conversion per element.  Arrays of {@code boolean} take a byte per element.
+ * <p>
+ * The server can not look in to the binary value so the field can not be filtered on, nor indexed in any meaningful way.  Documents
+ * written before the annotation was added still hold an array of values and are read as before.
+ *
+ * @since 1.4
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Packed {
+}
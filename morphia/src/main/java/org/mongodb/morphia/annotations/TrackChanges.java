@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity whose saves should only write the fields which changed.  The document each instance is loaded from, or last saved as,
+ * is kept for as long as the instance is reachable.  Saving the instance again sends a {@code $set} of the changed fields, down to the
+ * fields of embedded documents, and an {@code $unset} of the removed ones instead of replacing the whole document.  An instance which has
+ * not changed is not written at all.  Other writes to the fields the instance did not change are kept, where saving the whole document
+ * would overwrite them.
+ * <p>
+ * This pays off for large documents which change a few fields at a time, at the cost of holding a copy of the document of every loaded
+ * instance.  Saves of several entities at once and instances which were read with a projection still replace the whole document.
+ *
+ * @since 1.4
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface TrackChanges {
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.converters;
+
+/**
+ * A snapshot of the statistics of the cache of resolved converters in {@link Converters}.
+ *
+ * @see Converters#getCacheStatistics()
+ * @since 1.4
+ */
+public class ConverterCacheStatistics {
+    private final long misses;
+    private final long invalidations;
+
+    ConverterCacheStatistics(final long misses, final long invalidations) {
+        this.misses = misses;
+        this.invalidations = invalidations;
+    }
+
+    /**
+     * @return the number of lookups which had to search the registered converters
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of times the cache was cleared because a converter was added or removed
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + misses + " misses, " + invalidations + " invalidations.";
+    }
+}
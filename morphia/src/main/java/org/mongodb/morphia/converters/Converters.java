@@ -3,6 +3,7 @@ package org.mongodb.morphia.converters;
 import com.mongodb.DBObject;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.EphemeralMappedField;
 import org.mongodb.morphia.mapping.MappedField;
 import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.MapperOptions;
@@ -14,6 +15,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.String.format;
 
@@ -22,11 +26,16 @@ import static java.lang.String.format;
  */
 public abstract class Converters {
     private static final Logger LOG = MorphiaLoggerFactory.get(Converters.class);
+    private static final Class NO_VALUE = Void.class;
 
     private final Mapper mapper;
     private final List<TypeConverter> untypedTypeEncoders = new LinkedList<TypeConverter>();
     private final Map<Class, List<TypeConverter>> tcMap = new ConcurrentHashMap<Class, List<TypeConverter>>();
     private final List<Class<? extends TypeConverter>> registeredConverterClasses = new ArrayList<Class<? extends TypeConverter>>();
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile ResolvedConverters resolved = new ResolvedConverters();
 
     /**
      * Creates a bundle with a particular Mapper.
@@ -64,6 +73,7 @@ public abstract class Converters {
 
         registeredConverterClasses.add(tc.getClass());
         tc.setMapper(mapper);
+        invalidate();
 
         return tc;
     }
@@ -82,7 +92,7 @@ public abstract class Converters {
         if (toDecode == null) {
             toDecode = fromDBObject.getClass();
         }
-        return getEncoder(toDecode).decode(toDecode, fromDBObject, mf);
+        return findEncoder(toDecode).decode(toDecode, fromDBObject, mf);
     }
 
     /**
@@ -106,7 +116,7 @@ public abstract class Converters {
      * @return the encoded version of the object
      */
     public Object encode(final Class c, final Object o) {
-        return getEncoder(c).encode(o);
+        return findEncoder(c).encode(o);
     }
 
     /**
@@ -118,9 +128,37 @@ public abstract class Converters {
      * @param targetEntity then entity to hold the state from the database
      */
     public void fromDBObject(final DBObject dbObj, final MappedField mf, final Object targetEntity) {
-        final Object object = mf.getDbObjectValue(dbObj);
+        fromDBValue(mf.getDbObjectValue(dbObj), mf, targetEntity);
+    }
+
+    /**
+     * Decodes a single value read from the database and sets it on the target entity.  This method is primarily an internal method.
+     * Reliance on this method may break your application in future releases.
+     *
+     * @param object       the value as read from the database
+     * @param mf           the MappedField containing the metadata to use when decoding in to a field
+     * @param targetEntity then entity to hold the state from the database
+     * @see #fromDBObject(DBObject, MappedField, Object)
+     */
+    public void fromDBValue(final Object object, final MappedField mf, final Object targetEntity) {
+        if (object != null) {
+            fromDBValue(object, mf, targetEntity, findEncoder(null, mf));
+        }
+    }
+
+    /**
+     * Decodes a single value read from the database with an already resolved converter and sets it on the target entity.  This method is
+     * primarily an internal method.  Reliance on this method may break your application in future releases.
+     *
+     * @param object       the value as read from the database
+     * @param mf           the MappedField containing the metadata to use when decoding in to a field
+     * @param targetEntity then entity to hold the state from the database
+     * @param enc          the converter to use
+     * @see #getDecoder(MappedField)
+     * @since 1.4
+     */
+    public void fromDBValue(final Object object, final MappedField mf, final Object targetEntity, final TypeConverter enc) {
         if (object != null) {
-            final TypeConverter enc = getEncoder(mf);
             final Object decodedValue = enc.decode(mf.getType(), object, mf);
             try {
                 mf.setFieldValue(targetEntity, decodedValue);
@@ -131,12 +169,57 @@ public abstract class Converters {
         }
     }
 
+    /**
+     * Finds the converter used to decode values in to the given field.  Unlike encoding, decoding only depends on the field so the
+     * converter can be resolved once and reused for every document.
+     *
+     * @param mf the field to check
+     * @return the converter
+     * @since 1.4
+     */
+    public TypeConverter getDecoder(final MappedField mf) {
+        return findEncoder(null, mf);
+    }
+
+    /**
+     * The version changes every time a converter is added or removed.  It lets state derived from the converters, such as the mapping
+     * plan of a {@link org.mongodb.morphia.mapping.MappedClass}, detect that it needs to be rebuilt.
+     *
+     * @return the current version of this bundle
+     * @since 1.4
+     */
+    public int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns how well the cache of resolved converters is doing.  Converters are resolved once per type, or once per field and runtime
+     * type of its values, and then reused until a converter is added or removed.  Only the lookups which miss the cache are counted so
+     * the lookups answered from it stay free of shared writes.
+     *
+     * @return a snapshot of the statistics
+     * @since 1.4
+     */
+    public ConverterCacheStatistics getCacheStatistics() {
+        return new ConverterCacheStatistics(cacheMisses.get(), invalidations.get());
+    }
+
+    /**
+     * Resets the statistics of the cache of resolved converters.  The cache itself is left untouched.
+     *
+     * @since 1.4
+     */
+    public void resetCacheStatistics() {
+        cacheMisses.set(0);
+        invalidations.set(0);
+    }
+
     /**
      * @param field the field to check with
      * @return true if there is a converter for the type of the field
      */
     public boolean hasDbObjectConverter(final MappedField field) {
-        final TypeConverter converter = getEncoder(field);
+        final TypeConverter converter = findEncoder(null, field);
         return converter != null && !(converter instanceof IdentityConverter) && !(converter instanceof SimpleValueConverter);
     }
 
@@ -145,7 +228,7 @@ public abstract class Converters {
      * @return true if there is a converter for the type
      */
     public boolean hasDbObjectConverter(final Class c) {
-        final TypeConverter converter = getEncoder(c);
+        final TypeConverter converter = findEncoder(c);
         return converter != null && !(converter instanceof IdentityConverter) && !(converter instanceof SimpleValueConverter);
     }
 
@@ -173,7 +256,7 @@ public abstract class Converters {
      * @see SimpleValueConverter
      */
     public boolean hasSimpleValueConverter(final Class c) {
-        return (getEncoder(c) instanceof SimpleValueConverter);
+        return (findEncoder(c) instanceof SimpleValueConverter);
     }
 
     /**
@@ -182,7 +265,7 @@ public abstract class Converters {
      * @see SimpleValueConverter
      */
     public boolean hasSimpleValueConverter(final MappedField c) {
-        return (getEncoder(c) instanceof SimpleValueConverter);
+        return (findEncoder(null, c) instanceof SimpleValueConverter);
     }
 
     /**
@@ -214,7 +297,7 @@ public abstract class Converters {
             }
             registeredConverterClasses.remove(tc.getClass());
         }
-
+        invalidate();
     }
 
     /**
@@ -226,15 +309,27 @@ public abstract class Converters {
      * @param opts             the options to apply
      */
     public void toDBObject(final Object containingObject, final MappedField mf, final DBObject dbObj, final MapperOptions opts) {
-        final Object fieldValue = mf.getFieldValue(containingObject);
-        final TypeConverter enc = getEncoder(fieldValue, mf);
-
-        final Object encoded = enc.encode(fieldValue, mf);
+        final Object encoded = toDBValue(containingObject, mf);
         if (encoded != null || opts.isStoreNulls()) {
             dbObj.put(mf.getNameToStore(), encoded);
         }
     }
 
+    /**
+     * Converts the value of a field to the value to store in the database
+     *
+     * @param containingObject The object holding the field
+     * @param mf               the MappedField to extract
+     * @return the encoded value
+     * @see #toDBObject(Object, MappedField, DBObject, MapperOptions)
+     */
+    public Object toDBValue(final Object containingObject, final MappedField mf) {
+        final Object fieldValue = mf.getFieldValue(containingObject);
+        final TypeConverter enc = findEncoder(fieldValue, mf);
+
+        return enc.encode(fieldValue, mf);
+    }
+
     protected TypeConverter getEncoder(final Class c) {
         final List<TypeConverter> tcs = tcMap.get(c);
         if (tcs != null) {
@@ -292,7 +387,63 @@ public abstract class Converters {
         }
     }
 
-    private TypeConverter getEncoder(final MappedField mf) {
-        return getEncoder(null, mf);
+    /**
+     * Resolves the converter for a type through the cache so {@link #getEncoder(Class)} only runs once per type.
+     */
+    private TypeConverter findEncoder(final Class c) {
+        final ResolvedConverters resolved = this.resolved;
+        TypeConverter encoder = resolved.byType.get(c);
+        if (encoder == null) {
+            cacheMisses.incrementAndGet();
+            encoder = getEncoder(c);
+            if (encoder != null) {
+                resolved.byType.put(c, encoder);
+            }
+        }
+        return encoder;
+    }
+
+    /**
+     * Resolves the converter for a value of a field through the cache so {@link #getEncoder(Object, MappedField)} only runs once per
+     * field and runtime type of its values.  EphemeralMappedFields are created for single values so they are never cached.
+     */
+    private TypeConverter findEncoder(final Object val, final MappedField mf) {
+        if (mf instanceof EphemeralMappedField) {
+            return getEncoder(val, mf);
+        }
+        final ResolvedConverters resolved = this.resolved;
+        ConcurrentMap<Class, TypeConverter> byValueType = resolved.byField.get(mf);
+        if (byValueType == null) {
+            byValueType = new ConcurrentHashMap<Class, TypeConverter>();
+            final ConcurrentMap<Class, TypeConverter> existing = resolved.byField.putIfAbsent(mf, byValueType);
+            if (existing != null) {
+                byValueType = existing;
+            }
+        }
+        final Class valueType = val == null ? NO_VALUE : val.getClass();
+        TypeConverter encoder = byValueType.get(valueType);
+        if (encoder == null) {
+            cacheMisses.incrementAndGet();
+            encoder = getEncoder(val, mf);
+            if (encoder != null) {
+                byValueType.put(valueType, encoder);
+            }
+        }
+        return encoder;
+    }
+
+    /**
+     * Drops every resolved converter.  Lookups still running against the old cache can only fill that discarded instance.
+     */
+    private void invalidate() {
+        resolved = new ResolvedConverters();
+        invalidations.incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    private static class ResolvedConverters {
+        private final ConcurrentMap<Class, TypeConverter> byType = new ConcurrentHashMap<Class, TypeConverter>();
+        private final ConcurrentMap<MappedField, ConcurrentMap<Class, TypeConverter>> byField =
+            new ConcurrentHashMap<MappedField, ConcurrentMap<Class, TypeConverter>>();
     }
 }
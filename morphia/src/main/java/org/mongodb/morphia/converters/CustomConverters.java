@@ -31,8 +31,8 @@ public class CustomConverters extends Converters {
 
     @Override
     public void removeConverter(final TypeConverter tc) {
-        super.removeConverter(tc);
         defaultConverters.removeConverter(tc);
+        super.removeConverter(tc);
     }
 
     @Override
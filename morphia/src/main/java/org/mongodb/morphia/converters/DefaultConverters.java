@@ -17,6 +17,7 @@ public class DefaultConverters extends Converters {
     public static final boolean JAVA_8;
     private final IdentityConverter identityConverter;
     private final SerializedObjectConverter serializedConverter;
+    private final PackedArrayConverter packedConverter;
 
     static {
         boolean found;
@@ -80,6 +81,8 @@ public class DefaultConverters extends Converters {
         //generic converter that will just pass things through.
         identityConverter = new IdentityConverter();
         serializedConverter = new SerializedObjectConverter();
+        packedConverter = new PackedArrayConverter();
+        packedConverter.setMapper(mapper);
     }
 
     @Override
@@ -97,6 +100,9 @@ public class DefaultConverters extends Converters {
         if (serializedConverter.canHandle(mf)) {
             return serializedConverter;
         }
+        if (packedConverter.canHandle(mf)) {
+            return packedConverter;
+        }
 
         TypeConverter encoder = super.getEncoder(val, mf);
         if (encoder == null && (identityConverter.canHandle(mf)
@@ -11,7 +11,9 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static java.lang.String.format;
 
@@ -21,6 +23,13 @@ import static java.lang.String.format;
  * @author scotthernandez
  */
 public class IterableConverter extends TypeConverter {
+    /**
+     * the converters of the numbers and booleans the driver decodes to the right type already
+     */
+    private static final Set<Class<? extends TypeConverter>> NUMERIC_CONVERTERS = new HashSet<Class<? extends TypeConverter>>(
+        Arrays.<Class<? extends TypeConverter>>asList(IntegerConverter.class, LongConverter.class, DoubleConverter.class,
+                                                      FloatConverter.class, ShortConverter.class, BooleanConverter.class));
+
     @Override
     @SuppressWarnings("unchecked")
     public Object decode(final Class targetClass, final Object fromDBObject, final MappedField mf) {
@@ -29,9 +38,17 @@ public class IterableConverter extends TypeConverter {
         }
 
         final Class subtypeDest = mf.getSubClass();
-        final Collection values = createNewCollection(mf);
-
         final Converters converters = getMapper().getConverters();
+        if (fromDBObject instanceof Iterable && subtypeDest != null && isNumeric(converters, subtypeDest)) {
+            final Object decoded = mf.getType().isArray() && subtypeDest.isPrimitive()
+                                   ? toPrimitiveArray(subtypeDest, (Iterable<?>) fromDBObject)
+                                   : decodeNumbers(converters, subtypeDest, (Iterable<?>) fromDBObject, mf);
+            if (decoded != null) {
+                return decoded;
+            }
+        }
+
+        final Collection values = createNewCollection(mf);
         if (fromDBObject.getClass().isArray()) {
             //This should never happen. The driver always returns list/arrays as a List
             for (final Object o : (Object[]) fromDBObject) {
@@ -97,8 +114,11 @@ public class IterableConverter extends TypeConverter {
 
         final List values = new ArrayList();
         if (mf != null && mf.getSubClass() != null) {
+            final Class<?> subClass = mf.getSubClass();
+            // the numeric converters store their values as they are
+            final boolean numeric = isNumeric(getMapper().getConverters(), subClass);
             for (final Object o : iterableValues) {
-                values.add(getMapper().getConverters().encode(mf.getSubClass(), o));
+                values.add(numeric && (o == null || o.getClass() == subClass) ? o : getMapper().getConverters().encode(subClass, o));
             }
         } else {
             for (final Object o : iterableValues) {
@@ -117,6 +137,101 @@ public class IterableConverter extends TypeConverter {
         }
     }
 
+    private static boolean isNumeric(final Converters converters, final Class<?> type) {
+        final TypeConverter converter = converters.getEncoder(type);
+        return converter != null && NUMERIC_CONVERTERS.contains(converter.getClass());
+    }
+
+    /**
+     * Decodes a list of numbers, or booleans, passing on the elements which already have the type of the field instead of looking up
+     * their converter for each of them.
+     *
+     * @return the values, or null if they are to be stored in an array
+     */
+    @SuppressWarnings("unchecked")
+    private Object decodeNumbers(final Converters converters, final Class<?> type, final Iterable<?> fromDBObject, final MappedField mf) {
+        if (mf.getType().isArray()) {
+            return null;
+        }
+        final Collection values = createNewCollection(mf);
+        for (final Object o : fromDBObject) {
+            values.add(o == null || o.getClass() == type ? o : converters.decode(type, o, mf));
+        }
+        return values;
+    }
+
+    /**
+     * Reads numbers, or booleans, straight in to an array of primitives.
+     *
+     * @return the array, or null if an element is not a number and needs the converter
+     */
+    private static Object toPrimitiveArray(final Class<?> type, final Iterable<?> fromDBObject) {
+        final int size = fromDBObject instanceof Collection ? ((Collection<?>) fromDBObject).size() : -1;
+        if (size < 0) {
+            return null;
+        }
+        int i = 0;
+        if (type == double.class) {
+            final double[] array = new double[size];
+            for (final Object o : fromDBObject) {
+                if (!(o instanceof Number)) {
+                    return null;
+                }
+                array[i++] = ((Number) o).doubleValue();
+            }
+            return array;
+        } else if (type == int.class) {
+            final int[] array = new int[size];
+            for (final Object o : fromDBObject) {
+                if (!(o instanceof Number)) {
+                    return null;
+                }
+                array[i++] = ((Number) o).intValue();
+            }
+            return array;
+        } else if (type == long.class) {
+            final long[] array = new long[size];
+            for (final Object o : fromDBObject) {
+                if (!(o instanceof Number)) {
+                    return null;
+                }
+                array[i++] = ((Number) o).longValue();
+            }
+            return array;
+        } else if (type == float.class) {
+            final float[] array = new float[size];
+            for (final Object o : fromDBObject) {
+                if (!(o instanceof Number)) {
+                    return null;
+                }
+                array[i++] = ((Number) o).floatValue();
+            }
+            return array;
+        } else if (type == short.class) {
+            final short[] array = new short[size];
+            for (final Object o : fromDBObject) {
+                if (!(o instanceof Number)) {
+                    return null;
+                }
+                array[i++] = ((Number) o).shortValue();
+            }
+            return array;
+        } else if (type == boolean.class) {
+            final boolean[] array = new boolean[size];
+            for (final Object o : fromDBObject) {
+                if (o instanceof Boolean) {
+                    array[i++] = (Boolean) o;
+                } else if (o instanceof Number) {
+                    array[i++] = ((Number) o).intValue() != 0;
+                } else {
+                    return null;
+                }
+            }
+            return array;
+        }
+        return null;
+    }
+
     private Collection<?> createNewCollection(final MappedField mf) {
         final ObjectFactory of = getMapper().getOptions().getObjectFactory();
         return mf.isSet() ? of.createSet(mf) : of.createList(mf);
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.converters;
+
+import org.bson.types.Binary;
+import org.mongodb.morphia.annotations.Packed;
+import org.mongodb.morphia.mapping.MappedField;
+import org.mongodb.morphia.mapping.MappingException;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static java.lang.String.format;
+
+/**
+ * Converts the arrays of primitives of fields annotated with {@link Packed} to and from a single binary value holding the elements in
+ * little-endian order.
+ *
+ * @since 1.4
+ */
+public class PackedArrayConverter extends TypeConverter {
+    @Override
+    public Object decode(final Class targetClass, final Object fromDBObject, final MappedField f) {
+        if (fromDBObject == null) {
+            return null;
+        }
+        final byte[] data;
+        if (fromDBObject instanceof Binary) {
+            data = ((Binary) fromDBObject).getData();
+        } else if (fromDBObject instanceof byte[]) {
+            data = (byte[]) fromDBObject;
+        } else {
+            // written before the field was packed
+            return getMapper().getConverters().decode(targetClass, fromDBObject, f);
+        }
+
+        final Class<?> type = f.getType().getComponentType();
+        final int size = getElementSize(type);
+        if (data.length % size != 0) {
+            throw new MappingException(format("The stored data of %s is %d bytes long which is not a whole number of %s values",
+                                              f.getFullName(), data.length, type.getName()));
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        final int length = data.length / size;
+        if (type == double.class) {
+            final double[] array = new double[length];
+            buffer.asDoubleBuffer().get(array);
+            return array;
+        } else if (type == float.class) {
+            final float[] array = new float[length];
+            buffer.asFloatBuffer().get(array);
+            return array;
+        } else if (type == long.class) {
+            final long[] array = new long[length];
+            buffer.asLongBuffer().get(array);
+            return array;
+        } else if (type == int.class) {
+            final int[] array = new int[length];
+            buffer.asIntBuffer().get(array);
+            return array;
+        } else if (type == short.class) {
+            final short[] array = new short[length];
+            buffer.asShortBuffer().get(array);
+            return array;
+        } else if (type == char.class) {
+            final char[] array = new char[length];
+            buffer.asCharBuffer().get(array);
+            return array;
+        } else if (type == boolean.class) {
+            final boolean[] array = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = data[i] != 0;
+            }
+            return array;
+        }
+        return data.clone();
+    }
+
+    @Override
+    public Object encode(final Object value, final MappedField f) {
+        return value == null ? null : pack(value);
+    }
+
+    /**
+     * Packs an array of primitives in to its little-endian binary form
+     *
+     * @param value the array
+     * @return the bytes to store
+     */
+    public static byte[] pack(final Object value) {
+        final Class<?> type = value.getClass().getComponentType();
+        if (type == byte.class) {
+            return (byte[]) value;
+        } else if (type == boolean.class) {
+            final boolean[] array = (boolean[]) value;
+            final byte[] data = new byte[array.length];
+            for (int i = 0; i < array.length; i++) {
+                data[i] = (byte) (array[i] ? 1 : 0);
+            }
+            return data;
+        }
+
+        final int length = Array.getLength(value);
+        final ByteBuffer buffer = ByteBuffer.allocate(length * getElementSize(type)).order(ByteOrder.LITTLE_ENDIAN);
+        if (type == double.class) {
+            buffer.asDoubleBuffer().put((double[]) value);
+        } else if (type == float.class) {
+            buffer.asFloatBuffer().put((float[]) value);
+        } else if (type == long.class) {
+            buffer.asLongBuffer().put((long[]) value);
+        } else if (type == int.class) {
+            buffer.asIntBuffer().put((int[]) value);
+        } else if (type == short.class) {
+            buffer.asShortBuffer().put((short[]) value);
+        } else {
+            buffer.asCharBuffer().put((char[]) value);
+        }
+        return buffer.array();
+    }
+
+    @Override
+    protected boolean isSupported(final Class c, final MappedField optionalExtraInfo) {
+        return optionalExtraInfo != null && optionalExtraInfo.hasAnnotation(Packed.class);
+    }
+
+    private static int getElementSize(final Class<?> type) {
+        if (type == double.class || type == long.class) {
+            return 8;
+        } else if (type == float.class || type == int.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.internal;
+
+import org.mongodb.morphia.mapping.MappedClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is an internal class and is subject to change or removal.
+ * <p>
+ * Remembers the field versions of the classes a path was looked up in, so a remembered path can tell whether it would still resolve
+ * the same way.
+ *
+ * @since 1.4
+ */
+public class FieldVersions {
+    private final List<MappedClass> classes = new ArrayList<MappedClass>();
+    private final List<Integer> versions = new ArrayList<Integer>();
+
+    /**
+     * Records the current field version of a class, before looking up a segment of the path in it.
+     *
+     * @param mappedClass the class
+     */
+    public void record(final MappedClass mappedClass) {
+        classes.add(mappedClass);
+        versions.add(mappedClass.getFieldVersion());
+    }
+
+    /**
+     * @return true if none of the recorded classes has gained fields or field annotations since it was recorded
+     */
+    public boolean isCurrent() {
+        for (int i = 0; i < classes.size(); i++) {
+            if (classes.get(i).getFieldVersion() != versions.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
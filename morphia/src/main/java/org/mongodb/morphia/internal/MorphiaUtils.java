@@ -45,4 +45,26 @@ public final class MorphiaUtils {
         }
         return builder.toString();
     }
+
+    /**
+     * Checks whether a segment of a path is the positional operator or an array index
+     *
+     * @param segment the segment
+     * @return true if the segment refers to an element of an array rather than to a field
+     */
+    public static boolean isArrayOperator(final String segment) {
+        if (segment.equals("$")) {
+            return true;
+        }
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            final char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -26,6 +26,7 @@ import java.util.List;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static org.mongodb.morphia.internal.MorphiaUtils.isArrayOperator;
 import static org.mongodb.morphia.internal.MorphiaUtils.join;
 
 /**
@@ -43,6 +44,7 @@ public class PathTarget {
     private MappedClass root;
     private MappedField target;
     private boolean resolved = false;
+    private FieldVersions versions;
 
     /**
      * Creates a resolution context for the given root and path.
@@ -99,13 +101,27 @@ public class PathTarget {
     }
 
     private void resolve() {
+        final PathTarget known = root.getResolvedPaths().get(path);
+        if (known != null && known.versions.isCurrent()) {
+            for (int i = 0; i < segments.size(); i++) {
+                segments.set(i, known.segments.get(i));
+            }
+            target = known.target;
+            resolved = true;
+            return;
+        }
+
         context = this.root;
         position = 0;
+        versions = new FieldVersions();
         MappedField field = null;
+        // array indexes and map keys are data, so paths containing them are not worth remembering
+        boolean cacheable = true;
         while (hasNext()) {
             String segment = next();
 
-            if (segment.equals("$") || segment.matches("[0-9]+")) {  // array operator
+            if (isArrayOperator(segment)) {
+                cacheable &= segment.equals("$");
                 if (!hasNext()) {
                     break;
                 }
@@ -117,16 +133,22 @@ public class PathTarget {
                 translate(field.getNameToStore());
                 if (field.isMap() && hasNext()) {
                     next();  // consume the map key segment
+                    cacheable = false;
                 }
             } else {
                 if (validateNames) {
                     throw new ValidationException(format("Could not resolve path '%s' against '%s'.", join(segments, '.'),
                                                          root.getClazz().getName()));
                 }
+                cacheable = false;
             }
         }
         target = field;
         resolved = true;
+        if (cacheable) {
+            // a path resolving every segment resolves the same way whether names are validated or not
+            root.getResolvedPaths().put(path, this);
+        }
     }
 
     private void translate(final String nameToStore) {
@@ -134,6 +156,7 @@ public class PathTarget {
     }
 
     private MappedField resolveField(final String segment) {
+        versions.record(context);
         MappedField mf = context.getMappedField(segment);
         if (mf == null) {
             mf = context.getMappedFieldByJavaField(segment);
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.internal;
+
+import org.mongodb.morphia.mapping.MappedClass;
+import org.mongodb.morphia.mapping.MappedField;
+
+/**
+ * This is an internal class and is subject to change or removal.
+ * <p>
+ * A query path which passed validation, with the stored names of its segments and the field it ends at.
+ *
+ * @since 1.4
+ */
+public class ValidatedPath {
+    private final String translatedPath;
+    private final MappedClass owner;
+    private final MappedField target;
+    private final FieldVersions versions;
+
+    /**
+     * Creates a validated path.
+     *
+     * @param translatedPath the path using the stored names
+     * @param owner          the class declaring the field the path ends at
+     * @param target         the field the path ends at
+     * @param versions       the versions of the classes the path was looked up in
+     */
+    public ValidatedPath(final String translatedPath, final MappedClass owner, final MappedField target, final FieldVersions versions) {
+        this.translatedPath = translatedPath;
+        this.owner = owner;
+        this.target = target;
+        this.versions = versions;
+    }
+
+    /**
+     * @return the path using the stored names
+     */
+    public String getTranslatedPath() {
+        return translatedPath;
+    }
+
+    /**
+     * @return the class declaring the field the path ends at
+     */
+    public MappedClass getOwner() {
+        return owner;
+    }
+
+    /**
+     * @return the field the path ends at
+     */
+    public MappedField getTarget() {
+        return target;
+    }
+
+    /**
+     * @return true if the path would still validate the same way
+     */
+    public boolean isCurrent() {
+        return versions.isCurrent();
+    }
+}
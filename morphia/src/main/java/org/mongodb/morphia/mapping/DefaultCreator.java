@@ -27,6 +27,8 @@ public class DefaultCreator implements ObjectFactory {
 
     private Map<String, Class> classNameCache = new ConcurrentHashMap<String, Class>();
 
+    private final Map<Class, Constructor> constructorCache = new ConcurrentHashMap<Class, Constructor>();
+
     private MapperOptions options = null;
 
     /**
@@ -44,14 +46,19 @@ public class DefaultCreator implements ObjectFactory {
         this.options = options;
     }
 
-    private static <T> Constructor<T> getNoArgsConstructor(final Class<T> type) {
-        try {
-            final Constructor<T> constructor = type.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            return constructor;
-        } catch (NoSuchMethodException e) {
-            throw new MappingException("No usable constructor for " + type.getName(), e);
+    @SuppressWarnings("unchecked")
+    private <T> Constructor<T> getNoArgsConstructor(final Class<T> type) {
+        Constructor<T> constructor = (Constructor<T>) constructorCache.get(type);
+        if (constructor == null) {
+            try {
+                constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                constructorCache.put(type, constructor);
+            } catch (NoSuchMethodException e) {
+                throw new MappingException("No usable constructor for " + type.getName(), e);
+            }
         }
+        return constructor;
     }
 
     /**
@@ -165,6 +172,12 @@ public class DefaultCreator implements ObjectFactory {
         Class c = null;
         if (dbObj.containsField(Mapper.CLASS_NAME_FIELDNAME)) {
             final String className = (String) dbObj.get(Mapper.CLASS_NAME_FIELDNAME);
+            if (options != null) {
+                c = options.getDiscriminators().get(className);
+                if (c != null) {
+                    return c;
+                }
+            }
             // try to Class.forName(className) as defined in the dbObject first,
             // otherwise return the entityClass
             try {
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import org.mongodb.morphia.annotations.Discriminator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+
+/**
+ * The classes declaring a {@link Discriminator}, by their code.
+ */
+final class Discriminators {
+    private final ConcurrentMap<String, Class<?>> types = new ConcurrentHashMap<String, Class<?>>();
+
+    /**
+     * Registers the code of a class, if it declares one
+     *
+     * @param mc the class
+     * @throws MappingException if another class uses the same code
+     */
+    void register(final MappedClass mc) {
+        final String discriminator = mc.getDiscriminator();
+        if (discriminator.equals(mc.getClazz().getName())) {
+            return;
+        }
+        final Class<?> existing = types.putIfAbsent(discriminator, mc.getClazz());
+        if (existing != null && !existing.equals(mc.getClazz())) {
+            throw new MappingException(format("The discriminator '%s' of %s is already used by %s", discriminator, mc.getClazz().getName(),
+                                              existing.getName()));
+        }
+    }
+
+    /**
+     * @param discriminator the value of a {@link Mapper#CLASS_NAME_FIELDNAME} field
+     * @return the class using this code, or null if it is not a registered code
+     */
+    Class<?> get(final String discriminator) {
+        return types.get(discriminator);
+    }
+}
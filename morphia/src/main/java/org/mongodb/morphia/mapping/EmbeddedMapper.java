@@ -63,8 +63,7 @@ class EmbeddedMapper implements CustomMapper {
                             refObj = mapper.getConverters().decode(mf.getType(), dbVal, mf);
                         } else {
                             DBObject value = (DBObject) dbVal;
-                            refObj = mapper.getOptions().getObjectFactory().createInstance(mapper, mf, value);
-                            refObj = mapper.fromDb(datastore, value, refObj, cache);
+                            refObj = mapper.fromDb(datastore, mf, value, cache);
                         }
                         if (refObj != null) {
                             mf.setFieldValue(entity, refObj);
@@ -206,8 +205,7 @@ class EmbeddedMapper implements CustomMapper {
             mapper.fromDb(datastore, dbObj, ephemeralMappedField, cache);
             return ephemeralMappedField.getValue();
         } else {
-            final Object newEntity = mapper.getOptions().getObjectFactory().createInstance(mapper, mf, dbObj);
-            return mapper.fromDb(datastore, dbObj, newEntity, cache);
+            return mapper.fromDb(datastore, mf, dbObj, cache);
         }
     }
 
@@ -0,0 +1,434 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+import org.bson.BSON;
+import org.bson.BSONObject;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDbPointer;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.BsonTypeCodecMap;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.Encoder;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.BSONTimestamp;
+import org.bson.types.Binary;
+import org.bson.types.CodeWScope;
+import org.bson.types.ObjectId;
+import org.bson.types.Symbol;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.annotations.NotSaved;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.cache.LoadAwareEntityCache;
+import org.mongodb.morphia.mapping.lazy.proxy.ProxyHelper;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * A Codec which reads and writes an entity directly from and to the BSON stream rather than building a DBObject first.  Fields handled
+ * by the value mapper are decoded into and encoded from the entity directly.  Embedded, reference and other complex fields are still
+ * handed to the configured {@link CustomMapper}s.
+ * <p>
+ * Entities with lifecycle methods, or when any {@link org.mongodb.morphia.EntityInterceptor} is registered, are mapped through a DBObject
+ * as before.
+ *
+ * @param <T> the entity type
+ * @see EntityCodecProvider
+ * @see MapperOptions#setUseCodecs(boolean)
+ * @since 1.4
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class EntityCodec<T> implements CollectibleCodec<T> {
+    private static final BsonTypeClassMap BSON_TYPE_CLASS_MAP = createBsonTypeClassMap();
+
+    private final EntityCodecProvider provider;
+    private final MappedClass mappedClass;
+    private final CodecRegistry registry;
+    private final BsonTypeCodecMap bsonTypeCodecMap;
+    private final boolean supported;
+    private final boolean cacheable;
+    private final boolean defaultValueMapper;
+    private final MappedField idField;
+    private final Map<String, MappedField> valueFields = new HashMap<String, MappedField>();
+    private final List<MappedField> mappedFields = new ArrayList<MappedField>();
+    private final Set<String> mappedNames = new HashSet<String>();
+
+    EntityCodec(final EntityCodecProvider provider, final MappedClass mappedClass, final CodecRegistry registry) {
+        this.provider = provider;
+        this.mappedClass = mappedClass;
+        this.registry = registry;
+        bsonTypeCodecMap = new BsonTypeCodecMap(BSON_TYPE_CLASS_MAP, registry);
+        supported = provider.isSupported(mappedClass.getClazz());
+        cacheable = mappedClass.getIdField() != null && mappedClass.getEntityAnnotation() != null;
+        idField = mappedClass.getMappedIdField();
+
+        final Mapper mapper = provider.getMapper();
+        defaultValueMapper = mapper.getOptions().getValueMapper() instanceof ValueMapper;
+        for (final MappedField mf : mappedClass.getPersistenceFields()) {
+            final List<String> loadNames = mf.getLoadNames();
+            if (defaultValueMapper && loadNames.size() == 1 && mapper.isValueMapped(mf)) {
+                valueFields.put(mf.getNameToStore(), mf);
+            } else {
+                mappedFields.add(mf);
+                mappedNames.addAll(loadNames);
+            }
+        }
+    }
+
+    @Override
+    public T decode(final BsonReader reader, final DecoderContext decoderContext) {
+        final T entity = createInstance(reader);
+        final MappedClass mc = provider.getMapper().getMappedClass(entity);
+        if (!mappedClass.equals(mc)) {
+            return ((EntityCodec<T>) provider.get(mc.getClazz(), registry)).decode(reader, decoderContext, entity);
+        }
+        return decode(reader, decoderContext, entity);
+    }
+
+    @Override
+    public void encode(final BsonWriter writer, final T value, final EncoderContext encoderContext) {
+        final Object entity = ProxyHelper.unwrap(value);
+        final Mapper mapper = provider.getMapper();
+        final MappedClass mc = mapper.getMappedClass(entity);
+        if (!mappedClass.equals(mc)) {
+            ((Codec<Object>) provider.get(mc.getClazz(), registry)).encode(writer, entity, encoderContext);
+            return;
+        }
+        if (!supported) {
+            writeBSONObject(writer, mapper.toDBObject(entity), encoderContext);
+            return;
+        }
+
+        writer.writeStartDocument();
+        if (idField != null) {
+            writeField(writer, idField, entity, encoderContext);
+        }
+        if (mc.getEntityAnnotation() == null || !mc.getEntityAnnotation().noClassnameStored()) {
+            writer.writeString(Mapper.CLASS_NAME_FIELDNAME, mc.getDiscriminator());
+        }
+        for (final MappedField mf : mc.getPersistenceFields()) {
+            if (mf != idField) {
+                writeField(writer, mf, entity, encoderContext);
+            }
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return (Class<T>) mappedClass.getClazz();
+    }
+
+    @Override
+    public boolean documentHasId(final T document) {
+        return idField != null && idField.getFieldValue(ProxyHelper.unwrap(document)) != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(final T document) {
+        if (!documentHasId(document)) {
+            throw new IllegalStateException(format("The entity does not contain an %s", Mapper.ID_KEY));
+        }
+        final BsonDocument idDocument = new BsonDocument();
+        final BsonDocumentWriter writer = new BsonDocumentWriter(idDocument);
+        writer.writeStartDocument();
+        writeField(writer, idField, ProxyHelper.unwrap(document), EncoderContext.builder().build());
+        writer.writeEndDocument();
+        return idDocument.get(Mapper.ID_KEY);
+    }
+
+    @Override
+    public T generateIdIfAbsentFromDocument(final T document) {
+        if (idField != null && !documentHasId(document) && idField.getType().isAssignableFrom(ObjectId.class)) {
+            idField.setFieldValue(ProxyHelper.unwrap(document), new ObjectId());
+        }
+        return document;
+    }
+
+    T decode(final BsonReader reader, final DecoderContext decoderContext, final T entity) {
+        final Datastore datastore = provider.getDatastore();
+        final Mapper mapper = provider.getMapper();
+        final EntityCache cache = provider.getCache();
+        if (!supported) {
+            return mapper.fromDb(datastore, readDocument(reader, decoderContext), entity, cache, provider.getProjection());
+        }
+
+        final BasicDBObject dbObject = new BasicDBObject();
+        Key<T> key = null;
+        Object id = null;
+        try {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                final String name = reader.readName();
+                final MappedField mf = valueFields.get(name);
+                if (mf == null && !mappedNames.contains(name) && !Mapper.ID_KEY.equals(name)) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                final Object value = readValue(reader, decoderContext);
+                if (Mapper.ID_KEY.equals(name)) {
+                    id = value;
+                    key = new Key(entity.getClass(), mappedClass.getCollectionName(), id);
+                    if (cacheable) {
+                        final T cachedInstance = cache.getEntity(key);
+                        if (cachedInstance != null) {
+                            skipDocument(reader);
+                            return cachedInstance;
+                        }
+                        cache.putEntity(key, entity); // to avoid stackOverflow in recursive refs
+                    }
+                }
+                if (mf != null) {
+                    mapper.getConverters().fromDBValue(value, mf, entity);
+                } else {
+                    dbObject.put(name, value);
+                }
+            }
+            reader.readEndDocument();
+
+            for (final MappedField mf : mappedFields) {
+                mapper.readMappedField(datastore, mf, entity, cache, dbObject);
+            }
+        } catch (final MappingException e) {
+            throw new MappingException(format("Could not map %s with ID: %s in database '%s'", entity.getClass().getName(), id,
+                                              datastore.getDB().getName()), e);
+        }
+
+        if (key != null && mappedClass.getIdField() != null) {
+            if (provider.getProjection() == null && cache instanceof LoadAwareEntityCache) {
+                ((LoadAwareEntityCache) cache).putLoadedEntity(key, entity);
+            } else {
+                cache.putEntity(key, entity);
+            }
+        }
+        return entity;
+    }
+
+    private static BsonTypeClassMap createBsonTypeClassMap() {
+        // the same types the driver uses when decoding in to a DBObject
+        final Map<BsonType, Class<?>> replacements = new HashMap<BsonType, Class<?>>();
+        replacements.put(BsonType.REGULAR_EXPRESSION, Pattern.class);
+        replacements.put(BsonType.SYMBOL, String.class);
+        replacements.put(BsonType.TIMESTAMP, BSONTimestamp.class);
+        replacements.put(BsonType.JAVASCRIPT_WITH_SCOPE, null);
+        replacements.put(BsonType.DOCUMENT, null);
+        return new BsonTypeClassMap(replacements);
+    }
+
+    private T createInstance(final BsonReader reader) {
+        final BasicDBObject classInfo = new BasicDBObject();
+        if (mappedClass.getEntityAnnotation() == null || !mappedClass.getEntityAnnotation().noClassnameStored()) {
+            final BsonReaderMark mark = reader.getMark();
+            reader.readStartDocument();
+            while (classInfo.isEmpty() && reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if (Mapper.CLASS_NAME_FIELDNAME.equals(reader.readName()) && reader.getCurrentBsonType() == BsonType.STRING) {
+                    classInfo.put(Mapper.CLASS_NAME_FIELDNAME, reader.readString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            mark.reset();
+        }
+        return provider.getMapper().getOptions().getObjectFactory().createInstance((Class<T>) mappedClass.getClazz(), classInfo);
+    }
+
+    private List readArray(final BsonReader reader, final DecoderContext decoderContext) {
+        final BasicDBList list = new BasicDBList();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            list.add(readValue(reader, decoderContext));
+        }
+        reader.readEndArray();
+        return list;
+    }
+
+    private Object readBinary(final BsonReader reader, final DecoderContext decoderContext) {
+        final byte subType = reader.peekBinarySubType();
+        if (BsonBinarySubType.isUuid(subType) && reader.peekBinarySize() == 16) {
+            return registry.get(UUID.class).decode(reader, decoderContext);
+        } else if (subType == BsonBinarySubType.BINARY.getValue() || subType == BsonBinarySubType.OLD_BINARY.getValue()) {
+            return registry.get(byte[].class).decode(reader, decoderContext);
+        } else {
+            return registry.get(Binary.class).decode(reader, decoderContext);
+        }
+    }
+
+    private DBObject readDocument(final BsonReader reader, final DecoderContext decoderContext) {
+        final DBObject document = new BasicDBObject();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            final String name = reader.readName();
+            document.put(name, readValue(reader, decoderContext));
+        }
+        reader.readEndDocument();
+        return document;
+    }
+
+    private Object readValue(final BsonReader reader, final DecoderContext decoderContext) {
+        final Object value;
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT:
+                value = verifyForDBRef(readDocument(reader, decoderContext));
+                break;
+            case ARRAY:
+                value = readArray(reader, decoderContext);
+                break;
+            case JAVASCRIPT_WITH_SCOPE:
+                value = new CodeWScope(reader.readJavaScriptWithScope(), readDocument(reader, decoderContext));
+                break;
+            case DB_POINTER:
+                final BsonDbPointer pointer = reader.readDBPointer();
+                value = new DBRef(pointer.getNamespace(), pointer.getId());
+                break;
+            case BINARY:
+                value = readBinary(reader, decoderContext);
+                break;
+            case NULL:
+                reader.readNull();
+                value = null;
+                break;
+            default:
+                value = bsonTypeCodecMap.get(reader.getCurrentBsonType()).decode(reader, decoderContext);
+        }
+        return BSON.applyDecodingHooks(value);
+    }
+
+    private void skipDocument(final BsonReader reader) {
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            reader.skipName();
+            reader.skipValue();
+        }
+        reader.readEndDocument();
+    }
+
+    private Object verifyForDBRef(final DBObject document) {
+        if (document.containsField("$ref") && document.containsField("$id")) {
+            return new DBRef((String) document.get("$db"), (String) document.get("$ref"), document.get("$id"));
+        }
+        return document;
+    }
+
+    private void writeBSONObject(final BsonWriter writer, final BSONObject document, final EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        for (final String name : document.keySet()) {
+            writer.writeName(name);
+            writeValue(writer, document.get(name), encoderContext);
+        }
+        writer.writeEndDocument();
+    }
+
+    private void writeField(final BsonWriter writer, final MappedField mf, final Object entity, final EncoderContext encoderContext) {
+        if (mf.hasAnnotation(NotSaved.class)) {
+            return;
+        }
+
+        final Mapper mapper = provider.getMapper();
+        try {
+            if (defaultValueMapper && mapper.isValueMapped(mf, entity)) {
+                final Object encoded = mapper.getConverters().toDBValue(entity, mf);
+                if (encoded != null || mapper.getOptions().isStoreNulls()) {
+                    writer.writeName(mf.getNameToStore());
+                    writeValue(writer, encoded, encoderContext);
+                }
+            } else {
+                final BasicDBObject dbObject = new BasicDBObject();
+                mapper.writeMappedField(dbObject, mf, entity, null);
+                for (final String name : dbObject.keySet()) {
+                    writer.writeName(name);
+                    writeValue(writer, dbObject.get(name), encoderContext);
+                }
+            }
+        } catch (Exception e) {
+            throw new MappingException("Error mapping field:" + mf.getFullName(), e);
+        }
+    }
+
+    private void writeValue(final BsonWriter writer, final Object initialValue, final EncoderContext encoderContext) {
+        final Object value = BSON.applyEncodingHooks(initialValue);
+        if (value == null) {
+            writer.writeNull();
+        } else if (value instanceof DBRef) {
+            final DBRef dbRef = (DBRef) value;
+            writer.writeStartDocument();
+            writer.writeString("$ref", dbRef.getCollectionName());
+            writer.writeName("$id");
+            writeValue(writer, dbRef.getId(), encoderContext);
+            if (dbRef.getDatabaseName() != null) {
+                writer.writeString("$db", dbRef.getDatabaseName());
+            }
+            writer.writeEndDocument();
+        } else if (value instanceof Map) {
+            writer.writeStartDocument();
+            for (final Map.Entry entry : ((Map<?, ?>) value).entrySet()) {
+                writer.writeName(entry.getKey().toString());
+                writeValue(writer, entry.getValue(), encoderContext);
+            }
+            writer.writeEndDocument();
+        } else if (value instanceof Iterable) {
+            writer.writeStartArray();
+            for (final Object o : (Iterable) value) {
+                writeValue(writer, o, encoderContext);
+            }
+            writer.writeEndArray();
+        } else if (value instanceof BSONObject) {
+            writeBSONObject(writer, (BSONObject) value, encoderContext);
+        } else if (value instanceof CodeWScope) {
+            writer.writeJavaScriptWithScope(((CodeWScope) value).getCode());
+            writeBSONObject(writer, ((CodeWScope) value).getScope(), encoderContext);
+        } else if (value instanceof byte[]) {
+            writer.writeBinaryData(new BsonBinary((byte[]) value));
+        } else if (value.getClass().isArray()) {
+            writer.writeStartArray();
+            final int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                writeValue(writer, Array.get(value, i), encoderContext);
+            }
+            writer.writeEndArray();
+        } else if (value instanceof Symbol) {
+            writer.writeSymbol(((Symbol) value).getSymbol());
+        } else {
+            encoderContext.encodeWithChildContext((Encoder) registry.get(value.getClass()), writer, value);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.DBObject;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Serialized;
+import org.mongodb.morphia.annotations.TrackChanges;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides an {@link EntityCodec} for each mapped class.  Decoded entities are tracked in the given {@link EntityCache} so a provider
+ * should not outlive the operation it was created for.
+ *
+ * @see MapperOptions#setUseCodecs(boolean)
+ * @since 1.4
+ */
+public class EntityCodecProvider implements CodecProvider {
+    private final Datastore datastore;
+    private final Mapper mapper;
+    private final EntityCache cache;
+    private final DBObject projection;
+    private final Map<Class<?>, EntityCodec<?>> codecs = new ConcurrentHashMap<Class<?>, EntityCodec<?>>();
+
+    /**
+     * Creates a provider
+     *
+     * @param datastore the Datastore to use when fetching references
+     * @param mapper    the Mapper to use
+     * @param cache     the EntityCache to use
+     */
+    public EntityCodecProvider(final Datastore datastore, final Mapper mapper, final EntityCache cache) {
+        this(datastore, mapper, cache, null);
+    }
+
+    /**
+     * Creates a provider for documents read with a projection
+     *
+     * @param datastore  the Datastore to use when fetching references
+     * @param mapper     the Mapper to use
+     * @param cache      the EntityCache to use
+     * @param projection the projection the documents are read with, or null if whole documents are read
+     */
+    public EntityCodecProvider(final Datastore datastore, final Mapper mapper, final EntityCache cache, final DBObject projection) {
+        this.datastore = datastore;
+        this.mapper = mapper;
+        this.cache = cache;
+        this.projection = projection;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(final Class<T> clazz, final CodecRegistry registry) {
+        EntityCodec<?> codec = codecs.get(clazz);
+        if (codec == null) {
+            if (!isEntity(clazz)) {
+                return null;
+            }
+            codec = new EntityCodec<T>(this, mapper.getMappedClass(clazz), registry);
+            codecs.put(clazz, codec);
+        }
+        return (Codec<T>) codec;
+    }
+
+    /**
+     * Checks if entities of the given type can be written and read without going through a DBObject.  Types with lifecycle methods, or
+     * embedding or referencing types with lifecycle methods, and any type when an {@link org.mongodb.morphia.EntityInterceptor} is
+     * registered need a DBObject to pass along.
+     *
+     * @param clazz the type to check
+     * @return true if the type is supported
+     */
+    public boolean isSupported(final Class<?> clazz) {
+        if (!mapper.getOptions().isUseCodecs() || !mapper.getInterceptors().isEmpty()
+            || Map.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        final MappedClass mc = mapper.getMappedClass(clazz);
+        if (mc == null) {
+            return false;
+        }
+        final Map<MappedClass, Boolean> codecTypes = mapper.getCodecTypes();
+        Boolean supported = codecTypes.get(mc);
+        if (supported == null) {
+            supported = isSupported(mc, new HashSet<MappedClass>());
+            codecTypes.put(mc, supported);
+        }
+        return supported;
+    }
+
+    /**
+     * Walks the subtypes and the embedded and referenced types as well, since the lifecycle methods of the values written along with an
+     * entity are only called by the DBObject based paths.
+     */
+    private boolean isSupported(final MappedClass mc, final Set<MappedClass> seen) {
+        if (!seen.add(mc)) {
+            return true;
+        }
+        // the tracked changes are computed from the documents the DBObject based paths read and write
+        if (mc.hasLifecycleMethods() || mc.getAnnotation(TrackChanges.class) != null || mc.getCreator() != null) {
+            return false;
+        }
+        for (final MappedClass subType : mapper.getSubTypes(mc)) {
+            if (!isSupported(subType, seen)) {
+                return false;
+            }
+        }
+        for (final MappedField mf : mc.getPersistenceFields()) {
+            if (!isSupported(mf, seen)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSupported(final MappedField mf, final Set<MappedClass> seen) {
+        if (mf.hasAnnotation(Serialized.class)) {
+            return true;
+        }
+        final Class<?> type = mf.isSingleValue() ? mf.getConcreteType() : mf.getSubClass();
+        if (type != null && isMappable(type) && !isSupported(mapper.getMappedClass(type), seen)) {
+            return false;
+        }
+        // the elements of nested collections and maps
+        for (final MappedField parameter : mf.getTypeParameters()) {
+            if (!isSupported(parameter, seen)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMappable(final Class<?> clazz) {
+        final String name = clazz.getName();
+        return !clazz.isPrimitive() && !clazz.isArray() && !clazz.isEnum() && !MappedClass.isSupportedType(clazz)
+               && !name.startsWith("java.") && !name.startsWith("org.bson.") && !name.startsWith("com.mongodb.");
+    }
+
+    /**
+     * Only claims types which are clearly entities as the driver asks the registry for every type it encodes.
+     */
+    private boolean isEntity(final Class<?> clazz) {
+        if (clazz.isAnnotationPresent(Entity.class) || clazz.isAnnotationPresent(Embedded.class)) {
+            return true;
+        }
+        final String name = clazz.getName();
+        return mapper.isMapped(clazz) && !MappedClass.isSupportedType(clazz)
+               && !name.startsWith("java.") && !name.startsWith("org.bson.") && !name.startsWith("com.mongodb.");
+    }
+
+    EntityCache getCache() {
+        return cache;
+    }
+
+    DBObject getProjection() {
+        return projection;
+    }
+
+    Datastore getDatastore() {
+        return datastore;
+    }
+
+    Mapper getMapper() {
+        return mapper;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import org.mongodb.morphia.annotations.Creator;
+import org.mongodb.morphia.annotations.PreLoad;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+
+/**
+ * Creates the instances of a class with its {@link Creator} constructor or factory method.  The fields passed to the creator are decoded
+ * in to an {@link Arguments} array, the creator is called once with them and the other fields are then read in to the instance it returns.
+ * The parameters are bound to the mapped fields once, when the class is mapped.
+ */
+final class EntityCreator {
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<Class<?>, Class<?>>();
+
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final Method factory;
+    private final MappedField[] parameters;
+    private final Object[] defaults;
+
+    @SuppressWarnings("unchecked")
+    private EntityCreator(final MappedClass mc, final AccessibleObject creator) {
+        type = mc.getClazz();
+        final Class<?>[] parameterTypes;
+        if (creator instanceof Constructor) {
+            constructor = (Constructor<?>) creator;
+            factory = null;
+            parameterTypes = constructor.getParameterTypes();
+        } else {
+            constructor = null;
+            factory = (Method) creator;
+            parameterTypes = factory.getParameterTypes();
+            if (!Modifier.isStatic(factory.getModifiers()) || !type.isAssignableFrom(factory.getReturnType())) {
+                throw new MappingException(format("The creator %s of %s has to be a static method returning the class", factory.getName(),
+                                                  type.getName()));
+            }
+        }
+        final List<?> preLoad = mc.getLifecycleMethods((Class<Annotation>) (Class<?>) PreLoad.class);
+        if (preLoad != null && !preLoad.isEmpty()) {
+            throw new MappingException(format("%s has a creator so there is no instance to call its @PreLoad methods on", type.getName()));
+        }
+        creator.setAccessible(true);
+
+        final String[] names = creator.getAnnotation(Creator.class).value();
+        if (names.length != parameterTypes.length) {
+            throw new MappingException(format("The creator of %s names %d fields for %d parameters", type.getName(), names.length,
+                                              parameterTypes.length));
+        }
+        parameters = new MappedField[names.length];
+        defaults = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            MappedField mf = mc.getMappedField(names[i]);
+            if (mf == null) {
+                mf = mc.getMappedFieldByJavaField(names[i]);
+            }
+            if (mf == null) {
+                throw new MappingException(format("The parameter '%s' of the creator of %s is not a mapped field", names[i],
+                                                  type.getName()));
+            }
+            if (!wrap(parameterTypes[i]).isAssignableFrom(wrap(mf.getType()))) {
+                throw new MappingException(format("The parameter '%s' of the creator of %s is a %s but the field is a %s", names[i],
+                                                  type.getName(), parameterTypes[i].getName(), mf.getType().getName()));
+            }
+            parameters[i] = mf;
+            defaults[i] = parameterTypes[i].isPrimitive() ? Array.get(Array.newInstance(parameterTypes[i], 1), 0) : null;
+        }
+    }
+
+    /**
+     * @param mc the class to create instances of
+     * @return the creator of the class, or null if it does not declare one
+     * @throws MappingException if the creator does not match the mapped fields
+     */
+    static EntityCreator find(final MappedClass mc) {
+        final AccessibleObject creator = findCreator(mc.getClazz());
+        return creator != null ? new EntityCreator(mc, creator) : null;
+    }
+
+    /**
+     * @param type the class to search
+     * @return true if the class declares a {@link Creator}
+     */
+    static boolean hasCreator(final Class<?> type) {
+        return findCreator(type) != null;
+    }
+
+    /**
+     * @param mf the field
+     * @return true if the field is passed to the creator
+     */
+    boolean isParameter(final MappedField mf) {
+        return indexOf(mf) >= 0;
+    }
+
+    /**
+     * @return new arguments, to decode the fields passed to the creator in to
+     */
+    Arguments newArguments() {
+        return new Arguments(this);
+    }
+
+    /**
+     * Creates an instance from the decoded arguments.  Fields the document does not hold are passed as null, or zero for primitives.
+     *
+     * @param arguments the decoded fields
+     * @return the new instance
+     */
+    Object create(final Arguments arguments) {
+        final Object[] args = arguments.values;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] == null) {
+                args[i] = defaults[i];
+            }
+        }
+        try {
+            return constructor != null ? constructor.newInstance(args) : factory.invoke(null, args);
+        } catch (InvocationTargetException e) {
+            throw new MappingException("The creator of " + type.getName() + " failed", e.getCause());
+        } catch (Exception e) {
+            throw new MappingException("Could not call the creator of " + type.getName(), e);
+        }
+    }
+
+    private int indexOf(final MappedField mf) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] == mf) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static AccessibleObject findCreator(final Class<?> type) {
+        AccessibleObject creator = null;
+        final List<AccessibleObject> candidates = new ArrayList<AccessibleObject>(asList(type.getDeclaredConstructors()));
+        candidates.addAll(asList(type.getDeclaredMethods()));
+        for (final AccessibleObject candidate : candidates) {
+            if (candidate.isAnnotationPresent(Creator.class)) {
+                if (creator != null) {
+                    throw new MappingException(format("%s declares more than one creator", type.getName()));
+                }
+                creator = candidate;
+            }
+        }
+        return creator;
+    }
+
+    private static Class<?> wrap(final Class<?> type) {
+        final Class<?> wrapper = WRAPPERS.get(type);
+        return wrapper != null ? wrapper : type;
+    }
+
+    /**
+     * The values of the parameters of a creator, decoded from a document.  {@link MappedField#setFieldValue(Object, Object)} and {@link
+     * MappedField#getFieldValue(Object)} store the values of the fields passed to the creator here, so the usual mappers and converters
+     * decode them without an instance to write to.
+     */
+    static final class Arguments {
+        private final EntityCreator creator;
+        private final Object[] values;
+
+        private Arguments(final EntityCreator creator) {
+            this.creator = creator;
+            values = new Object[creator.parameters.length];
+        }
+
+        Object get(final MappedField mf) {
+            final int index = creator.indexOf(mf);
+            return index >= 0 ? values[index] : null;
+        }
+
+        void set(final MappedField mf, final Object value) {
+            final int index = creator.indexOf(mf);
+            if (index < 0) {
+                throw new MappingException(format("%s is not passed to the creator of %s", mf.getFullName(), creator.type.getName()));
+            }
+            values[index] = value;
+        }
+    }
+}
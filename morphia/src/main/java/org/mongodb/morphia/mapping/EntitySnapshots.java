@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.DBObject;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The documents entities were last loaded from or saved as, by entity identity.  The entities are only weakly referenced so a snapshot
+ * is dropped once its entity is no longer used.  Neither lookups nor updates lock, so threads mapping in parallel do not wait on each
+ * other.
+ *
+ * @see org.mongodb.morphia.annotations.TrackChanges
+ */
+final class EntitySnapshots {
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+    private final Map<IdentityReference, DBObject> snapshots = new ConcurrentHashMap<IdentityReference, DBObject>();
+
+    DBObject get(final Object entity) {
+        expunge();
+        return snapshots.get(new IdentityReference(entity, null));
+    }
+
+    void put(final Object entity, final DBObject dbObject) {
+        expunge();
+        snapshots.put(new IdentityReference(entity, queue), dbObject);
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = queue.poll()) != null) {
+            // a cleared reference only equals itself
+            snapshots.remove(reference);
+        }
+    }
+
+    private static final class IdentityReference extends WeakReference<Object> {
+        private final int hash;
+
+        private IdentityReference(final Object referent, final ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IdentityReference)) {
+                return false;
+            }
+            final Object referent = get();
+            return referent != null && referent == ((IdentityReference) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
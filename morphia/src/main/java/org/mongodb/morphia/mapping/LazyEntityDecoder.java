@@ -0,0 +1,286 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+import org.bson.LazyBSONList;
+import org.bson.LazyBSONObject;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.annotations.PostLoad;
+import org.mongodb.morphia.annotations.PreLoad;
+import org.mongodb.morphia.logging.Logger;
+import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.MappingPlan.FieldPlan;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.lazy.proxy.ProxiedEntityReference;
+import org.mongodb.morphia.mapping.lazy.proxy.ProxiedReference;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * Decodes the fields of an entity from its raw document when they are first used.  The entity is returned as a generated subclass whose
+ * methods are intercepted: a getter or setter of a persistent field decodes that field in to the real entity, any other method decodes
+ * every field, and the call is then forwarded to the real entity.  The raw document is released once every field is decoded.  Getters
+ * and setters are recognized by name without looking at their bodies, so one using other fields sees those undecoded.
+ * <p>
+ * This class needs cglib so it must only be loaded once {@link org.mongodb.morphia.mapping.lazy.LazyFeatureDependencies} has found it.
+ *
+ * @see org.mongodb.morphia.query.FindOptions#lazyDecoding(boolean)
+ */
+final class LazyEntityDecoder implements MethodInterceptor {
+    private static final Logger LOG = MorphiaLoggerFactory.get(LazyEntityDecoder.class);
+    private static final Map<Class<?>, ProxyType> PROXY_TYPES = new ConcurrentHashMap<Class<?>, ProxyType>();
+    private static final ProxyType NOT_PROXIABLE = new ProxyType(null, null);
+
+    private final Object entity;
+    private final Mapper mapper;
+    private final MappedClass mappedClass;
+    private final ProxyType type;
+    private final boolean[] decoded;
+    private int remaining;
+    private DBObject dbObject;
+    private Datastore datastore;
+    private EntityCache cache;
+
+    private LazyEntityDecoder(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedClass mappedClass,
+                              final ProxyType type, final Object entity, final DBObject dbObject) {
+        this.datastore = datastore;
+        this.mapper = mapper;
+        this.cache = cache;
+        this.mappedClass = mappedClass;
+        this.type = type;
+        this.entity = entity;
+        this.dbObject = dbObject;
+        decoded = new boolean[mappedClass.getPersistenceFields().size()];
+        remaining = decoded.length;
+    }
+
+    /**
+     * Creates the proxy decoding an entity from its document
+     *
+     * @param datastore   the Datastore to use when fetching references
+     * @param mapper      the Mapper to use
+     * @param cache       the EntityCache to use
+     * @param mappedClass the MappedClass of the entity
+     * @param entity      the new entity to decode the fields in to
+     * @param dbObject    the raw document of the entity
+     * @return the proxy, or null if the class of the entity can not be proxied
+     */
+    static Object createProxy(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedClass mappedClass,
+                              final Object entity, final DBObject dbObject) {
+        final ProxyType type = getProxyType(mappedClass);
+        if (type == NOT_PROXIABLE) {
+            return null;
+        }
+        final LazyEntityDecoder decoder = new LazyEntityDecoder(datastore, mapper, cache, mappedClass, type, entity, dbObject);
+        Enhancer.registerCallbacks(type.proxyClass, new Callback[]{decoder});
+        try {
+            return type.proxyClass.newInstance();
+        } catch (InstantiationException e) {
+            throw new MappingException(format("Could not create a lazily decoded %s", entity.getClass().getName()), e);
+        } catch (IllegalAccessException e) {
+            throw new MappingException(format("Could not create a lazily decoded %s", entity.getClass().getName()), e);
+        } finally {
+            Enhancer.registerCallbacks(type.proxyClass, null);
+        }
+    }
+
+    /**
+     * Copies a value read from a raw document in to the types the mappers expect
+     *
+     * @param value the value
+     * @return the value with its lazy documents and lists replaced by BasicDBObjects, BasicDBLists and DBRefs
+     */
+    static Object materialize(final Object value) {
+        if (value instanceof LazyBSONList) {
+            final BasicDBList list = new BasicDBList();
+            for (final Object element : (LazyBSONList) value) {
+                list.add(materialize(element));
+            }
+            return list;
+        } else if (value instanceof LazyBSONObject) {
+            final LazyBSONObject document = (LazyBSONObject) value;
+            if (document.containsField("$ref") && document.containsField("$id")) {
+                return new DBRef((String) document.get("$db"), (String) document.get("$ref"), materialize(document.get("$id")));
+            }
+            final BasicDBObject copy = new BasicDBObject();
+            for (final String key : document.keySet()) {
+                copy.put(key, materialize(document.get(key)));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static ProxyType getProxyType(final MappedClass mappedClass) {
+        final Class<?> clazz = mappedClass.getClazz();
+        ProxyType type = PROXY_TYPES.get(clazz);
+        if (type == null) {
+            type = isProxiable(mappedClass) ? createProxyType(mappedClass) : NOT_PROXIABLE;
+            PROXY_TYPES.put(clazz, type);
+        }
+        return type;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isProxiable(final MappedClass mappedClass) {
+        final Class<?> clazz = mappedClass.getClazz();
+        if (Modifier.isFinal(clazz.getModifiers()) || Map.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz)
+            || mappedClass.getCreator() != null) {
+            return false;
+        }
+        // the loading callbacks expect a fully decoded entity
+        for (final Class<? extends Annotation> event : new Class[]{PreLoad.class, PostLoad.class}) {
+            final List<?> methods = mappedClass.getLifecycleMethods((Class<Annotation>) event);
+            if (methods != null && !methods.isEmpty()) {
+                return false;
+            }
+        }
+        try {
+            final Constructor<?> constructor = clazz.getDeclaredConstructor();
+            if (Modifier.isPrivate(constructor.getModifiers())) {
+                return false;
+            }
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        // a final method would run against the empty fields of the proxy
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (final Method method : c.getDeclaredMethods()) {
+                final int modifiers = method.getModifiers();
+                if (Modifier.isFinal(modifiers) && !Modifier.isPrivate(modifiers) && !Modifier.isStatic(modifiers)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static ProxyType createProxyType(final MappedClass mappedClass) {
+        final Class<?> clazz = mappedClass.getClazz();
+        final Map<String, Integer> accessors = new HashMap<String, Integer>();
+        final List<MappedField> fields = mappedClass.getPersistenceFields();
+        for (int i = 0; i < fields.size(); i++) {
+            final String name = fields.get(i).getJavaFieldName();
+            final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            accessors.put("get" + capitalized, i);
+            accessors.put("is" + capitalized, i);
+            accessors.put("set" + capitalized, i);
+        }
+        try {
+            final Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass(clazz);
+            enhancer.setInterfaces(new Class[]{ProxiedEntityReference.class});
+            enhancer.setCallbackType(MethodInterceptor.class);
+            enhancer.setClassLoader(clazz.getClassLoader());
+            return new ProxyType(enhancer.createClass(), accessors);
+        } catch (RuntimeException e) {
+            LOG.warning(format("%s can not be decoded lazily, it will be decoded when read", clazz.getName()), e);
+            return NOT_PROXIABLE;
+        }
+    }
+
+    @Override
+    public Object intercept(final Object proxy, final Method method, final Object[] args, final MethodProxy methodProxy)
+        throws Throwable {
+        final String name = method.getName();
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (declaringClass == ProxiedReference.class || declaringClass == ProxiedEntityReference.class) {
+            if (name.equals("__getReferenceObjClass")) {
+                return entity.getClass();
+            } else if (name.equals("__isFetched")) {
+                return isDecoded();
+            }
+            decodeAll();
+            return name.equals("__getKey") ? mapper.getKey(entity) : entity;
+        } else if (name.equals("finalize") && args.length == 0) {
+            // the entity is finalized on its own
+            return null;
+        }
+        final Integer index = type.accessors.get(name);
+        if (index != null && args.length == (name.startsWith("set") ? 1 : 0)) {
+            decode(index);
+        } else {
+            decodeAll();
+        }
+        return methodProxy.invoke(entity, args);
+    }
+
+    private synchronized boolean isDecoded() {
+        return remaining == 0;
+    }
+
+    private synchronized void decodeAll() {
+        for (int i = 0; remaining != 0 && i < decoded.length; i++) {
+            decode(i);
+        }
+    }
+
+    private synchronized void decode(final int index) {
+        if (decoded[index]) {
+            return;
+        }
+        final FieldPlan plan = mappedClass.getMappingPlan(mapper).getFields()[index];
+        final DBObject fieldObject = new BasicDBObject();
+        for (final String name : plan.getField().getLoadNames()) {
+            if (dbObject.containsField(name)) {
+                fieldObject.put(name, materialize(dbObject.get(name)));
+            }
+        }
+        try {
+            plan.read(datastore, mapper, entity, cache, fieldObject);
+        } catch (final MappingException e) {
+            throw new MappingException(format("Could not map %s with ID: %s in database '%s'", entity.getClass().getName(),
+                                              dbObject.get(Mapper.ID_KEY), datastore.getDB().getName()), e);
+        }
+        decoded[index] = true;
+        remaining--;
+        if (remaining == 0) {
+            dbObject = null;
+            datastore = null;
+            cache = null;
+        }
+    }
+
+    private static final class ProxyType {
+        private final Class<?> proxyClass;
+        private final Map<String, Integer> accessors;
+
+        private ProxyType(final Class<?> proxyClass, final Map<String, Integer> accessors) {
+            this.proxyClass = proxyClass;
+            this.accessors = accessors;
+        }
+    }
+}
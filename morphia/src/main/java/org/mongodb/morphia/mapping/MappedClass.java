@@ -20,6 +20,7 @@ package org.mongodb.morphia.mapping;
 import com.mongodb.DBObject;
 import org.mongodb.morphia.EntityInterceptor;
 import org.mongodb.morphia.annotations.Converters;
+import org.mongodb.morphia.annotations.Discriminator;
 import org.mongodb.morphia.annotations.Embedded;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.annotations.EntityListeners;
@@ -35,9 +36,12 @@ import org.mongodb.morphia.annotations.PreSave;
 import org.mongodb.morphia.annotations.Property;
 import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.annotations.Serialized;
+import org.mongodb.morphia.annotations.TrackChanges;
 import org.mongodb.morphia.annotations.Transient;
 import org.mongodb.morphia.annotations.Validation;
 import org.mongodb.morphia.annotations.Version;
+import org.mongodb.morphia.internal.PathTarget;
+import org.mongodb.morphia.internal.ValidatedPath;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
 import org.mongodb.morphia.mapping.validation.MappingValidator;
@@ -53,6 +57,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -93,6 +100,7 @@ public class MappedClass {
         INTERESTING_ANNOTATIONS.add(Validation.class);
         INTERESTING_ANNOTATIONS.add(Field.class);
         INTERESTING_ANNOTATIONS.add(IndexOptions.class);
+        INTERESTING_ANNOTATIONS.add(TrackChanges.class);
     }
 
     /**
@@ -105,6 +113,11 @@ public class MappedClass {
      */
     private final Map<Class<? extends Annotation>, List<ClassMethodPair>> lifecycleMethods =
         new HashMap<Class<? extends Annotation>, List<ClassMethodPair>>();
+    /**
+     * the resolved life-cycle methods of each event with any
+     */
+    private volatile Map<Class<? extends Annotation>, LifecycleInvoker> lifecycleInvokers =
+        Collections.<Class<? extends Annotation>, LifecycleInvoker>emptyMap();
     /**
      * a list of the fields to map
      */
@@ -113,6 +126,10 @@ public class MappedClass {
      * the type we are mapping to/from
      */
     private final Class<?> clazz;
+    /**
+     * the value stored in the className field of the documents of this type
+     */
+    private final String discriminator;
     /**
      * special fields representing the Key of the object
      */
@@ -125,6 +142,12 @@ public class MappedClass {
     private MapperOptions mapperOptions;
     private MappedClass superClass;
     private List<MappedClass> interfaces = new ArrayList<MappedClass>();
+    private volatile MappingPlan mappingPlan;
+    private volatile FieldIndex fieldIndex;
+    private final AtomicInteger fieldVersion = new AtomicInteger();
+    private EntityCreator creator;
+    private final ConcurrentMap<String, PathTarget> resolvedPaths = new ConcurrentHashMap<String, PathTarget>();
+    private final ConcurrentMap<String, ValidatedPath> validatedPaths = new ConcurrentHashMap<String, ValidatedPath>();
 
     /**
      * Creates a MappedClass instance
@@ -135,6 +158,8 @@ public class MappedClass {
     public MappedClass(final Class<?> clazz, final Mapper mapper) {
         this.clazz = clazz;
         mapperOptions = mapper.getOptions();
+        final Discriminator discriminatorAn = clazz.getAnnotation(Discriminator.class);
+        discriminator = discriminatorAn != null ? discriminatorAn.value() : clazz.getName();
 
         if (LOG.isTraceEnabled()) {
             LOG.trace("Creating MappedClass for " + clazz);
@@ -242,54 +267,22 @@ public class MappedClass {
      * @param mapper  the Mapper to use
      * @return dbObj
      */
-    @SuppressWarnings({"WMI", "unchecked"})
     public DBObject callLifecycleMethods(final Class<? extends Annotation> event, final Object entity, final DBObject dbObj,
                                          final Mapper mapper) {
-        final List<ClassMethodPair> methodPairs = getLifecycleMethods((Class<Annotation>) event);
+        final LifecycleInvoker invoker = lifecycleInvokers.get(event);
+        final boolean intercepted = !mapper.getInterceptors().isEmpty();
+        if (invoker == null && !intercepted) {
+            return dbObj;
+        }
+
         DBObject retDbObj = dbObj;
         try {
-            Object tempObj;
-            if (methodPairs != null) {
-                final HashMap<Class<?>, Object> toCall = new HashMap<Class<?>, Object>((int) (methodPairs.size() * 1.3));
-                for (final ClassMethodPair cm : methodPairs) {
-                    toCall.put(cm.clazz, null);
-                }
-                for (final Class<?> c : toCall.keySet()) {
-                    if (c != null) {
-                        toCall.put(c, getOrCreateInstance(c, mapper));
-                    }
-                }
-
-                for (final ClassMethodPair cm : methodPairs) {
-                    final Method method = cm.method;
-                    final Object inst = toCall.get(cm.clazz);
-                    method.setAccessible(true);
-
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug(format("Calling lifecycle method(@%s %s) on %s", event.getSimpleName(), method, inst));
-                    }
-
-                    if (inst == null) {
-                        if (method.getParameterTypes().length == 0) {
-                            tempObj = method.invoke(entity);
-                        } else {
-                            tempObj = method.invoke(entity, retDbObj);
-                        }
-                    } else if (method.getParameterTypes().length == 0) {
-                        tempObj = method.invoke(inst);
-                    } else if (method.getParameterTypes().length == 1) {
-                        tempObj = method.invoke(inst, entity);
-                    } else {
-                        tempObj = method.invoke(inst, entity, retDbObj);
-                    }
-
-                    if (tempObj != null) {
-                        retDbObj = (DBObject) tempObj;
-                    }
-                }
+            if (invoker != null) {
+                retDbObj = invoker.invoke(event, entity, dbObj, mapper);
+            }
+            if (intercepted) {
+                callGlobalInterceptors(event, entity, dbObj, mapper);
             }
-
-            callGlobalInterceptors(event, entity, dbObj, mapper);
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
         } catch (InvocationTargetException e) {
@@ -349,6 +342,15 @@ public class MappedClass {
         return entityAn.value();
     }
 
+    /**
+     * @return the value stored in the {@link Mapper#CLASS_NAME_FIELDNAME} field of the documents of this type: the code declared with
+     * {@link Discriminator}, or the class name
+     * @since 1.4
+     */
+    public String getDiscriminator() {
+        return discriminator;
+    }
+
     /**
      * @return the embeddedAn
      */
@@ -414,15 +416,7 @@ public class MappedClass {
      * @return true if that mapped field name is found
      */
     public MappedField getMappedField(final String storedName) {
-        for (final MappedField mf : persistenceFields) {
-            for (final String n : mf.getLoadNames()) {
-                if (storedName.equals(n)) {
-                    return mf;
-                }
-            }
-        }
-
-        return null;
+        return getFieldIndex().byStoredName.get(storedName);
     }
 
     /**
@@ -432,13 +426,57 @@ public class MappedClass {
      * @return the MappedField for the named Java field
      */
     public MappedField getMappedFieldByJavaField(final String name) {
-        for (final MappedField mf : persistenceFields) {
-            if (name.equals(mf.getJavaFieldName())) {
-                return mf;
+        return getFieldIndex().byJavaName.get(name);
+    }
+
+    /**
+     * This is an internal method and is subject to change or removal.
+     *
+     * @return a number which changes whenever fields are added to this class, or annotations to its fields
+     * @since 1.4
+     */
+    public int getFieldVersion() {
+        return getFieldIndex().version;
+    }
+
+    void fieldsChanged() {
+        fieldVersion.incrementAndGet();
+    }
+
+    private FieldIndex getFieldIndex() {
+        FieldIndex index = fieldIndex;
+        if (index == null || index.size != persistenceFields.size() || index.version != fieldVersion.get()) {
+            if (index != null && index.size != persistenceFields.size()) {
+                fieldVersion.incrementAndGet();
             }
+            index = new FieldIndex(this, fieldVersion.get());
+            fieldIndex = index;
+            resolvedPaths.clear();
+            validatedPaths.clear();
         }
+        return index;
+    }
+
+    /**
+     * This is an internal method and is subject to change or removal.
+     *
+     * @return the paths which resolved completely against this class, by the untranslated path
+     * @since 1.4
+     */
+    public ConcurrentMap<String, PathTarget> getResolvedPaths() {
+        getFieldIndex();
+        return resolvedPaths;
+    }
 
-        return null;
+    /**
+     * This is an internal method and is subject to change or removal.
+     *
+     * @return the query paths which validated completely against this class, by the untranslated path
+     * @since 1.4
+     */
+    public ConcurrentMap<String, ValidatedPath> getValidatedPaths() {
+        getFieldIndex();
+        return validatedPaths;
     }
 
     /**
@@ -464,6 +502,29 @@ public class MappedClass {
         return persistenceFields;
     }
 
+    /**
+     * @return the creator of the instances of this class, or null if they are created empty and their fields set
+     */
+    EntityCreator getCreator() {
+        return creator;
+    }
+
+    /**
+     * Returns the resolved mappers and converters of the persistent fields, rebuilding them if converters or custom mappers have been
+     * changed since they were last resolved.
+     *
+     * @param mapper the Mapper to resolve the fields with
+     * @return the plan
+     */
+    MappingPlan getMappingPlan(final Mapper mapper) {
+        MappingPlan plan = mappingPlan;
+        if (plan == null || !plan.isCurrent(mapper)) {
+            plan = new MappingPlan(mapper, this);
+            mappingPlan = plan;
+        }
+        return plan;
+    }
+
     /**
      * @return the relevantAnnotations
      */
@@ -491,6 +552,13 @@ public class MappedClass {
 
     }
 
+    /**
+     * @return true if any lifecycle methods or entity listeners are registered for this class
+     */
+    boolean hasLifecycleMethods() {
+        return !lifecycleMethods.isEmpty();
+    }
+
     boolean isSubType(final MappedClass mc) {
         return mc.equals(superClass) || interfaces.contains(mc);
     }
@@ -505,6 +573,7 @@ public class MappedClass {
      */
     // TODO: Remove this and make these fields dynamic or auto-set some other way
     public void update() {
+        mappingPlan = null;
         embeddedAn = (Embedded) getAnnotation(Embedded.class);
         entityAn = (Entity) getFirstAnnotation(Entity.class);
         // polymorphicAn = (Polymorphic) getAnnotation(Polymorphic.class);
@@ -556,9 +625,10 @@ public class MappedClass {
 
         for (final Class<?> cls : lifecycleClasses) {
             for (final Method m : ReflectionUtils.getDeclaredAndInheritedMethods(cls)) {
-                for (final Class<? extends Annotation> c : LIFECYCLE_ANNOTATIONS) {
-                    if (m.isAnnotationPresent(c)) {
-                        addLifecycleEventMethod(c, m, cls.equals(clazz) ? null : cls);
+                // most methods have no annotations at all, so look at the ones they have rather than for each event
+                for (final Annotation annotation : m.getDeclaredAnnotations()) {
+                    if (LIFECYCLE_ANNOTATIONS.contains(annotation.annotationType())) {
+                        addLifecycleEventMethod(annotation.annotationType(), m, cls.equals(clazz) ? null : cls);
                     }
                 }
             }
@@ -590,6 +660,14 @@ public class MappedClass {
                 }
             }
         }
+
+        final Map<Class<? extends Annotation>, LifecycleInvoker> invokers = new HashMap<Class<? extends Annotation>, LifecycleInvoker>();
+        for (final Map.Entry<Class<? extends Annotation>, List<ClassMethodPair>> entry : lifecycleMethods.entrySet()) {
+            invokers.put(entry.getKey(), new LifecycleInvoker(entry.getValue()));
+        }
+        lifecycleInvokers = invokers;
+
+        creator = EntityCreator.find(this);
     }
 
     /**
@@ -634,7 +712,7 @@ public class MappedClass {
         }
     }
 
-    private Object getOrCreateInstance(final Class<?> clazz, final Mapper mapper) {
+    private static Object getOrCreateInstance(final Class<?> clazz, final Mapper mapper) {
         if (mapper.getInstanceCache().containsKey(clazz)) {
             return mapper.getInstanceCache().get(clazz);
         }
@@ -668,4 +746,110 @@ public class MappedClass {
         }
     }
 
+    /**
+     * The life-cycle methods of one event, made accessible and with their arity and listener resolved once.  The listener instances are
+     * looked up on the first call and kept for as long as the same Mapper is used.
+     */
+    private static final class LifecycleInvoker {
+        private final Method[] methods;
+        private final int[] arities;
+        private final Class<?>[] listenerClasses;
+        private volatile Listeners listeners;
+
+        private LifecycleInvoker(final List<ClassMethodPair> methodPairs) {
+            methods = new Method[methodPairs.size()];
+            arities = new int[methods.length];
+            listenerClasses = new Class<?>[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                final ClassMethodPair cm = methodPairs.get(i);
+                methods[i] = cm.method;
+                methods[i].setAccessible(true);
+                arities[i] = cm.method.getParameterTypes().length;
+                listenerClasses[i] = cm.clazz;
+            }
+        }
+
+        private DBObject invoke(final Class<? extends Annotation> event, final Object entity, final DBObject dbObj, final Mapper mapper)
+            throws IllegalAccessException, InvocationTargetException {
+            final Object[] instances = getListeners(mapper);
+            DBObject retDbObj = dbObj;
+            for (int i = 0; i < methods.length; i++) {
+                final Method method = methods[i];
+                final Object inst = instances[i];
+
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(format("Calling lifecycle method(@%s %s) on %s", event.getSimpleName(), method, inst));
+                }
+
+                final Object tempObj;
+                if (inst == null) {
+                    tempObj = arities[i] == 0 ? method.invoke(entity) : method.invoke(entity, retDbObj);
+                } else if (arities[i] == 0) {
+                    tempObj = method.invoke(inst);
+                } else if (arities[i] == 1) {
+                    tempObj = method.invoke(inst, entity);
+                } else {
+                    tempObj = method.invoke(inst, entity, retDbObj);
+                }
+
+                if (tempObj != null) {
+                    retDbObj = (DBObject) tempObj;
+                }
+            }
+            return retDbObj;
+        }
+
+        private Object[] getListeners(final Mapper mapper) {
+            Listeners last = listeners;
+            if (last == null || last.mapper != mapper) {
+                final Object[] instances = new Object[listenerClasses.length];
+                for (int i = 0; i < instances.length; i++) {
+                    if (listenerClasses[i] != null) {
+                        instances[i] = getOrCreateInstance(listenerClasses[i], mapper);
+                    }
+                }
+                last = new Listeners(mapper, instances);
+                listeners = last;
+            }
+            return last.instances;
+        }
+    }
+
+    private static final class Listeners {
+        private final Mapper mapper;
+        private final Object[] instances;
+
+        private Listeners(final Mapper mapper, final Object[] instances) {
+            this.mapper = mapper;
+            this.instances = instances;
+        }
+    }
+
+
+    /**
+     * The persistent fields by their names, keeping the first field in declaration order for a name used by several fields.
+     */
+    private static final class FieldIndex {
+        private final int size;
+        private final int version;
+        private final Map<String, MappedField> byStoredName = new HashMap<String, MappedField>();
+        private final Map<String, MappedField> byJavaName = new HashMap<String, MappedField>();
+
+        private FieldIndex(final MappedClass owner, final int version) {
+            final List<MappedField> fields = owner.getPersistenceFields();
+            size = fields.size();
+            this.version = version;
+            for (final MappedField mf : fields) {
+                mf.setOwner(owner);
+                for (final String name : mf.getLoadNames()) {
+                    if (!byStoredName.containsKey(name)) {
+                        byStoredName.put(name, mf);
+                    }
+                }
+                if (!byJavaName.containsKey(mf.getJavaFieldName())) {
+                    byJavaName.put(mf.getJavaFieldName(), mf);
+                }
+            }
+        }
+    }
 }
@@ -26,6 +26,7 @@ import org.mongodb.morphia.annotations.Embedded;
 import org.mongodb.morphia.annotations.Id;
 import org.mongodb.morphia.annotations.Indexed;
 import org.mongodb.morphia.annotations.NotSaved;
+import org.mongodb.morphia.annotations.Packed;
 import org.mongodb.morphia.annotations.Property;
 import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.annotations.Serialized;
@@ -34,6 +35,8 @@ import org.mongodb.morphia.annotations.Transient;
 import org.mongodb.morphia.annotations.Version;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.access.AccessorFactory;
+import org.mongodb.morphia.mapping.access.FieldAccessor;
 import org.mongodb.morphia.utils.ReflectionUtils;
 
 import java.lang.annotation.Annotation;
@@ -81,13 +84,17 @@ public class MappedField {
         INTERESTING.add(AlsoLoad.class);
         INTERESTING.add(NotSaved.class);
         INTERESTING.add(Text.class);
+        INTERESTING.add(Packed.class);
     }
 
     // Annotations that have been found relevant to mapping
     private final Map<Class<? extends Annotation>, Annotation> foundAnnotations = new HashMap<Class<? extends Annotation>, Annotation>();
     private final List<MappedField> typeParameters = new ArrayList<MappedField>();
     private Class persistedClass;
+    private MappedClass owner; // told about added annotations, as they may change the names the field is stored under
     private Field field; // the field :)
+    private FieldAccessor accessor;
+    private AccessorFactory accessorFactory; // creates the accessor on first use when it is not created up front
     private Class realType; // the real type
     private Constructor constructor; // the constructor for the type
     private Type subType; // the type (T) for the Collection<T>/T[]/Map<?,T>
@@ -105,6 +112,7 @@ public class MappedField {
     MappedField(final Field f, final Class<?> clazz, final Mapper mapper) {
         f.setAccessible(true);
         field = f;
+        accessor = mapper.getOptions().getAccessorFactory().createFieldAccessor(f);
         persistedClass = clazz;
         realType = field.getType();
         genericType = field.getGenericType();
@@ -120,6 +128,8 @@ public class MappedField {
      */
     MappedField(final Field field, final Type type, final Mapper mapper) {
         this.field = field;
+        // the ephemeral fields created for the elements of collections and maps never access a field
+        accessorFactory = mapper.getOptions().getAccessorFactory();
         genericType = type;
         discoverType(mapper);
     }
@@ -141,6 +151,7 @@ public class MappedField {
     public void addAnnotation(final Class<? extends Annotation> clazz) {
         if (field.isAnnotationPresent(clazz)) {
             foundAnnotations.put(clazz, field.getAnnotation(clazz));
+            annotationsChanged();
         }
     }
 
@@ -152,6 +163,17 @@ public class MappedField {
      */
     public void addAnnotation(final Class<? extends Annotation> clazz, final Annotation ann) {
         foundAnnotations.put(clazz, ann);
+        annotationsChanged();
+    }
+
+    void setOwner(final MappedClass owner) {
+        this.owner = owner;
+    }
+
+    private void annotationsChanged() {
+        if (owner != null) {
+            owner.fieldsChanged();
+        }
     }
 
     /**
@@ -229,11 +251,10 @@ public class MappedField {
      * @return the value stored in the java field
      */
     public Object getFieldValue(final Object instance) {
-        try {
-            return field.get(instance);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+        if (instance instanceof EntityCreator.Arguments) {
+            return ((EntityCreator.Arguments) instance).get(this);
         }
+        return getAccessor().get(instance);
     }
 
     /**
@@ -429,11 +450,20 @@ public class MappedField {
      * @param value    the value to set
      */
     public void setFieldValue(final Object instance, final Object value) {
-        try {
-            field.set(instance, value);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+        if (instance instanceof EntityCreator.Arguments) {
+            ((EntityCreator.Arguments) instance).set(this, value);
+            return;
         }
+        getAccessor().set(instance, value);
+    }
+
+    private FieldAccessor getAccessor() {
+        FieldAccessor fieldAccessor = accessor;
+        if (fieldAccessor == null) {
+            fieldAccessor = accessorFactory.createFieldAccessor(field);
+            accessor = fieldAccessor;
+        }
+        return fieldAccessor;
     }
 
     @Override
@@ -480,8 +510,11 @@ public class MappedField {
      * Discovers interesting (that we care about) things about the field.
      */
     protected void discover(final Mapper mapper) {
-        for (final Class<? extends Annotation> clazz : INTERESTING) {
-            addAnnotation(clazz);
+        // fields inherit no annotations so their declared ones are all there is, read in one pass
+        for (final Annotation annotation : field.getDeclaredAnnotations()) {
+            if (INTERESTING.contains(annotation.annotationType())) {
+                foundAnnotations.put(annotation.annotationType(), annotation);
+            }
         }
 
         //type must be discovered before the constructor.
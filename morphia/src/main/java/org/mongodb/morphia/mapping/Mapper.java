@@ -23,6 +23,7 @@ import org.mongodb.morphia.Key;
 import org.mongodb.morphia.annotations.Converters;
 import org.mongodb.morphia.annotations.Embedded;
 import org.mongodb.morphia.annotations.NotSaved;
+import org.mongodb.morphia.annotations.Packed;
 import org.mongodb.morphia.annotations.PostLoad;
 import org.mongodb.morphia.annotations.PreLoad;
 import org.mongodb.morphia.annotations.PrePersist;
@@ -30,11 +31,15 @@ import org.mongodb.morphia.annotations.PreSave;
 import org.mongodb.morphia.annotations.Property;
 import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.annotations.Serialized;
+import org.mongodb.morphia.annotations.TrackChanges;
 import org.mongodb.morphia.converters.CustomConverters;
+import org.mongodb.morphia.converters.PackedArrayConverter;
 import org.mongodb.morphia.converters.TypeConverter;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.MappingPlan.FieldPlan;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.cache.LoadAwareEntityCache;
 import org.mongodb.morphia.mapping.lazy.LazyFeatureDependencies;
 import org.mongodb.morphia.mapping.lazy.LazyProxyFactory;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxiedEntityReference;
@@ -47,6 +52,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -87,10 +93,16 @@ public class Mapper {
      */
     public static final String CLASS_NAME_FIELDNAME = "className";
     private static final Logger LOG = MorphiaLoggerFactory.get(Mapper.class);
+    private static final Class[] FIELD_ANNOTATIONS = new Class[]{Property.class, Embedded.class, Serialized.class, Reference.class};
     /**
      * Set of classes that registered by this mapper
      */
     private final Map<String, MappedClass> mappedClasses = new ConcurrentHashMap<String, MappedClass>();
+    private final Map<MappedClass, List<MappedClass>> subTypes = new ConcurrentHashMap<MappedClass, List<MappedClass>>();
+    // whether the mapped classes, and the classes they embed or reference, can be written and read by an EntityCodec
+    private final Map<MappedClass, Boolean> codecTypes = new ConcurrentHashMap<MappedClass, Boolean>();
+    // whether the classes which are not mapped yet declare a creator
+    private final Map<Class<?>, Boolean> creatorTypes = new ConcurrentHashMap<Class<?>, Boolean>();
     private final ConcurrentHashMap<String, Set<MappedClass>> mappedClassesByCollection = new ConcurrentHashMap<String, Set<MappedClass>>();
 
     //EntityInterceptors; these are called after EntityListeners and lifecycle methods on an Entity, for all Entities
@@ -101,6 +113,7 @@ public class Mapper {
     // TODO: make these configurable
     private final LazyProxyFactory proxyFactory = LazyFeatureDependencies.createDefaultProxyFactory();
     private final org.mongodb.morphia.converters.Converters converters;
+    private final EntitySnapshots snapshots = new EntitySnapshots();
     private MapperOptions opts = new MapperOptions();
 
     /**
@@ -182,18 +195,137 @@ public class Mapper {
      * @see Mapper#CLASS_NAME_FIELDNAME
      */
     public <T> T fromDBObject(final Datastore datastore, final Class<T> entityClass, final DBObject dbObject, final EntityCache cache) {
+        return fromDBObject(datastore, entityClass, dbObject, cache, null);
+    }
+
+    /**
+     * Converts a DBObject read with a projection back to a type-safe java object (POJO).  Only the fields the projection can return are
+     * read, the others are left as the new entity has them.
+     *
+     * @param <T>         the type of the entity
+     * @param datastore   the Datastore to use when fetching this reference
+     * @param entityClass The type to return, or use; can be overridden by the @see Mapper.CLASS_NAME_FIELDNAME in the DBObject
+     * @param dbObject    the DBObject containing the document from mongodb
+     * @param cache       the EntityCache to use
+     * @param projection  the projection the document was read with, or null if it is a whole document
+     * @return the new entity
+     * @see Mapper#CLASS_NAME_FIELDNAME
+     * @since 1.4
+     */
+    public <T> T fromDBObject(final Datastore datastore, final Class<T> entityClass, final DBObject dbObject, final EntityCache cache,
+                              final DBObject projection) {
         if (dbObject == null) {
             final Throwable t = new Throwable();
             LOG.error("A null reference was passed in for the dbObject", t);
             return null;
         }
 
+        final MappedClass creatorClass = getCreatorClass(entityClass, dbObject);
+        if (creatorClass != null) {
+            return fromDbWithCreator(datastore, creatorClass, dbObject, cache, projection);
+        }
         T entity;
         entity = opts.getObjectFactory().createInstance(entityClass, dbObject);
-        entity = fromDb(datastore, dbObject, entity, cache);
+        entity = fromDb(datastore, dbObject, entity, cache, projection);
         return entity;
     }
 
+    /**
+     * Converts a raw DBObject in to an entity whose fields are decoded when first used.  The entity is returned as a proxy which decodes
+     * the field of a getter or setter when it is called, and every field when any other method is called.  Entities which can not be
+     * proxied are decoded at once like {@link #fromDBObject(Datastore, Class, DBObject, EntityCache)} does, as are all entities while an
+     * interceptor is registered.
+     *
+     * @param <T>         the type of the entity
+     * @param datastore   the Datastore to use when fetching references
+     * @param entityClass The type to return, or use; can be overridden by the @see Mapper.CLASS_NAME_FIELDNAME in the DBObject
+     * @param dbObject    the DBObject containing the document from mongodb, typically a {@link com.mongodb.LazyDBObject}
+     * @param cache       the EntityCache to use
+     * @return the new entity
+     * @see org.mongodb.morphia.query.FindOptions#lazyDecoding(boolean)
+     * @since 1.4
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fromDBObjectLazily(final Datastore datastore, final Class<T> entityClass, final DBObject dbObject,
+                                    final EntityCache cache) {
+        if (dbObject == null || !LazyFeatureDependencies.testDependencyFullFilled()) {
+            return fromDBObject(datastore, entityClass, dbObject, cache);
+        }
+        if (!interceptors.isEmpty() || getCreatorClass(entityClass, dbObject) != null) {
+            return fromDBObject(datastore, entityClass, (DBObject) LazyEntityDecoder.materialize(dbObject), cache);
+        }
+
+        final T entity = opts.getObjectFactory().createInstance(entityClass, dbObject);
+        final MappedClass mc = getMappedClass(entity);
+        Key<T> key = null;
+        if (dbObject.containsField(ID_KEY) && mc.getIdField() != null && mc.getEntityAnnotation() != null) {
+            key = new Key(entity.getClass(), getCollectionName(entity.getClass()),
+                          LazyEntityDecoder.materialize(dbObject.get(ID_KEY)));
+            final T cachedInstance = cache.getEntity(key);
+            if (cachedInstance != null) {
+                return cachedInstance;
+            }
+        }
+        final T proxy = (T) LazyEntityDecoder.createProxy(datastore, this, cache, mc, entity, dbObject);
+        if (proxy == null) {
+            return fromDb(datastore, (DBObject) LazyEntityDecoder.materialize(dbObject), entity, cache);
+        }
+        if (key != null) {
+            cache.putEntity(key, proxy);
+        }
+        return proxy;
+    }
+
+    /**
+     * Loads the non-lazy references of the given documents with one query per referenced collection and stores the referenced entities
+     * in the cache.  Mapping the documents with the same cache then finds the references there instead of fetching them one at a time.
+     * Only the reference fields declared on the given type are considered.  The cache may only keep weak references to the entities, so
+     * the list returned has to be kept until the documents are mapped.
+     *
+     * @param datastore   the Datastore to use when fetching the references
+     * @param entityClass the type of the documents
+     * @param dbObjects   the documents whose references should be loaded
+     * @param cache       the EntityCache to store the referenced entities in
+     * @return the referenced entities
+     * @see org.mongodb.morphia.query.FindOptions#prefetchReferences(boolean)
+     * @since 1.4
+     */
+    public List<Object> prefetchReferences(final Datastore datastore, final Class<?> entityClass, final List<DBObject> dbObjects,
+                                           final EntityCache cache) {
+        if (opts.getReferenceMapper() instanceof ReferenceMapper && !dbObjects.isEmpty()) {
+            return ((ReferenceMapper) opts.getReferenceMapper()).prefetch(datastore, this, getMappedClass(entityClass), dbObjects, cache);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the document an entity was last loaded from or saved as.  Only the documents of entities annotated with {@link
+     * TrackChanges} are kept.
+     *
+     * @param entity the entity
+     * @return the document, or null if the entity was neither loaded nor saved or its changes are not tracked
+     * @see TrackChanges
+     * @since 1.4
+     */
+    public DBObject getSnapshot(final Object entity) {
+        return entity == null ? null : snapshots.get(entity);
+    }
+
+    /**
+     * Records the document an entity was loaded from or saved as, if the entity is annotated with {@link TrackChanges}.  The document is
+     * kept as is so it must not be changed afterwards.
+     *
+     * @param entity   the entity
+     * @param dbObject the document as it is stored in the database
+     * @see TrackChanges
+     * @since 1.4
+     */
+    public void setSnapshot(final Object entity, final DBObject dbObject) {
+        if (entity != null && dbObject != null && getMappedClass(entity).getAnnotation(TrackChanges.class) != null) {
+            snapshots.put(entity, dbObject);
+        }
+    }
+
     /**
      * Finds any subtypes for the given MappedClass.
      *
@@ -203,14 +335,25 @@ public class Mapper {
      * @since 1.3
      */
     public List<MappedClass> getSubTypes(final MappedClass mc) {
-        List<MappedClass> subtypes = new ArrayList<MappedClass>();
-        for (MappedClass mappedClass : getMappedClasses()) {
-            if (mappedClass.isSubType(mc)) {
-                subtypes.add(mappedClass);
+        List<MappedClass> subtypes = subTypes.get(mc);
+        if (subtypes == null) {
+            subtypes = new ArrayList<MappedClass>();
+            for (MappedClass mappedClass : getMappedClasses()) {
+                if (mappedClass.isSubType(mc)) {
+                    subtypes.add(mappedClass);
+                }
             }
+            subTypes.put(mc, subtypes);
         }
 
-        return subtypes;
+        return new ArrayList<MappedClass>(subtypes);
+    }
+
+    /**
+     * @return whether the mapped classes can be written and read by an EntityCodec, forgotten whenever another class is mapped
+     */
+    Map<MappedClass, Boolean> getCodecTypes() {
+        return codecTypes;
     }
 
     /**
@@ -223,6 +366,10 @@ public class Mapper {
      */
     <T> T fromDBObject(final Datastore datastore, final DBObject dbObject) {
         if (dbObject.containsField(CLASS_NAME_FIELDNAME)) {
+            final MappedClass creatorClass = getCreatorClass(null, dbObject);
+            if (creatorClass != null) {
+                return fromDbWithCreator(datastore, creatorClass, dbObject, createEntityCache(), null);
+            }
             T entity = opts.getObjectFactory().createInstance(null, dbObject);
             entity = fromDb(datastore, dbObject, entity, createEntityCache());
 
@@ -244,6 +391,10 @@ public class Mapper {
      * @return the entity
      */
     public <T> T fromDb(final Datastore datastore, final DBObject dbObject, final T entity, final EntityCache cache) {
+        return fromDb(datastore, dbObject, entity, cache, null);
+    }
+
+    <T> T fromDb(final Datastore datastore, final DBObject dbObject, final T entity, final EntityCache cache, final DBObject projection) {
         //hack to bypass things and just read the value.
         if (entity instanceof MappedField) {
             readMappedField(datastore, (MappedField) entity, entity, cache, dbObject);
@@ -278,8 +429,10 @@ public class Mapper {
             final MappedClass mc = getMappedClass(entity);
             final DBObject updated = mc.callLifecycleMethods(PreLoad.class, entity, dbObject, this);
             try {
-                for (final MappedField mf : mc.getPersistenceFields()) {
-                    readMappedField(datastore, mf, entity, cache, updated);
+                // an interceptor may add fields to the document which the projection did not ask for
+                final FieldPlan[] plans = mc.getMappingPlan(this).getFields(interceptors.isEmpty() ? projection : null);
+                for (final FieldPlan plan : plans) {
+                    plan.read(datastore, this, entity, cache, updated);
                 }
             } catch (final MappingException e) {
                 Object id = dbObject.get(ID_KEY);
@@ -287,16 +440,140 @@ public class Mapper {
                 throw new MappingException(format("Could not map %s with ID: %s in database '%s'", entityName, id,
                                                   datastore.getDB().getName()), e);
             }
+            return postLoad(mc, entity, dbObject, updated, cache, projection);
+        }
+        return entity;
+    }
+
+    /**
+     * Maps a document to an instance of a class with a {@link org.mongodb.morphia.annotations.Creator}.  The fields passed to the creator
+     * are decoded first and the creator is called with them.  The other fields are then read in to the instance it returned, so that
+     * references back to it resolve to the instance.  There is no instance to pass to the @PreLoad interceptors so they are not called.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T fromDbWithCreator(final Datastore datastore, final MappedClass mc, final DBObject dbObject, final EntityCache cache,
+                                    final DBObject projection) {
+        final Class<?> type = mc.getClazz();
+        Key<T> key = null;
+        if (dbObject.containsField(ID_KEY) && mc.getIdField() != null && mc.getEntityAnnotation() != null) {
+            key = new Key(type, getCollectionName(type), dbObject.get(ID_KEY));
+            final T cachedInstance = cache.getEntity(key);
+            if (cachedInstance != null) {
+                return cachedInstance;
+            }
+        }
 
-            if (updated.containsField(ID_KEY) && getMappedClass(entity).getIdField() != null) {
-                final Key key = new Key(entity.getClass(), getCollectionName(entity.getClass()), updated.get(ID_KEY));
+        // creator classes have no @PreLoad methods and the interceptors are skipped, so the document is read as it is
+        final EntityCreator creator = mc.getCreator();
+        final T instance;
+        try {
+            final FieldPlan[] plans = mc.getMappingPlan(this).getFields(projection);
+            final EntityCreator.Arguments arguments = creator.newArguments();
+            for (final FieldPlan plan : plans) {
+                if (creator.isParameter(plan.getField())) {
+                    plan.read(datastore, this, arguments, cache, dbObject);
+                }
+            }
+            instance = (T) creator.create(arguments);
+            if (key != null) {
+                cache.putEntity(key, instance); // to avoid stackOverflow in recursive refs
+            }
+            for (final FieldPlan plan : plans) {
+                if (!creator.isParameter(plan.getField())) {
+                    plan.read(datastore, this, instance, cache, dbObject);
+                }
+            }
+        } catch (final MappingException e) {
+            throw new MappingException(format("Could not map %s with ID: %s in database '%s'", type.getName(), dbObject.get(ID_KEY),
+                                              datastore.getDB().getName()), e);
+        }
+        return postLoad(mc, instance, dbObject, dbObject, cache, projection);
+    }
+
+    /**
+     * Caches and snapshots an entity once its document has been read and calls its @PostLoad methods.  Only entities read from whole
+     * documents are given to a {@link LoadAwareEntityCache} as loaded.
+     */
+    private <T> T postLoad(final MappedClass mc, final T entity, final DBObject dbObject, final DBObject updated, final EntityCache cache,
+                           final DBObject projection) {
+        if (updated.containsField(ID_KEY) && mc.getIdField() != null) {
+            final Key key = new Key(entity.getClass(), getCollectionName(entity.getClass()), updated.get(ID_KEY));
+            if (projection == null) {
+                if (cache instanceof LoadAwareEntityCache) {
+                    ((LoadAwareEntityCache) cache).putLoadedEntity(key, entity);
+                } else {
+                    cache.putEntity(key, entity);
+                }
+                setSnapshot(entity, dbObject);
+            } else {
                 cache.putEntity(key, entity);
             }
-            mc.callLifecycleMethods(PostLoad.class, entity, updated, this);
         }
+        mc.callLifecycleMethods(PostLoad.class, entity, updated, this);
         return entity;
     }
 
+    /**
+     * Maps a document to a new instance of the class it names, or else of the type of the field given.
+     *
+     * @param datastore the Datastore to use when fetching references
+     * @param mf        the field the document is read for
+     * @param dbObject  the document
+     * @param cache     the EntityCache to use
+     * @return the new instance
+     */
+    Object fromDb(final Datastore datastore, final MappedField mf, final DBObject dbObject, final EntityCache cache) {
+        Class<?> type = mf.isSingleValue() ? mf.getConcreteType() : mf.getSubClass();
+        if (type == null || type.equals(Object.class)) {
+            type = mf.getConcreteType();
+        }
+        final MappedClass creatorClass = getCreatorClass(type, dbObject);
+        if (creatorClass != null) {
+            return fromDbWithCreator(datastore, creatorClass, dbObject, cache, null);
+        }
+        final Object entity = opts.getObjectFactory().createInstance(this, mf, dbObject);
+        return fromDb(datastore, dbObject, entity, cache);
+    }
+
+    /**
+     * Returns the class of a document if it is created through a {@link org.mongodb.morphia.annotations.Creator}.  This is the class the
+     * document names, or else the type given.
+     *
+     * @return the class, or null if it has no creator
+     */
+    private MappedClass getCreatorClass(final Class<?> type, final DBObject dbObject) {
+        MappedClass mc = null;
+        final Object className = dbObject.get(CLASS_NAME_FIELDNAME);
+        if (className instanceof String) {
+            final Class<?> discriminated = opts.getDiscriminators().get((String) className);
+            mc = discriminated != null ? getMappedClass(discriminated) : mappedClasses.get(className);
+            if (mc == null) {
+                try {
+                    final Class<?> named = Class.forName((String) className, true, Thread.currentThread().getContextClassLoader());
+                    mc = hasCreator(named) ? getMappedClass(named) : null;
+                } catch (ClassNotFoundException e) {
+                    // left for the ObjectFactory to report
+                }
+            }
+        }
+        if (mc == null && type != null) {
+            mc = mappedClasses.get(type.getName());
+            if (mc == null && hasCreator(type)) {
+                mc = getMappedClass(type);
+            }
+        }
+        return mc != null && mc.getCreator() != null ? mc : null;
+    }
+
+    private boolean hasCreator(final Class<?> type) {
+        Boolean hasCreator = creatorTypes.get(type);
+        if (hasCreator == null) {
+            hasCreator = EntityCreator.hasCreator(type);
+            creatorTypes.put(type, hasCreator);
+        }
+        return hasCreator;
+    }
+
     /**
      * Looks up the class mapped to a named collection.
      *
@@ -509,6 +786,9 @@ public class Mapper {
      */
     public void setOptions(final MapperOptions options) {
         opts = options;
+        for (final MappedClass mc : mappedClasses.values()) {
+            options.getDiscriminators().register(mc);
+        }
     }
 
     /**
@@ -667,6 +947,8 @@ public class Mapper {
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
+        } else if (mf != null && mf.hasAnnotation(Packed.class) && value.getClass() == mf.getType()) { //packed
+            mappedValue = PackedArrayConverter.pack(value);
         } else if (value instanceof DBObject) {  //pass-through
             mappedValue = value;
         } else {
@@ -774,10 +1056,22 @@ public class Mapper {
         addConverters(mc);
 
         if (validate && !mc.isInterface()) {
-            mc.validate(this);
+            final MappingSnapshot snapshot = opts.getMappingSnapshot();
+            if (snapshot == null) {
+                mc.validate(this);
+            } else {
+                final byte[] hash = snapshot.hash(mc, this);
+                if (!snapshot.isValidated(mc, hash)) {
+                    mc.validate(this);
+                    snapshot.validated(mc, hash);
+                }
+            }
         }
 
+        opts.getDiscriminators().register(mc);
         mappedClasses.put(mc.getClazz().getName(), mc);
+        subTypes.clear();
+        codecTypes.clear();
 
         Set<MappedClass> mcs = mappedClassesByCollection.get(mc.getCollectionName());
         if (mcs == null) {
@@ -810,7 +1104,7 @@ public class Mapper {
 
     private Class<? extends Annotation> getFieldAnnotation(final MappedField mf) {
         Class<? extends Annotation> annType = null;
-        for (final Class<? extends Annotation> testType : new Class[]{Property.class, Embedded.class, Serialized.class, Reference.class}) {
+        for (final Class<? extends Annotation> testType : FIELD_ANNOTATIONS) {
             if (mf.hasAnnotation(testType)) {
                 annType = testType;
                 break;
@@ -837,45 +1131,89 @@ public class Mapper {
             && (Key.class.isAssignableFrom(subClass) || DBRef.class.isAssignableFrom(subClass));
     }
 
-    private void readMappedField(final Datastore datastore, final MappedField mf, final Object entity, final EntityCache cache,
-                                 final DBObject dbObject) {
-        if (mf.hasAnnotation(Property.class) || mf.hasAnnotation(Serialized.class)
-            || mf.isTypeMongoCompatible() || getConverters().hasSimpleValueConverter(mf)) {
-            opts.getValueMapper().fromDBObject(datastore, dbObject, mf, entity, cache, this);
+    void readMappedField(final Datastore datastore, final MappedField mf, final Object entity, final EntityCache cache,
+                         final DBObject dbObject) {
+        getReadMapper(mf).fromDBObject(datastore, dbObject, mf, entity, cache, this);
+    }
+
+    void writeMappedField(final DBObject dbObject, final MappedField mf, final Object entity,
+                          final Map<Object, DBObject> involvedObjects) {
+        final CustomMapper writer = getWriteMapper(mf);
+        if (writer == null) {
+            return;
+        }
+        if (writer != opts.getValueMapper() && getConverters().hasSimpleValueConverter(mf.getFieldValue(entity))) {
+            opts.getValueMapper().toDBObject(entity, mf, dbObject, involvedObjects, this);
+        } else {
+            writer.toDBObject(entity, mf, dbObject, involvedObjects, this);
+        }
+    }
+
+    /**
+     * @return the CustomMapper which reads the field
+     */
+    CustomMapper getReadMapper(final MappedField mf) {
+        if (isValueMapped(mf)) {
+            return opts.getValueMapper();
         } else if (mf.hasAnnotation(Embedded.class)) {
-            opts.getEmbeddedMapper().fromDBObject(datastore, dbObject, mf, entity, cache, this);
+            return opts.getEmbeddedMapper();
         } else if (mf.hasAnnotation(Reference.class)) {
-            opts.getReferenceMapper().fromDBObject(datastore, dbObject, mf, entity, cache, this);
+            return opts.getReferenceMapper();
         } else {
-            opts.getDefaultMapper().fromDBObject(datastore, dbObject, mf, entity, cache, this);
+            return opts.getDefaultMapper();
         }
     }
 
-    private void writeMappedField(final DBObject dbObject, final MappedField mf, final Object entity,
-                                  final Map<Object, DBObject> involvedObjects) {
-
+    /**
+     * @return the CustomMapper which writes the field unless its value has a simple value converter, or null if the field is not saved
+     */
+    CustomMapper getWriteMapper(final MappedField mf) {
         //skip not saved fields.
         if (mf.hasAnnotation(NotSaved.class)) {
-            return;
+            return null;
         }
 
         // get the annotation from the field.
-        Class<? extends Annotation> annType = getFieldAnnotation(mf);
+        final Class<? extends Annotation> annType = getFieldAnnotation(mf);
 
         if (Property.class.equals(annType) || Serialized.class.equals(annType) || mf.isTypeMongoCompatible()
-            || (getConverters().hasSimpleValueConverter(mf) || (getConverters().hasSimpleValueConverter(mf.getFieldValue(entity))))) {
-            opts.getValueMapper().toDBObject(entity, mf, dbObject, involvedObjects, this);
+            || getConverters().hasSimpleValueConverter(mf)) {
+            return opts.getValueMapper();
         } else if (Reference.class.equals(annType)) {
-            opts.getReferenceMapper().toDBObject(entity, mf, dbObject, involvedObjects, this);
+            return opts.getReferenceMapper();
         } else if (Embedded.class.equals(annType)) {
-            opts.getEmbeddedMapper().toDBObject(entity, mf, dbObject, involvedObjects, this);
+            return opts.getEmbeddedMapper();
         } else {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("No annotation was found, using default mapper " + opts.getDefaultMapper() + " for " + mf);
             }
-            opts.getDefaultMapper().toDBObject(entity, mf, dbObject, involvedObjects, this);
+            return opts.getDefaultMapper();
         }
+    }
 
+    /**
+     * @return false if no value of the field can have a simple value converter
+     */
+    boolean mayBeValueMapped(final MappedField mf) {
+        final Class type = mf.getType();
+        return type == null || type.isPrimitive() || !Modifier.isFinal(type.getModifiers())
+               || getConverters().hasSimpleValueConverter(type);
+    }
+
+    /**
+     * @return true if the field is read by the value mapper
+     */
+    boolean isValueMapped(final MappedField mf) {
+        return mf.hasAnnotation(Property.class) || mf.hasAnnotation(Serialized.class)
+               || mf.isTypeMongoCompatible() || getConverters().hasSimpleValueConverter(mf);
+    }
+
+    /**
+     * @return true if the field of the given entity is written by the value mapper
+     */
+    boolean isValueMapped(final MappedField mf, final Object entity) {
+        final CustomMapper writer = getWriteMapper(mf);
+        return writer == opts.getValueMapper() || (writer != null && getConverters().hasSimpleValueConverter(mf.getFieldValue(entity)));
     }
 
     <T> Key<T> manualRefToKey(final String collection, final Object id) {
@@ -970,18 +1308,18 @@ public class Mapper {
         final MappedClass mc = getMappedClass(entity);
 
         if (mc.getEntityAnnotation() == null || !mc.getEntityAnnotation().noClassnameStored()) {
-            dbObject.put(CLASS_NAME_FIELDNAME, entity.getClass().getName());
+            dbObject.put(CLASS_NAME_FIELDNAME, mc.getDiscriminator());
         }
 
         if (lifecycle) {
             dbObject = mc.callLifecycleMethods(PrePersist.class, entity, dbObject, this);
         }
 
-        for (final MappedField mf : mc.getPersistenceFields()) {
+        for (final FieldPlan plan : mc.getMappingPlan(this).getFields()) {
             try {
-                writeMappedField(dbObject, mf, entity, involvedObjects);
+                plan.write(this, entity, dbObject, involvedObjects);
             } catch (Exception e) {
-                throw new MappingException("Error mapping field:" + mf.getFullName(), e);
+                throw new MappingException("Error mapping field:" + plan.getField().getFullName(), e);
             }
         }
         if (involvedObjects != null) {
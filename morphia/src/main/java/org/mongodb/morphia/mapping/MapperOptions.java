@@ -5,6 +5,8 @@ import org.mongodb.morphia.ObjectFactory;
 import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.access.AccessorFactory;
+import org.mongodb.morphia.mapping.access.ReflectiveAccessorFactory;
 import org.mongodb.morphia.mapping.cache.DefaultEntityCacheFactory;
 import org.mongodb.morphia.mapping.cache.EntityCacheFactory;
 
@@ -27,8 +29,12 @@ public class MapperOptions {
     private boolean useLowerCaseCollectionNames;
     private boolean cacheClassLookups = false;
     private boolean mapSubPackages = false;
+    private boolean useCodecs = false;
     private ObjectFactory objectFactory = new DefaultCreator(this);
+    private AccessorFactory accessorFactory = new ReflectiveAccessorFactory();
     private EntityCacheFactory cacheFactory = new DefaultEntityCacheFactory();
+    private MappingSnapshot mappingSnapshot;
+    private Discriminators discriminators = new Discriminators();
     private CustomMapper embeddedMapper = new EmbeddedMapper();
     private CustomMapper defaultMapper = embeddedMapper;
     private CustomMapper referenceMapper = new ReferenceMapper();
@@ -53,14 +59,39 @@ public class MapperOptions {
         setStoreEmpties(options.isStoreEmpties());
         setUseLowerCaseCollectionNames(options.isUseLowerCaseCollectionNames());
         setCacheClassLookups(options.isCacheClassLookups());
+        setUseCodecs(options.isUseCodecs());
         setObjectFactory(options.getObjectFactory());
+        setAccessorFactory(options.getAccessorFactory());
         setCacheFactory(options.getCacheFactory());
+        setMappingSnapshot(options.getMappingSnapshot());
+        // the object factory may be shared with the copied options
+        discriminators = options.getDiscriminators();
         setEmbeddedMapper(options.getEmbeddedMapper());
         setDefaultMapper(options.getDefaultMapper());
         setReferenceMapper(options.getReferenceMapper());
         setValueMapper(options.getValueMapper());
     }
 
+    /**
+     * @return the factory creating the accessors of mapped fields
+     * @since 1.4
+     */
+    public AccessorFactory getAccessorFactory() {
+        return accessorFactory;
+    }
+
+    /**
+     * Sets the factory creating the accessors used to read and write mapped fields.  The default factory uses reflection.  The
+     * accessors are created when a class is mapped so this needs to be set before mapping any classes.
+     *
+     * @param accessorFactory the factory to use
+     * @see ReflectiveAccessorFactory
+     * @since 1.4
+     */
+    public void setAccessorFactory(final AccessorFactory accessorFactory) {
+        this.accessorFactory = accessorFactory;
+    }
+
     /**
      * @return the factory to create an EntityCache
      */
@@ -77,6 +108,34 @@ public class MapperOptions {
         this.cacheFactory = cacheFactory;
     }
 
+    /**
+     * @return the snapshot recording the classes which need not be validated again, or null if every class is validated when mapped
+     * @since 1.4
+     */
+    public MappingSnapshot getMappingSnapshot() {
+        return mappingSnapshot;
+    }
+
+    /**
+     * Sets the snapshot recording the classes already validated.  Classes which have not changed since they were recorded skip validation
+     * when mapped and newly validated classes are added to the snapshot, so saving it once the classes are mapped speeds up the next
+     * start.  This needs to be set before mapping any classes.
+     *
+     * @param mappingSnapshot the snapshot to use, or null to validate every class
+     * @see MappingSnapshot#load(java.io.File)
+     * @since 1.4
+     */
+    public void setMappingSnapshot(final MappingSnapshot mappingSnapshot) {
+        this.mappingSnapshot = mappingSnapshot;
+    }
+
+    /**
+     * @return the classes of the Mappers using these options which declare a {@link org.mongodb.morphia.annotations.Discriminator}
+     */
+    Discriminators getDiscriminators() {
+        return discriminators;
+    }
+
     /**
      * @return the DatastoreProvider Morphia should use
      * @deprecated unused
@@ -295,4 +354,22 @@ public class MapperOptions {
     public void setMapSubPackages(final boolean mapSubPackages) {
         this.mapSubPackages = mapSubPackages;
     }
+
+    /**
+     * @return true if Morphia should read and write entities directly through an {@link EntityCodec} rather than a DBObject
+     */
+    public boolean isUseCodecs() {
+        return useCodecs;
+    }
+
+    /**
+     * Controls if entities are read from and written to the BSON stream directly by an {@link EntityCodec} when querying, saving and
+     * inserting.  Entities with lifecycle methods or which are otherwise not supported by the codec still go through the DBObject based
+     * mapping.
+     *
+     * @param useCodecs true if Morphia should use codecs for mapping entities
+     */
+    public void setUseCodecs(final boolean useCodecs) {
+        this.useCodecs = useCodecs;
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.DBObject;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.PreLoad;
+import org.mongodb.morphia.converters.ConverterNotFoundException;
+import org.mongodb.morphia.converters.Converters;
+import org.mongodb.morphia.converters.TypeConverter;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The resolved way to read and write each persistent field of a {@link MappedClass}.  Deciding which {@link CustomMapper} handles a
+ * field, and which {@link TypeConverter} decodes it, takes several annotation and converter lookups so it is done once per class instead
+ * of once per field of every document.  A plan is only valid for the Mapper, the converters and the custom mappers it was built with.
+ *
+ * @see MappedClass#getMappingPlan(Mapper)
+ */
+final class MappingPlan {
+    private final Mapper mapper;
+    private final Converters converters;
+    private final int version;
+    private final CustomMapper valueMapper;
+    private final CustomMapper embeddedMapper;
+    private final CustomMapper referenceMapper;
+    private final CustomMapper defaultMapper;
+    private final FieldPlan[] fields;
+    private final boolean projectable;
+    private volatile ProjectedFields projected;
+
+    @SuppressWarnings("unchecked")
+    MappingPlan(final Mapper mapper, final MappedClass mc) {
+        this.mapper = mapper;
+        converters = mapper.getConverters();
+        version = converters.getVersion();
+        final MapperOptions opts = mapper.getOptions();
+        valueMapper = opts.getValueMapper();
+        embeddedMapper = opts.getEmbeddedMapper();
+        referenceMapper = opts.getReferenceMapper();
+        defaultMapper = opts.getDefaultMapper();
+
+        final List<MappedField> persistenceFields = mc.getPersistenceFields();
+        fields = new FieldPlan[persistenceFields.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new FieldPlan(mapper, persistenceFields.get(i));
+        }
+        // a @PreLoad method may add fields to the document which the projection did not ask for
+        final List<?> preLoad = mc.getLifecycleMethods((Class<Annotation>) (Class<?>) PreLoad.class);
+        projectable = preLoad == null || preLoad.isEmpty();
+    }
+
+    /**
+     * @return the plans of the persistent fields in the order of {@link MappedClass#getPersistenceFields()}
+     */
+    FieldPlan[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the plans of the fields a document read with a projection can contain.  The other fields are absent from the document
+     * so reading them could only ever skip them.  The last projection resolved is remembered, as every document of a query is read with
+     * the same projection instance.
+     *
+     * @param projection the projection of the query, or null if whole documents are read
+     * @return the plans of the fields which may be present, in the order of {@link MappedClass#getPersistenceFields()}
+     */
+    FieldPlan[] getFields(final DBObject projection) {
+        if (projection == null || !projectable) {
+            return fields;
+        }
+        ProjectedFields last = projected;
+        if (last == null || last.projection != projection) {
+            last = new ProjectedFields(projection, project(projection));
+            projected = last;
+        }
+        return last.fields;
+    }
+
+    private FieldPlan[] project(final DBObject projection) {
+        final Set<String> included = new HashSet<String>();
+        final Set<String> excluded = new HashSet<String>();
+        for (final String key : projection.keySet()) {
+            final Object value = projection.get(key);
+            final int dot = key.indexOf('.');
+            if (isIncluded(value)) {
+                included.add(dot < 0 ? key : key.substring(0, dot));
+            } else if (dot < 0 && !(value instanceof DBObject)) {
+                excluded.add(key);
+            } else {
+                // $slice and $elemMatch on an array, or the exclusion of a nested field, leave the top level field in the document
+                included.add(dot < 0 ? key : key.substring(0, dot));
+            }
+        }
+        included.remove(Mapper.ID_KEY);
+        included.remove(Mapper.CLASS_NAME_FIELDNAME);
+
+        final List<FieldPlan> projectedFields = new ArrayList<FieldPlan>(fields.length);
+        for (final FieldPlan plan : fields) {
+            if (plan.getField().hasAnnotation(Id.class)
+                || (isInclusion(projection) ? containsAny(included, plan.getField().getLoadNames())
+                                            : !excluded.containsAll(plan.getField().getLoadNames()))) {
+                projectedFields.add(plan);
+            }
+        }
+        return projectedFields.size() == fields.length ? fields : projectedFields.toArray(new FieldPlan[projectedFields.size()]);
+    }
+
+    /**
+     * @return true if the projection lists the fields to return rather than the ones to leave out
+     */
+    private static boolean isInclusion(final DBObject projection) {
+        for (final String key : projection.keySet()) {
+            if (!key.equals(Mapper.CLASS_NAME_FIELDNAME) && isIncluded(projection.get(key))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIncluded(final Object value) {
+        return value instanceof Boolean ? (Boolean) value : value instanceof Number && ((Number) value).doubleValue() != 0;
+    }
+
+    private static boolean containsAny(final Set<String> names, final List<String> candidates) {
+        for (final String candidate : candidates) {
+            if (names.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param mapper the Mapper about to use this plan
+     * @return true if nothing this plan was built from has changed since
+     */
+    boolean isCurrent(final Mapper mapper) {
+        final MapperOptions opts = mapper.getOptions();
+        return this.mapper == mapper
+               && converters == mapper.getConverters()
+               && version == converters.getVersion()
+               && valueMapper == opts.getValueMapper()
+               && embeddedMapper == opts.getEmbeddedMapper()
+               && referenceMapper == opts.getReferenceMapper()
+               && defaultMapper == opts.getDefaultMapper();
+    }
+
+    private static final class ProjectedFields {
+        private final DBObject projection;
+        private final FieldPlan[] fields;
+
+        private ProjectedFields(final DBObject projection, final FieldPlan[] fields) {
+            this.projection = projection;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * The resolved handling of a single field.
+     */
+    static final class FieldPlan {
+        private final MappedField field;
+        private final CustomMapper reader;
+        private final CustomMapper writer;
+        private final CustomMapper valueMapper;
+        private final TypeConverter decoder;
+        private final boolean checkValue;
+
+        FieldPlan(final Mapper mapper, final MappedField field) {
+            this.field = field;
+            valueMapper = mapper.getOptions().getValueMapper();
+            reader = mapper.getReadMapper(field);
+            decoder = valueMapper.getClass() == ValueMapper.class && reader == valueMapper ? findDecoder(mapper, field) : null;
+            writer = mapper.getWriteMapper(field);
+            checkValue = writer != null && writer != valueMapper && mapper.mayBeValueMapped(field);
+        }
+
+        private static TypeConverter findDecoder(final Mapper mapper, final MappedField field) {
+            try {
+                return mapper.getConverters().getDecoder(field);
+            } catch (ConverterNotFoundException e) {
+                // fail when a value is actually read like the value mapper would
+                return null;
+            }
+        }
+
+        MappedField getField() {
+            return field;
+        }
+
+        void read(final Datastore datastore, final Mapper mapper, final Object entity, final EntityCache cache, final DBObject dbObject) {
+            if (decoder != null) {
+                mapper.getConverters().fromDBValue(field.getDbObjectValue(dbObject), field, entity, decoder);
+            } else {
+                reader.fromDBObject(datastore, dbObject, field, entity, cache, mapper);
+            }
+        }
+
+        void write(final Mapper mapper, final Object entity, final DBObject dbObject, final Map<Object, DBObject> involvedObjects) {
+            if (writer == null) {
+                return;
+            }
+            if (checkValue && mapper.getConverters().hasSimpleValueConverter(field.getFieldValue(entity))) {
+                valueMapper.toDBObject(entity, field, dbObject, involvedObjects, mapper);
+            } else {
+                writer.toDBObject(entity, field, dbObject, involvedObjects, mapper);
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import org.mongodb.morphia.logging.Logger;
+import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A record of the classes whose mapping has already been validated, which can be saved to a file and loaded again when the application
+ * restarts.  Each class is recorded with a hash of its bytecode, and of the bytecode of its superclasses and of the types of its fields
+ * and of their type arguments, so a class which changed in any way that could affect its mapping is validated again.  The hash also
+ * covers the mapper options and converters the validation depends on.  Only {@link
+ * org.mongodb.morphia.mapping.validation.MappingValidator} is skipped: the classes are still mapped from their reflective metadata.
+ * Checking a class still reads the class files it depends on, each of them once, so measure the startup of your own classes to see
+ * whether that is cheaper than validating them.
+ * <p>
+ * The file is written by this version of Morphia only; a file written by another version, or which can not be read, is ignored.
+ * Unreleased builds are told apart by the time their classes were built, and their files are ignored if that time is unknown.
+ *
+ * @see MapperOptions#setMappingSnapshot(MappingSnapshot)
+ * @since 1.4
+ */
+public class MappingSnapshot {
+    private static final Logger LOG = MorphiaLoggerFactory.get(MappingSnapshot.class);
+    private static final int MAGIC = 0x4D4D5331;
+    private static final int FORMAT_VERSION = 1;
+    private static final String HASH_ALGORITHM = "SHA-1";
+
+    private final Map<String, byte[]> validated = new ConcurrentHashMap<String, byte[]>();
+    // the superclasses and field types shared by many mapped classes are read once
+    private final Map<Class<?>, byte[]> classDigests = new ConcurrentHashMap<Class<?>, byte[]>();
+
+    /**
+     * Creates an empty snapshot.
+     */
+    public MappingSnapshot() {
+    }
+
+    /**
+     * Loads a snapshot saved by {@link #save(File)}.  A missing, unreadable or outdated file yields an empty snapshot so every class is
+     * validated again.
+     *
+     * @param file the file to read
+     * @return the snapshot
+     */
+    public static MappingSnapshot load(final File file) {
+        final MappingSnapshot snapshot = new MappingSnapshot();
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                final String version = getMorphiaVersion();
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(version)) {
+                    LOG.debug("Ignoring the mapping snapshot in " + file + " written by another version");
+                    return snapshot;
+                }
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final String className = in.readUTF();
+                    final byte[] hash = new byte[in.readUnsignedByte()];
+                    in.readFully(hash);
+                    snapshot.validated.put(className, hash);
+                }
+            } finally {
+                in.close();
+            }
+        } catch (FileNotFoundException e) {
+            LOG.debug("No mapping snapshot found in " + file);
+        } catch (IOException e) {
+            LOG.warning("Ignoring the unreadable mapping snapshot in " + file, e);
+            snapshot.validated.clear();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Writes this snapshot to a file, replacing its previous contents.
+     *
+     * @param file the file to write
+     * @throws IOException if the file can not be written
+     */
+    public void save(final File file) throws IOException {
+        final Map<String, byte[]> entries = new TreeMap<String, byte[]>(validated);
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            final String version = getMorphiaVersion();
+            out.writeUTF(version != null ? version : "");
+            out.writeInt(entries.size());
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeByte(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * @return the number of classes recorded as validated
+     */
+    public int size() {
+        return validated.size();
+    }
+
+    /**
+     * @param mc     the class about to be mapped
+     * @param mapper the mapper validating it
+     * @return true if the class was validated before and neither it nor the configuration of the mapper have changed since
+     */
+    boolean isValidated(final MappedClass mc, final Mapper mapper) {
+        return isValidated(mc, hash(mc, mapper));
+    }
+
+    /**
+     * @param mc   the class about to be mapped
+     * @param hash the hash of the class, from {@link #hash(MappedClass, Mapper)}
+     * @return true if the class was validated before with the same hash
+     */
+    boolean isValidated(final MappedClass mc, final byte[] hash) {
+        final byte[] known = validated.get(mc.getClazz().getName());
+        return known != null && hash != null && Arrays.equals(known, hash);
+    }
+
+    /**
+     * Records a class as validated.
+     *
+     * @param mc     the class which passed validation
+     * @param mapper the mapper which validated it
+     */
+    void validated(final MappedClass mc, final Mapper mapper) {
+        validated(mc, hash(mc, mapper));
+    }
+
+    /**
+     * Records a class as validated.
+     *
+     * @param mc   the class which passed validation
+     * @param hash the hash of the class, from {@link #hash(MappedClass, Mapper)}
+     */
+    void validated(final MappedClass mc, final byte[] hash) {
+        if (hash != null) {
+            validated.put(mc.getClazz().getName(), hash);
+        }
+    }
+
+    /**
+     * @param mc     the class about to be mapped
+     * @param mapper the mapper mapping it
+     * @return the hash of the bytecode and configuration the mapping of a class depends on, or null if some of it can not be read
+     */
+    byte[] hash(final MappedClass mc, final Mapper mapper) {
+        final Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
+        final Set<Type> variables = new HashSet<Type>();
+        for (Class<?> c = mc.getClazz(); c != null && c != Object.class; c = c.getSuperclass()) {
+            classes.add(c);
+            // the type arguments given to the superclass are the types of its generic fields
+            addClasses(c.getGenericSuperclass(), classes, variables);
+            for (final Field field : c.getDeclaredFields()) {
+                addClasses(field.getGenericType(), classes, variables);
+            }
+        }
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            final MapperOptions options = mapper.getOptions();
+            digest.update(String.valueOf(options.isIgnoreFinals()).getBytes("UTF-8"));
+            digest.update(options.getObjectFactory().getClass().getName().getBytes("UTF-8"));
+            for (final MappedField mf : mc.getPersistenceFields()) {
+                digest.update(mf.getJavaFieldName().getBytes("UTF-8"));
+                digest.update((byte) (mapper.getConverters().hasSimpleValueConverter(mf) ? 1 : 0));
+            }
+            for (final Class<?> c : classes) {
+                final byte[] classDigest = getClassDigest(c);
+                if (classDigest == null) {
+                    return null;
+                }
+                digest.update(c.getName().getBytes("UTF-8"));
+                digest.update(classDigest);
+            }
+            return digest.digest();
+        } catch (IOException e) {
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the hash of the bytecode of a class, or null if it can not be read
+     */
+    private byte[] getClassDigest(final Class<?> c) throws IOException, NoSuchAlgorithmException {
+        byte[] classDigest = classDigests.get(c);
+        if (classDigest == null) {
+            final InputStream in = c.getResourceAsStream(getClassFileName(c));
+            if (in == null) {
+                return null;
+            }
+            try {
+                final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+                final byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+                classDigest = digest.digest();
+            } finally {
+                in.close();
+            }
+            classDigests.put(c, classDigest);
+        }
+        return classDigest;
+    }
+
+    /**
+     * Adds the classes named by a type, its type arguments and the bounds of its type variables.
+     */
+    private static void addClasses(final Type type, final Set<Class<?>> classes, final Set<Type> variables) {
+        if (type instanceof Class) {
+            Class<?> c = (Class<?>) type;
+            while (c.isArray()) {
+                c = c.getComponentType();
+            }
+            // the JDK types can not change without a restart of the JVM with another version of Morphia
+            if (c.getClassLoader() != null) {
+                classes.add(c);
+            }
+        } else if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            addClasses(parameterized.getRawType(), classes, variables);
+            for (final Type argument : parameterized.getActualTypeArguments()) {
+                addClasses(argument, classes, variables);
+            }
+        } else if (type instanceof GenericArrayType) {
+            addClasses(((GenericArrayType) type).getGenericComponentType(), classes, variables);
+        } else if (type instanceof WildcardType) {
+            for (final Type bound : ((WildcardType) type).getUpperBounds()) {
+                addClasses(bound, classes, variables);
+            }
+            for (final Type bound : ((WildcardType) type).getLowerBounds()) {
+                addClasses(bound, classes, variables);
+            }
+        } else if (type instanceof TypeVariable && variables.add(type)) {
+            for (final Type bound : ((TypeVariable<?>) type).getBounds()) {
+                addClasses(bound, classes, variables);
+            }
+        }
+    }
+
+    private static String getClassFileName(final Class<?> c) {
+        final String name = c.getName();
+        return name.substring(name.lastIndexOf('.') + 1) + ".class";
+    }
+
+    /**
+     * @return the version of Morphia, with the time its classes were built if it is not a release, or null if that time is unknown
+     */
+    private static String getMorphiaVersion() {
+        final String version = MappingSnapshot.class.getPackage().getImplementationVersion();
+        if (version != null && !version.endsWith("-SNAPSHOT")) {
+            return version;
+        }
+        // unreleased builds share their version while their validation changes
+        final long built = getBuildTime();
+        return built == 0 ? null : (version != null ? version : "") + "@" + built;
+    }
+
+    /**
+     * @return the last modification time of the jar or of the class files Morphia was loaded from, or 0 if it can not be found
+     */
+    private static long getBuildTime() {
+        try {
+            final CodeSource source = MappingSnapshot.class.getProtectionDomain().getCodeSource();
+            final URL location = source != null ? source.getLocation() : null;
+            if (location == null || !"file".equals(location.getProtocol())) {
+                return 0;
+            }
+            return getLastModified(new File(location.toURI()));
+        } catch (URISyntaxException e) {
+            return 0;
+        } catch (SecurityException e) {
+            return 0;
+        }
+    }
+
+    private static long getLastModified(final File file) {
+        long lastModified = file.lastModified();
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                lastModified = Math.max(lastModified, getLastModified(child));
+            }
+        }
+        return lastModified;
+    }
+}
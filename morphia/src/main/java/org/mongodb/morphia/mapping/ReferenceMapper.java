@@ -1,7 +1,9 @@
 package org.mongodb.morphia.mapping;
 
 
+import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.DBRef;
 import org.mongodb.morphia.Datastore;
@@ -10,6 +12,7 @@ import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.cache.SynchronizedEntityCache;
 import org.mongodb.morphia.mapping.lazy.LazyFeatureDependencies;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxiedEntityReference;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxiedEntityReferenceList;
@@ -22,8 +25,10 @@ import org.mongodb.morphia.utils.ReflectionUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 
 @SuppressWarnings({"unchecked", "rawtypes"})
@@ -294,42 +299,130 @@ class ReferenceMapper implements CustomMapper {
         }
     }
 
+    /**
+     * Loads the non-lazy references of the given documents with one query per referenced collection and caches the entities so that
+     * resolveObject finds them.  Missing references are left for resolveObject to report.
+     *
+     * @return the referenced entities, which the caller has to hold on to until the documents are mapped as the cache may only keep
+     * weak references to them
+     */
+    List<Object> prefetch(final Datastore datastore, final Mapper mapper, final MappedClass mc, final List<DBObject> dbObjects,
+                          final EntityCache cache) {
+        final List<Object> referenced = new ArrayList<Object>();
+        final Map<String, Map<Object, List<PrefetchedReference>>> collections =
+            new LinkedHashMap<String, Map<Object, List<PrefetchedReference>>>();
+        for (final MappedField mf : mc.getPersistenceFields()) {
+            final Reference refAnn = mf.getAnnotation(Reference.class);
+            if (refAnn == null || refAnn.lazy() && LazyFeatureDependencies.testDependencyFullFilled()) {
+                continue;
+            }
+            final IterCallback<Object> callback = new IterCallback<Object>() {
+                @Override
+                public void eval(final Object ref) {
+                    if (ref == null) {
+                        return;
+                    }
+                    final Key key = createKey(mapper, mf, refAnn.idOnly(), ref);
+                    final Object cached = cache.getEntity(key);
+                    if (cached != null) {
+                        referenced.add(cached);
+                        return;
+                    }
+                    final String collection = getCollection(datastore, key, refAnn.idOnly(), ref).getName();
+                    Map<Object, List<PrefetchedReference>> ids = collections.get(collection);
+                    if (ids == null) {
+                        ids = new LinkedHashMap<Object, List<PrefetchedReference>>();
+                        collections.put(collection, ids);
+                    }
+                    final Object id = getId(refAnn.idOnly(), ref);
+                    List<PrefetchedReference> references = ids.get(id);
+                    if (references == null) {
+                        references = new ArrayList<PrefetchedReference>();
+                        ids.put(id, references);
+                    }
+                    references.add(new PrefetchedReference(mf, key));
+                }
+            };
+            for (final DBObject dbObject : dbObjects) {
+                final Object dbVal = mf.getDbObjectValue(dbObject);
+                if (mf.isMap()) {
+                    if (dbVal instanceof DBObject) {
+                        new IterHelper<Object, Object>().loopMap(dbVal, new MapIterCallback<Object, Object>() {
+                            @Override
+                            public void eval(final Object k, final Object val) {
+                                callback.eval(val);
+                            }
+                        });
+                    }
+                } else {
+                    new IterHelper<String, Object>().loopOrSingle(dbVal, callback);
+                }
+            }
+        }
+
+        for (final Map.Entry<String, Map<Object, List<PrefetchedReference>>> entry : collections.entrySet()) {
+            final Map<Object, List<PrefetchedReference>> ids = entry.getValue();
+            final DBCursor cursor = datastore.getDB().getCollection(entry.getKey())
+                                             .find(new BasicDBObject(Mapper.ID_KEY, new BasicDBObject("$in", ids.keySet())));
+            try {
+                while (cursor.hasNext()) {
+                    final DBObject refDbObject = cursor.next();
+                    final List<PrefetchedReference> references = ids.get(refDbObject.get(Mapper.ID_KEY));
+                    if (references != null) {
+                        for (final PrefetchedReference reference : references) {
+                            final Object cached = cache.getEntity(reference.key);
+                            referenced.add(cached != null
+                                           ? cached
+                                           : createEntity(datastore, mapper, cache, reference.mf, reference.key, refDbObject));
+                        }
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+        }
+        return referenced;
+    }
+
     Object resolveObject(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
                          final boolean idOnly, final Object ref) {
         if (ref == null) {
             return null;
         }
 
-        final DBRef dbRef = idOnly ? null : (DBRef) ref;
-        final Key key = mapper.createKey(mf.isSingleValue() ? mf.getType() : mf.getSubClass(),
-                                         idOnly ? ref : dbRef.getId());
+        final Key key = createKey(mapper, mf, idOnly, ref);
 
         final Object cached = cache.getEntity(key);
         if (cached != null) {
             return cached;
         }
-
-        final DBObject refDbObject;
-        DBCollection collection;
-        Object id;
-
-        if (idOnly) {
-            collection = datastore.getCollection(key.getType());
-            id = ref;
-        } else {
-            collection = datastore.getDB().getCollection(dbRef.getCollectionName());
-            id = dbRef.getId();
-        }
-        if (id instanceof DBObject) {
-            ((DBObject) id).removeField(Mapper.CLASS_NAME_FIELDNAME);
+        if (cache instanceof SynchronizedEntityCache) {
+            // the documents are mapped in parallel, so another thread may be loading the same reference
+            try {
+                return ((SynchronizedEntityCache) cache).loadEntity(key, new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        return fetch(datastore, mapper, cache, mf, idOnly, ref, key);
+                    }
+                });
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MappingException("Interrupted while waiting for the reference(" + ref + ") of " + mf.getFullName(), e);
+            } catch (Exception e) {
+                throw new MappingException("The reference(" + ref + ") could not be fetched for " + mf.getFullName(), e);
+            }
         }
-        refDbObject = collection.findOne(id);
+        return fetch(datastore, mapper, cache, mf, idOnly, ref, key);
+    }
+
+    private Object fetch(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                         final boolean idOnly, final Object ref, final Key key) {
+        final DBObject refDbObject = getCollection(datastore, key, idOnly, ref).findOne(getId(idOnly, ref));
 
         if (refDbObject != null) {
-            Object refObj = mapper.getOptions().getObjectFactory().createInstance(mapper, mf, refDbObject);
-            refObj = mapper.fromDb(datastore, refDbObject, refObj, cache);
-            cache.putEntity(key, refObj);
-            return refObj;
+            return createEntity(datastore, mapper, cache, mf, key, refDbObject);
         }
 
         final boolean ignoreMissing = mf.getAnnotation(Reference.class) != null && mf.getAnnotation(Reference.class).ignoreMissing();
@@ -339,4 +432,39 @@ class ReferenceMapper implements CustomMapper {
             return null;
         }
     }
+
+    private Key createKey(final Mapper mapper, final MappedField mf, final boolean idOnly, final Object ref) {
+        return mapper.createKey(mf.isSingleValue() ? mf.getType() : mf.getSubClass(), idOnly ? ref : ((DBRef) ref).getId());
+    }
+
+    private Object createEntity(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                                final Key key, final DBObject refDbObject) {
+        final Object refObj = mapper.fromDb(datastore, mf, refDbObject, cache);
+        cache.putEntity(key, refObj);
+        return refObj;
+    }
+
+    private DBCollection getCollection(final Datastore datastore, final Key key, final boolean idOnly, final Object ref) {
+        return idOnly
+               ? datastore.getCollection(key.getType())
+               : datastore.getDB().getCollection(((DBRef) ref).getCollectionName());
+    }
+
+    private Object getId(final boolean idOnly, final Object ref) {
+        final Object id = idOnly ? ref : ((DBRef) ref).getId();
+        if (id instanceof DBObject) {
+            ((DBObject) id).removeField(Mapper.CLASS_NAME_FIELDNAME);
+        }
+        return id;
+    }
+
+    private static class PrefetchedReference {
+        private final MappedField mf;
+        private final Key key;
+
+        PrefetchedReference(final MappedField mf, final Key key) {
+            this.mf = mf;
+            this.key = key;
+        }
+    }
 }
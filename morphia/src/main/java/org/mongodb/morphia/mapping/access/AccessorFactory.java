@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.access;
+
+import java.lang.reflect.Field;
+
+/**
+ * Creates the {@link FieldAccessor}s used to read and write mapped fields.  An accessor is created once per field when a class is
+ * mapped.
+ *
+ * @see org.mongodb.morphia.mapping.MapperOptions#setAccessorFactory(AccessorFactory)
+ * @since 1.4
+ */
+public interface AccessorFactory {
+    /**
+     * Creates an accessor for the given field.
+     *
+     * @param field the field to access
+     * @return the accessor
+     */
+    FieldAccessor createFieldAccessor(Field field);
+}
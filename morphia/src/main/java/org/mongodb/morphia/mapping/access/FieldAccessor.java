@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.access;
+
+/**
+ * Reads and writes a single java field of mapped entities.  The values of primitive fields are boxed as the converters, and the documents
+ * they are written to, only deal in objects.
+ *
+ * @see AccessorFactory
+ * @since 1.4
+ */
+public interface FieldAccessor {
+    /**
+     * Gets the value of the field on the instance given.
+     *
+     * @param instance the instance to read
+     * @return the value of the field
+     */
+    Object get(Object instance);
+
+    /**
+     * Sets the value of the field on the instance given.
+     *
+     * @param instance the instance to update
+     * @param value    the value to set
+     * @throws IllegalArgumentException if the value can not be assigned to the field
+     */
+    void set(Object instance, Object value);
+}
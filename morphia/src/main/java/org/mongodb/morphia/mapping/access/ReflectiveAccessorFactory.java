@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.access;
+
+import java.lang.reflect.Field;
+
+/**
+ * Accesses fields through {@link Field#get(Object)} and {@link Field#set(Object, Object)}.  This works for every field on every JVM and
+ * is the fallback of the other strategies.
+ *
+ * @since 1.4
+ */
+public class ReflectiveAccessorFactory implements AccessorFactory {
+    @Override
+    public FieldAccessor createFieldAccessor(final Field field) {
+        field.setAccessible(true);
+        return new ReflectiveFieldAccessor(field);
+    }
+
+    private static class ReflectiveFieldAccessor implements FieldAccessor {
+        private final Field field;
+
+        ReflectiveFieldAccessor(final Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object get(final Object instance) {
+            try {
+                return field.get(instance);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void set(final Object instance, final Object value) {
+            try {
+                field.set(instance, value);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ReflectiveFieldAccessor{" + field + "}";
+        }
+    }
+}
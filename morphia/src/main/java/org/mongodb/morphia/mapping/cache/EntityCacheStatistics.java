@@ -8,6 +8,7 @@ public class EntityCacheStatistics {
     private int entities;
     private int hits;
     private int misses;
+    private int evictions;
 
     /**
      * Copies the statistics
@@ -19,9 +20,45 @@ public class EntityCacheStatistics {
         copy.entities = entities;
         copy.hits = hits;
         copy.misses = misses;
+        copy.evictions = evictions;
         return copy;
     }
 
+    /**
+     * @return the number of entities in the cache
+     */
+    public int getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return the number of lookups which found an entity
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups which did not find an entity
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of entities dropped to stay within the size or the age limits of the cache
+     */
+    public int getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Decrements the entity count
+     */
+    public void decEntities() {
+        entities--;
+    }
+
     /**
      * Increments the entity count
      */
@@ -43,6 +80,13 @@ public class EntityCacheStatistics {
         misses++;
     }
 
+    /**
+     * Increments the eviction count
+     */
+    public void incEvictions() {
+        evictions++;
+    }
+
     /**
      * Clears the statistics
      */
@@ -50,10 +94,12 @@ public class EntityCacheStatistics {
         entities = 0;
         hits = 0;
         misses = 0;
+        evictions = 0;
     }
 
     @Override
     public String toString() {
-        return getClass().getSimpleName() + ": " + entities + " entities, " + hits + " hits, " + misses + " misses.";
+        return getClass().getSimpleName() + ": " + entities + " entities, " + hits + " hits, " + misses + " misses, " + evictions
+               + " evictions.";
     }
 }
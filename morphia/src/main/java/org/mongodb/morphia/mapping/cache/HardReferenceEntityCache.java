@@ -0,0 +1,228 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.mapping.lazy.LazyFeatureDependencies;
+import org.mongodb.morphia.mapping.lazy.proxy.ProxyHelper;
+
+/**
+ * An EntityCache holding hard references in open addressing tables keyed by the collection and the id of each document.  Unlike the
+ * {@link DefaultEntityCache} nothing is wrapped in a weak reference, so reading documents creates no garbage for the collector to track,
+ * but entities are only released once the cache is flushed or dropped.  Each query execution gets its own cache, so this holds at most
+ * the entities loaded by one iteration.
+ * <p>
+ * Two keys for the same document are the same entry even if their types differ, e.g. the key of a reference field declared with a super
+ * type.  An entity is only returned for a key whose type it is an instance of.
+ *
+ * @see HardReferenceEntityCacheFactory
+ * @since 1.4
+ */
+public class HardReferenceEntityCache implements EntityCache {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte UNKNOWN = 0;
+    private static final byte EXISTS = 1;
+    private static final byte MISSING = 2;
+
+    private final EntityCacheStatistics stats = new EntityCacheStatistics();
+    private String[] collections;
+    private Object[] ids;
+    private Object[] entities;
+    private Object[] proxies;
+    private byte[] existence;
+    private int[] used;
+    private int size;
+
+    /**
+     * Creates an empty cache
+     */
+    public HardReferenceEntityCache() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public Boolean exists(final Key<?> k) {
+        final int slot = find(k);
+        if (slot >= 0 && isInstance(k, entities[slot])) {
+            stats.incHits();
+            return true;
+        }
+        if (slot < 0 || existence[slot] == UNKNOWN) {
+            stats.incMisses();
+            return null;
+        }
+        stats.incHits();
+        return existence[slot] == EXISTS;
+    }
+
+    @Override
+    public void flush() {
+        // only the slots in use are cleared so flushing after each document costs nothing when the table has grown
+        for (int i = 0; i < size; i++) {
+            final int slot = used[i];
+            collections[slot] = null;
+            ids[slot] = null;
+            entities[slot] = null;
+            proxies[slot] = null;
+            existence[slot] = UNKNOWN;
+        }
+        size = 0;
+        stats.reset();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getEntity(final Key<T> k) {
+        final int slot = find(k);
+        if (slot >= 0) {
+            if (isInstance(k, entities[slot])) {
+                stats.incHits();
+                return (T) entities[slot];
+            }
+            if (proxies[slot] != null && LazyFeatureDependencies.testDependencyFullFilled()) {
+                stats.incHits();
+                return (T) ProxyHelper.unwrap(proxies[slot]);
+            }
+        }
+        stats.incMisses();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getProxy(final Key<T> k) {
+        final int slot = find(k);
+        if (slot >= 0 && proxies[slot] != null) {
+            stats.incHits();
+            return (T) proxies[slot];
+        }
+        stats.incMisses();
+        return null;
+    }
+
+    @Override
+    public void notifyExists(final Key<?> k, final boolean exists) {
+        final int slot = insert(k);
+        if (slot >= 0) {
+            if (existence[slot] != EXISTS) {
+                stats.incEntities();
+            }
+            existence[slot] = exists ? EXISTS : MISSING;
+        }
+    }
+
+    @Override
+    public <T> void putEntity(final Key<T> k, final T t) {
+        notifyExists(k, true); // already registers a write
+        final int slot = find(k);
+        if (slot >= 0) {
+            entities[slot] = t;
+        }
+    }
+
+    @Override
+    public <T> void putProxy(final Key<T> k, final T t) {
+        final int slot = insert(k);
+        if (slot >= 0) {
+            proxies[slot] = t;
+        }
+        stats.incEntities();
+    }
+
+    @Override
+    public EntityCacheStatistics stats() {
+        return stats.copy();
+    }
+
+    private static boolean isInstance(final Key<?> k, final Object entity) {
+        return entity != null && (k.getType() == null || k.getType().isInstance(entity));
+    }
+
+    private static int hash(final String collection, final Object id) {
+        final int h = 31 * (collection == null ? 0 : collection.hashCode()) + id.hashCode();
+        // spread the high bits so that ids differing only there do not collide in a small table
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(final int capacity) {
+        collections = new String[capacity];
+        ids = new Object[capacity];
+        entities = new Object[capacity];
+        proxies = new Object[capacity];
+        existence = new byte[capacity];
+        // the table is resized before more than half of it is used
+        used = new int[capacity / 2];
+    }
+
+    /**
+     * @return the slot of the key, or the complement of the free slot where it would go
+     */
+    private int probe(final String collection, final Object id) {
+        final int mask = ids.length - 1;
+        int slot = hash(collection, id) & mask;
+        while (ids[slot] != null) {
+            if (id.equals(ids[slot]) && (collection == null ? collections[slot] == null : collection.equals(collections[slot]))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ~slot;
+    }
+
+    private int find(final Key<?> k) {
+        return k.getId() == null ? -1 : probe(k.getCollection(), k.getId());
+    }
+
+    private int insert(final Key<?> k) {
+        if (k.getId() == null) {
+            return -1;
+        }
+        int slot = probe(k.getCollection(), k.getId());
+        if (slot < 0) {
+            if (2 * (size + 1) > ids.length) {
+                resize();
+                slot = probe(k.getCollection(), k.getId());
+            }
+            slot = ~slot;
+            collections[slot] = k.getCollection();
+            ids[slot] = k.getId();
+            used[size++] = slot;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        final String[] oldCollections = collections;
+        final Object[] oldIds = ids;
+        final Object[] oldEntities = entities;
+        final Object[] oldProxies = proxies;
+        final byte[] oldExistence = existence;
+        final int[] oldUsed = used;
+        allocate(oldIds.length * 2);
+        for (int i = 0; i < size; i++) {
+            final int old = oldUsed[i];
+            final int slot = ~probe(oldCollections[old], oldIds[old]);
+            collections[slot] = oldCollections[old];
+            ids[slot] = oldIds[old];
+            entities[slot] = oldEntities[old];
+            proxies[slot] = oldProxies[old];
+            existence[slot] = oldExistence[old];
+            used[i] = slot;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+
+import org.mongodb.morphia.Key;
+
+/**
+ * An EntityCache which can tell the entities read completely from their documents from the others.  The Mapper puts an entity in the
+ * cache before reading its fields, so that recursive references resolve to it, and puts the entities of projections and lazily decoded
+ * entities there as well.  Only the entities given to {@link #putLoadedEntity(Key, Object)} hold every field of their document.
+ *
+ * @since 1.4
+ */
+public interface LoadAwareEntityCache extends EntityCache {
+    /**
+     * Adds an entity to the cache once all of its fields have been read from a whole document
+     *
+     * @param k   the Key of the entity
+     * @param t   the entity
+     * @param <T> the type of the entity
+     */
+    <T> void putLoadedEntity(Key<T> k, T t);
+}
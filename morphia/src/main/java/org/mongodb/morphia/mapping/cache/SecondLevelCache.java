@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.annotations.Cached;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A process wide cache of the entities annotated with {@link Cached}, shared by every query through a {@link
+ * SecondLevelEntityCacheFactory}.  The cache holds at most a fixed number of entities, dropping the least recently used one when full,
+ * and an entity is dropped once it is older than its time to live.  The Datastore evicts an entity whenever it writes to its document.
+ * Writes which can not be tied to an id, like multi updates, evict every entity of the collection.
+ * <p>
+ * Every eviction starts a new generation of the collection it evicts from.  The entity caches of the queries remember the generation
+ * they were created in, and the entities they read are not shared once their collection was evicted from since, as their documents may
+ * have been read before the write which caused the eviction.
+ *
+ * @since 1.4
+ */
+public class SecondLevelCache {
+    private static final Long NOT_CACHED = -1L;
+
+    private final int maxEntities;
+    private final long defaultTimeToLive;
+    private final Map<Class<?>, Long> timesToLive = new ConcurrentHashMap<Class<?>, Long>();
+    private final EntityCacheStatistics stats = new EntityCacheStatistics();
+    private final Map<CacheKey, CacheEntry> entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true);
+    private final Map<String, Long> evictedIn = new HashMap<String, Long>();
+    private long generation;
+    private long clearedIn;
+
+    /**
+     * Creates a cache
+     *
+     * @param maxEntities       the maximum number of entities to hold
+     * @param defaultTimeToLive how long to hold entities whose {@link Cached} annotation does not define it, or 0 to hold them until
+     *                          they are evicted
+     * @param unit              the unit of the time to live
+     */
+    public SecondLevelCache(final int maxEntities, final long defaultTimeToLive, final TimeUnit unit) {
+        if (maxEntities <= 0) {
+            throw new IllegalArgumentException("The maximum number of entities must be positive: " + maxEntities);
+        }
+        if (defaultTimeToLive < 0) {
+            throw new IllegalArgumentException("The time to live can not be negative: " + defaultTimeToLive);
+        }
+        this.maxEntities = maxEntities;
+        this.defaultTimeToLive = unit.toNanos(defaultTimeToLive);
+    }
+
+    /**
+     * Removes every entity from the cache
+     */
+    public synchronized void clear() {
+        entries.clear();
+        stats.reset();
+        evictedIn.clear();
+        clearedIn = ++generation;
+    }
+
+    /**
+     * @return the current generation, to pass to {@link #put(Key, Object, long)} for the entities read from now on
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Removes the entity stored in a document from the cache
+     *
+     * @param collection the collection of the document
+     * @param id         the id of the document
+     */
+    public synchronized void evict(final String collection, final Object id) {
+        evictedIn.put(collection, ++generation);
+        if (entries.remove(new CacheKey(collection, id)) != null) {
+            stats.decEntities();
+        }
+    }
+
+    /**
+     * Removes every entity of a collection from the cache
+     *
+     * @param collection the collection
+     */
+    public synchronized void evictAll(final String collection) {
+        evictedIn.put(collection, ++generation);
+        final Iterator<CacheKey> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().collection.equals(collection)) {
+                iterator.remove();
+                stats.decEntities();
+            }
+        }
+    }
+
+    /**
+     * Returns the entity for a Key
+     *
+     * @param key the Key to search for
+     * @param <T> the type of the entity
+     * @return the entity, or null if it is not cached
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T get(final Key<T> key) {
+        if (key.getCollection() == null || key.getType() != null && !isCached(key.getType())) {
+            return null;
+        }
+        final CacheKey cacheKey = new CacheKey(key.getCollection(), key.getId());
+        final CacheEntry entry = entries.get(cacheKey);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            entries.remove(cacheKey);
+            stats.incEvictions();
+            stats.decEntities();
+        } else if (entry != null && (key.getType() == null || key.getType().isInstance(entry.entity))) {
+            stats.incHits();
+            return (T) entry.entity;
+        }
+        stats.incMisses();
+        return null;
+    }
+
+    /**
+     * @param type the type of an entity
+     * @return true if entities of this type are eligible for this cache
+     */
+    public boolean isCached(final Class<?> type) {
+        return getTimeToLive(type) >= 0;
+    }
+
+    /**
+     * Adds an entity to the cache if its type is annotated with {@link Cached}
+     *
+     * @param key    the Key of the entity
+     * @param entity the entity
+     */
+    public void put(final Key<?> key, final Object entity) {
+        put(key, entity, Long.MAX_VALUE);
+    }
+
+    /**
+     * Adds an entity to the cache if its type is annotated with {@link Cached}, unless its collection was evicted from since the given
+     * generation.
+     *
+     * @param key        the Key of the entity
+     * @param entity     the entity
+     * @param generation the generation the document of the entity was read in
+     * @see #getGeneration()
+     */
+    public void put(final Key<?> key, final Object entity, final long generation) {
+        if (key.getCollection() == null || entity == null) {
+            return;
+        }
+        final long timeToLive = getTimeToLive(entity.getClass());
+        if (timeToLive >= 0) {
+            final CacheEntry entry = new CacheEntry(entity, timeToLive == 0 ? 0 : System.nanoTime() + timeToLive);
+            synchronized (this) {
+                final Long evicted = evictedIn.get(key.getCollection());
+                if (clearedIn > generation || evicted != null && evicted > generation) {
+                    return;
+                }
+                if (entries.put(new CacheKey(key.getCollection(), key.getId()), entry) == null) {
+                    stats.incEntities();
+                    if (entries.size() > maxEntities) {
+                        // the entries are in access order so the first one is the least recently used
+                        final Iterator<CacheEntry> eldest = entries.values().iterator();
+                        eldest.next();
+                        eldest.remove();
+                        stats.incEvictions();
+                        stats.decEntities();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the statistics of this cache
+     */
+    public synchronized EntityCacheStatistics stats() {
+        return stats.copy();
+    }
+
+    private long getTimeToLive(final Class<?> type) {
+        Long timeToLive = timesToLive.get(type);
+        if (timeToLive == null) {
+            final Cached cached = type.getAnnotation(Cached.class);
+            if (cached == null) {
+                timeToLive = NOT_CACHED;
+            } else {
+                timeToLive = cached.expireAfterSeconds() > 0 ? TimeUnit.SECONDS.toNanos(cached.expireAfterSeconds()) : defaultTimeToLive;
+            }
+            timesToLive.put(type, timeToLive);
+        }
+        return timeToLive;
+    }
+
+    private static final class CacheKey {
+        private final String collection;
+        private final Object id;
+
+        private CacheKey(final String collection, final Object id) {
+            this.collection = collection;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) o;
+            return collection.equals(other.collection) && (id == null ? other.id == null : id.equals(other.id));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * collection.hashCode() + (id == null ? 0 : id.hashCode());
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Object entity;
+        private final long expiresAt;
+
+        private CacheEntry(final Object entity, final long expiresAt) {
+            this.entity = entity;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return expiresAt != 0 && now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+
+import org.mongodb.morphia.Key;
+
+/**
+ * An EntityCache for a single query which falls back on a {@link SecondLevelCache}.  Only the entities read completely from their
+ * documents are shared with other queries, and only if their collection was not evicted from since this cache was created.  It should
+ * therefore be created before the documents it is given the entities of are read.
+ *
+ * @see SecondLevelEntityCacheFactory
+ * @since 1.4
+ */
+public class SecondLevelEntityCache extends DefaultEntityCache implements LoadAwareEntityCache {
+    private final SecondLevelCache secondLevelCache;
+    private final long generation;
+
+    /**
+     * Creates a cache
+     *
+     * @param secondLevelCache the shared cache
+     */
+    public SecondLevelEntityCache(final SecondLevelCache secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+        generation = secondLevelCache.getGeneration();
+    }
+
+    @Override
+    public <T> T getEntity(final Key<T> k) {
+        T entity = super.getEntity(k);
+        if (entity == null) {
+            entity = secondLevelCache.get(k);
+            if (entity != null) {
+                super.putEntity(k, entity);
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public <T> void putLoadedEntity(final Key<T> k, final T t) {
+        putEntity(k, t);
+        if (t != null && secondLevelCache.isCached(t.getClass())) {
+            secondLevelCache.put(k, t, generation);
+        }
+    }
+}
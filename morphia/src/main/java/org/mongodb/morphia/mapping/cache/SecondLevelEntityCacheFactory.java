@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+/**
+ * Creates entity caches which look up and register the entities annotated with {@link org.mongodb.morphia.annotations.Cached} in a
+ * shared {@link SecondLevelCache}.  Install it with {@link org.mongodb.morphia.mapping.MapperOptions#setCacheFactory(EntityCacheFactory)}.
+ *
+ * @since 1.4
+ */
+public class SecondLevelEntityCacheFactory implements EntityCacheFactory {
+    private final SecondLevelCache secondLevelCache;
+
+    /**
+     * Creates a factory
+     *
+     * @param secondLevelCache the cache shared by all the entity caches created
+     */
+    public SecondLevelEntityCacheFactory(final SecondLevelCache secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    @Override
+    public EntityCache createCache() {
+        return new SecondLevelEntityCache(secondLevelCache);
+    }
+
+    /**
+     * @return the cache shared by all the entity caches created
+     */
+    public SecondLevelCache getSecondLevelCache() {
+        return secondLevelCache;
+    }
+}
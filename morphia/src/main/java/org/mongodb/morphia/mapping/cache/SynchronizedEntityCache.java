@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+
+import org.mongodb.morphia.Key;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Makes an EntityCache safe to share between threads, e.g., when the results of a query are mapped in parallel.  Entities loaded through
+ * {@link #loadEntity(Key, Callable)} are loaded once even when several threads miss the same key at the same time.
+ *
+ * @since 1.4
+ */
+public class SynchronizedEntityCache implements LoadAwareEntityCache {
+    private final EntityCache cache;
+    private final Map<Key<?>, Load> loading = new HashMap<Key<?>, Load>();
+    // the number of keys each thread is loading
+    private final Map<Thread, Integer> loaders = new HashMap<Thread, Integer>();
+
+    /**
+     * Wraps a cache
+     *
+     * @param cache the cache to guard
+     */
+    public SynchronizedEntityCache(final EntityCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public synchronized Boolean exists(final Key<?> k) {
+        return cache.exists(k);
+    }
+
+    @Override
+    public synchronized void flush() {
+        cache.flush();
+    }
+
+    @Override
+    public synchronized <T> T getEntity(final Key<T> k) {
+        return cache.getEntity(k);
+    }
+
+    @Override
+    public synchronized <T> T getProxy(final Key<T> k) {
+        return cache.getProxy(k);
+    }
+
+    @Override
+    public synchronized void notifyExists(final Key<?> k, final boolean exists) {
+        cache.notifyExists(k, exists);
+    }
+
+    @Override
+    public synchronized <T> void putEntity(final Key<T> k, final T t) {
+        cache.putEntity(k, t);
+    }
+
+    @Override
+    public synchronized <T> void putLoadedEntity(final Key<T> k, final T t) {
+        if (cache instanceof LoadAwareEntityCache) {
+            ((LoadAwareEntityCache) cache).putLoadedEntity(k, t);
+        } else {
+            cache.putEntity(k, t);
+        }
+    }
+
+    @Override
+    public synchronized <T> void putProxy(final Key<T> k, final T t) {
+        cache.putProxy(k, t);
+    }
+
+    @Override
+    public synchronized EntityCacheStatistics stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the entity of a key, loading it if it is not cached.  A thread missing a key which another thread is loading waits for that
+     * load and gets the same entity.  Threads which are loading other keys themselves load it as well instead, so that threads can never
+     * wait on each other in a cycle.
+     *
+     * @param k      the Key of the entity
+     * @param loader loads the entity, and is expected to put it in this cache
+     * @param <T>    the type of the entity
+     * @return the entity, or whatever the loader returned
+     * @throws Exception if the loader failed, or the thread was interrupted while waiting
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T loadEntity(final Key<T> k, final Callable<T> loader) throws Exception {
+        final Thread current = Thread.currentThread();
+        final Load load;
+        synchronized (this) {
+            final T cached = cache.getEntity(k);
+            if (cached != null) {
+                return cached;
+            }
+            final Load inFlight = loading.get(k);
+            if (inFlight == null) {
+                load = new Load();
+                loading.put(k, load);
+                final Integer count = loaders.get(current);
+                loaders.put(current, count == null ? 1 : count + 1);
+            } else if (!loaders.containsKey(current)) {
+                while (!inFlight.done) {
+                    wait();
+                }
+                if (!inFlight.failed) {
+                    return (T) inFlight.value;
+                }
+                // let the loader report the error
+                load = null;
+            } else {
+                load = null;
+            }
+        }
+        if (load == null) {
+            return loader.call();
+        }
+
+        T value = null;
+        boolean failed = true;
+        try {
+            value = loader.call();
+            failed = false;
+            return value;
+        } finally {
+            synchronized (this) {
+                loading.remove(k);
+                final int count = loaders.get(current);
+                if (count == 1) {
+                    loaders.remove(current);
+                } else {
+                    loaders.put(current, count - 1);
+                }
+                load.value = value;
+                load.failed = failed;
+                load.done = true;
+                notifyAll();
+            }
+        }
+    }
+
+    private static final class Load {
+        private Object value;
+        private boolean failed;
+        private boolean done;
+    }
+}
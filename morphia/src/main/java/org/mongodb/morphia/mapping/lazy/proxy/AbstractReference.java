@@ -1,13 +1,22 @@
 package org.mongodb.morphia.mapping.lazy.proxy;
 
 
+import com.mongodb.DBObject;
 import com.thoughtworks.proxy.kit.ObjectReference;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
+import org.mongodb.morphia.query.MorphiaIterator;
+import org.mongodb.morphia.utils.ReflectionUtils;
 
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -76,8 +85,51 @@ public abstract class AbstractReference implements Serializable, ObjectReference
         return getDatastore().getByKey(referenceObjClass, id);
     }
 
+    /**
+     * Fetches the entities for the given keys with a single query.  Keys with complex ids can not be matched to the results of that query
+     * and are fetched one at a time.
+     *
+     * @param keys the keys to fetch
+     * @return the entities in the order of the keys with null for each missing entity
+     */
+    @SuppressWarnings("unchecked")
+    protected final List<Object> fetch(final List<Key<?>> keys) {
+        final Set<Object> ids = new LinkedHashSet<Object>();
+        for (final Key<?> key : keys) {
+            if (isSimpleId(key)) {
+                ids.add(key.getId());
+            }
+        }
+
+        final Map<Object, Object> entities = new HashMap<Object, Object>();
+        if (!ids.isEmpty()) {
+            final MorphiaIterator<Object, Object> iterator = getDatastore().get((Class<Object>) referenceObjClass, ids).fetch();
+            try {
+                for (final Object entity : iterator) {
+                    entities.put(getDatastore().getKey(entity).getId(), entity);
+                }
+            } finally {
+                iterator.close();
+            }
+        }
+
+        final List<Object> results = new ArrayList<Object>(keys.size());
+        for (final Key<?> key : keys) {
+            if (key == null) {
+                results.add(null);
+            } else {
+                results.add(isSimpleId(key) ? entities.get(key.getId()) : fetch(key));
+            }
+        }
+        return results;
+    }
+
     protected abstract Object fetch();
 
+    private boolean isSimpleId(final Key<?> key) {
+        return key != null && !(key.getId() instanceof DBObject) && ReflectionUtils.isPropertyType(key.getId().getClass());
+    }
+
     private void writeObject(final ObjectOutputStream out) throws IOException {
         // excessive hoop-jumping in order not to have to recreate the
         // instance.
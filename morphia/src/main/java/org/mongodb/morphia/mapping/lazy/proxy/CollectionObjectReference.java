@@ -74,16 +74,10 @@ public class CollectionObjectReference<T> extends AbstractReference implements P
         c.clear();
 
         final int numberOfEntitiesExpected = listOfKeys.size();
-        // does not retain order:
-        // List<T> retrievedEntities = p.get().getByKeys(referenceObjClass,
-        // (List) __getKeysAsList());
-
-        // so we do it the lousy way: FIXME
         final List<T> retrievedEntities = new ArrayList<T>(listOfKeys.size());
-        for (final Key<?> k : listOfKeys) {
-            T entity = (T) getDatastore().getByKey(referenceObjClass, k);
+        for (final Object entity : fetch(listOfKeys)) {
             if (entity != null) {
-                retrievedEntities.add(entity);
+                retrievedEntities.add((T) entity);
             }
         }
 
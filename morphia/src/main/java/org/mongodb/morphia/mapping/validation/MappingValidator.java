@@ -2,6 +2,7 @@ package org.mongodb.morphia.mapping.validation;
 
 import org.mongodb.morphia.ObjectFactory;
 import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Packed;
 import org.mongodb.morphia.annotations.Property;
 import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.annotations.Serialized;
@@ -24,6 +25,7 @@ import org.mongodb.morphia.mapping.validation.fieldrules.LazyReferenceOnArray;
 import org.mongodb.morphia.mapping.validation.fieldrules.MapKeyDifferentFromString;
 import org.mongodb.morphia.mapping.validation.fieldrules.MapNotSerializable;
 import org.mongodb.morphia.mapping.validation.fieldrules.MisplacedProperty;
+import org.mongodb.morphia.mapping.validation.fieldrules.PackedNotPrimitiveArray;
 import org.mongodb.morphia.mapping.validation.fieldrules.ReferenceToUnidentifiable;
 import org.mongodb.morphia.mapping.validation.fieldrules.VersionMisuse;
 
@@ -131,6 +133,7 @@ public class MappingValidator {
         constraints.add(new LazyReferenceOnArray());
         constraints.add(new MapKeyDifferentFromString());
         constraints.add(new MapNotSerializable());
+        constraints.add(new PackedNotPrimitiveArray());
         constraints.add(new VersionMisuse(creator));
         //
         constraints.add(new ContradictingFieldAnnotation(Reference.class, Serialized.class));
@@ -141,6 +144,10 @@ public class MappingValidator {
         constraints.add(new ContradictingFieldAnnotation(Embedded.class, Property.class));
         //
         constraints.add(new ContradictingFieldAnnotation(Property.class, Serialized.class));
+        //
+        constraints.add(new ContradictingFieldAnnotation(Packed.class, Serialized.class));
+        constraints.add(new ContradictingFieldAnnotation(Packed.class, Reference.class));
+        constraints.add(new ContradictingFieldAnnotation(Packed.class, Embedded.class));
 
         return constraints;
     }
@@ -0,0 +1,30 @@
+package org.mongodb.morphia.mapping.validation.fieldrules;
+
+
+import org.mongodb.morphia.annotations.Packed;
+import org.mongodb.morphia.mapping.MappedClass;
+import org.mongodb.morphia.mapping.MappedField;
+import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.validation.ConstraintViolation;
+import org.mongodb.morphia.mapping.validation.ConstraintViolation.Level;
+
+import java.util.Set;
+
+
+/**
+ * Checks that only arrays of primitives are annotated with {@link Packed}.
+ */
+public class PackedNotPrimitiveArray extends FieldConstraint {
+
+    @Override
+    protected void check(final Mapper mapper, final MappedClass mc, final MappedField mf, final Set<ConstraintViolation> ve) {
+        if (mf.hasAnnotation(Packed.class)) {
+            final Class type = mf.getType();
+            if (!type.isArray() || !type.getComponentType().isPrimitive()) {
+                ve.add(new ConstraintViolation(Level.FATAL, mc, mf, getClass(),
+                                               "Only arrays of primitives can be packed, not " + type.getName()));
+            }
+        }
+    }
+
+}
@@ -10,8 +10,10 @@ import org.mongodb.morphia.mapping.MappedField;
 import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.utils.ReflectionUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mongodb.morphia.query.QueryValidator.validateQuery;
@@ -44,7 +46,33 @@ class FieldCriteria extends AbstractCriteria {
                                              query.isValidatingNames(),
                                              query.isValidatingTypes());
 
+        this.field = sb.toString();
+        this.operator = op;
+        this.value = mapValue(mapper, field, mf, op, value);
+        this.not = not;
+    }
 
+    FieldCriteria(final String field, final FilterOperator op, final Object mappedValue, final boolean not) {
+        this.field = field;
+        this.operator = op;
+        this.value = mappedValue;
+        this.not = not;
+    }
+
+    /**
+     * Converts a value to compare a field with to its stored form
+     *
+     * @param mapper the Mapper to use
+     * @param field  the stored path of the field compared
+     * @param mf     the field compared, or null if it is not mapped
+     * @param op     the operator comparing them
+     * @param value  the value to convert
+     * @return the converted value
+     */
+    static Object mapValue(final Mapper mapper, final String field, final MappedField mf, final FilterOperator op, final Object value) {
+        if (Mapper.CLASS_NAME_FIELDNAME.equals(field)) {
+            return mapValue(mapper, null, mf, op, toDiscriminators(mapper, value));
+        }
         MappedClass mc = null;
         try {
             if (value != null && !ReflectionUtils.isPropertyType(value.getClass())
@@ -75,11 +103,22 @@ class FieldCriteria extends AbstractCriteria {
             && Iterable.class.isAssignableFrom(value.getClass())) {
             mappedValue = Collections.emptyList();
         }
+        return mappedValue;
+    }
 
-        this.field = sb.toString();
-        this.operator = op;
-        this.value = mappedValue;
-        this.not = not;
+    /**
+     * Replaces mapped classes, and the names of mapped classes, with the values stored in the className field of their documents
+     */
+    private static Object toDiscriminators(final Mapper mapper, final Object value) {
+        if (value instanceof Iterable) {
+            final List<Object> discriminators = new ArrayList<Object>();
+            for (final Object element : (Iterable<?>) value) {
+                discriminators.add(toDiscriminators(mapper, element));
+            }
+            return discriminators;
+        }
+        final MappedClass mc = mapper.getMCMap().get(value instanceof Class ? ((Class<?>) value).getName() : value);
+        return mc != null ? mc.getDiscriminator() : value;
     }
 
     @Override
@@ -23,6 +23,7 @@ import com.mongodb.ReadPreference;
 import com.mongodb.client.model.Collation;
 import com.mongodb.client.model.DBCollectionFindOptions;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -34,6 +35,9 @@ import java.util.concurrent.TimeUnit;
  */
 public class FindOptions {
     private DBCollectionFindOptions options = new DBCollectionFindOptions();
+    private boolean prefetchReferences;
+    private ExecutorService mappingExecutor;
+    private boolean lazyDecoding;
 
     /**
      * Creates an empty options instance.
@@ -50,7 +54,10 @@ public class FindOptions {
      * @return the new copy
      */
     public FindOptions copy() {
-        return new FindOptions(options.copy());
+        return new FindOptions(options.copy())
+            .prefetchReferences(prefetchReferences)
+            .mappingExecutor(mappingExecutor)
+            .lazyDecoding(lazyDecoding);
     }
 
     /**
@@ -391,6 +398,87 @@ public class FindOptions {
         return this;
     }
 
+    /**
+     * Returns whether non-lazy references are loaded a batch at a time
+     *
+     * @return true if references are prefetched
+     * @since 1.4
+     */
+    public boolean isPrefetchReferences() {
+        return prefetchReferences;
+    }
+
+    /**
+     * Sets whether the non-lazy references of the results are loaded a batch at a time.  Rather than fetching each reference as its
+     * document is mapped, the references of a whole batch of results are loaded with one {@code $in} query per referenced collection.
+     * The size of a batch is the batch size of these options or 100 if none is set.
+     *
+     * @param prefetchReferences true if references should be prefetched
+     * @return this
+     * @since 1.4
+     */
+    public FindOptions prefetchReferences(final boolean prefetchReferences) {
+        this.prefetchReferences = prefetchReferences;
+        return this;
+    }
+
+    /**
+     * Returns the executor the results are mapped on
+     *
+     * @return the executor or null if the results are mapped on the thread reading them
+     * @since 1.4
+     */
+    public ExecutorService getMappingExecutor() {
+        return mappingExecutor;
+    }
+
+    /**
+     * Sets the executor to map the results on.  Documents are read a batch at a time and each document of a batch is mapped to its entity
+     * as a separate task.  The entities are returned in the order of the cursor once the whole batch has been mapped.  The size of a batch
+     * is the batch size of these options or 100 if none is set.  Lifecycle methods and interceptors are called on the executor's threads.
+     * The executor is not shut down.
+     *
+     * @param mappingExecutor the executor, or null to map the results on the thread reading them
+     * @return this
+     * @since 1.4
+     */
+    public FindOptions mappingExecutor(final ExecutorService mappingExecutor) {
+        this.mappingExecutor = mappingExecutor;
+        return this;
+    }
+
+    /**
+     * Returns whether the fields of the results are decoded when first used
+     *
+     * @return true if the results are decoded lazily
+     * @since 1.4
+     */
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    /**
+     * Sets whether the fields of the results are decoded when first used.  Each result keeps its raw BSON document and is returned as a
+     * proxy of its entity.  Calling a getter or setter of a field decodes only that field, calling any other method decodes them all.
+     * The fields of the proxy itself are never set, so the entities must be used through their methods.
+     * <p>
+     * Getters and setters are recognized by their names only.  One whose body uses any field other than its own, such as a getter
+     * computing its value from two fields, sees the default values of the fields not decoded yet.  Only use lazy decoding with entities
+     * whose getters and setters use their own field alone.
+     * <p>
+     * This requires the optional cglib dependency.  Results whose class is final, has final methods, lacks a non-private no-arg
+     * constructor or has {@code @PreLoad} or {@code @PostLoad} methods are decoded as usual, as are all the results when an
+     * interceptor is registered.  References are not prefetched when decoding lazily.
+     *
+     * @param lazyDecoding true if the results should be decoded lazily
+     * @return this
+     * @since 1.4
+     */
+    public FindOptions lazyDecoding(final boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
     DBCollectionFindOptions getOptions() {
         return options;
     }
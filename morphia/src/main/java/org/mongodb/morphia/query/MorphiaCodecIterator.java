@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import com.mongodb.DBCursor;
+import com.mongodb.client.MongoCursor;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the entities decoded by an {@link org.mongodb.morphia.mapping.EntityCodec}.  As the entities are mapped while the driver
+ * reads the results, the mapping time is included in the driver time.
+ *
+ * @param <T> the type being iterated
+ * @see org.mongodb.morphia.mapping.MapperOptions#setUseCodecs(boolean)
+ * @since 1.4
+ */
+public class MorphiaCodecIterator<T> extends MorphiaIterator<T, T> {
+    private final MongoCursor<T> cursor;
+    private long driverTime;
+
+    /**
+     * Creates a MorphiaCodecIterator
+     *
+     * @param datastore  the Datastore to use when fetching references
+     * @param cursor     the cursor to use
+     * @param mapper     the Mapper to use
+     * @param clazz      the type being iterated
+     * @param collection the mongodb collection
+     * @param cache      the EntityCache
+     */
+    public MorphiaCodecIterator(final Datastore datastore, final MongoCursor<T> cursor, final Mapper mapper, final Class<T> clazz,
+                                final String collection, final EntityCache cache) {
+        super(datastore, null, mapper, clazz, collection, cache);
+        this.cursor = cursor;
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+
+    /**
+     * @return null as this iterator is not backed by a DBCursor
+     * @see #getMongoCursor()
+     */
+    @Override
+    public DBCursor getCursor() {
+        return null;
+    }
+
+    /**
+     * @return the underlying MongoCursor
+     */
+    public MongoCursor<T> getMongoCursor() {
+        return cursor;
+    }
+
+    @Override
+    public long getDriverTime() {
+        return driverTime;
+    }
+
+    @Override
+    public boolean hasNext() {
+        final long start = System.currentTimeMillis();
+        final boolean ret = cursor.hasNext();
+        driverTime += System.currentTimeMillis() - start;
+        return ret;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final long start = System.currentTimeMillis();
+        final T entity = cursor.next();
+        driverTime += System.currentTimeMillis() - start;
+        return entity;
+    }
+
+    @Override
+    public void remove() {
+        cursor.remove();
+    }
+}
@@ -5,10 +5,20 @@ import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.MappingException;
 import org.mongodb.morphia.mapping.cache.EntityCache;
 
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 
 /**
@@ -17,12 +27,23 @@ import java.util.NoSuchElementException;
  * @author Scott Hernandez
  * @see MorphiaKeyIterator
  */
-public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
+public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V>, Closeable {
     private final Iterator<DBObject> wrapped;
     private final Mapper mapper;
     private final Class<T> clazz;
     private final String collection;
     private final EntityCache cache;
+    private final LinkedList<DBObject> prefetched = new LinkedList<DBObject>();
+    private final LinkedList<V> mapped = new LinkedList<V>();
+    // the cache may only hold the prefetched references weakly so they are kept here until their documents are mapped
+    private final List<Object> handedOutReferences = new ArrayList<Object>();
+    private List<Object> prefetchedReferences = Collections.emptyList();
+    private int prefetchBatchSize;
+    private boolean streaming;
+    private DBObject projection;
+    private boolean lazy;
+    private ExecutorService mappingExecutor;
+    private int mappingBatchSize;
     private long driverTime;
     private long mapperTime;
     private Datastore datastore;
@@ -55,6 +76,31 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
         }
     }
 
+    /**
+     * Tells the iterator the projection the documents are read with so that mapping them skips the fields which can not be present.
+     *
+     * @param projection the projection, or null if whole documents are read
+     */
+    void project(final DBObject projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Makes the iterator return entities whose fields are decoded from the documents read when first used.
+     *
+     * @see FindOptions#lazyDecoding(boolean)
+     */
+    void decodeLazily() {
+        lazy = true;
+    }
+
+    /**
+     * @return the cache of the entities mapped by this iterator
+     */
+    EntityCache getCache() {
+        return cache;
+    }
+
     /**
      * @return the original class type.
      */
@@ -99,6 +145,9 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
 
     @Override
     public boolean hasNext() {
+        if (!mapped.isEmpty() || !prefetched.isEmpty()) {
+            return true;
+        }
         if (wrapped == null) {
             return false;
         }
@@ -113,6 +162,15 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
+        if (mappingExecutor != null) {
+            if (mapped.isEmpty()) {
+                handedOutReferences.clear();
+                mapBatch();
+            }
+            return mapped.removeFirst();
+        }
+        // the documents handed out so far have been mapped
+        handedOutReferences.clear();
         final DBObject dbObj = getNext();
         return processItem(dbObj);
     }
@@ -131,16 +189,121 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
 
     @SuppressWarnings("unchecked")
     protected V convertItem(final DBObject dbObj) {
-        return (V) mapper.fromDBObject(datastore, clazz, dbObj, cache);
+        return (V) (lazy ? mapper.fromDBObjectLazily(datastore, clazz, dbObj, cache)
+                         : mapper.fromDBObject(datastore, clazz, dbObj, cache, projection));
     }
 
     protected DBObject getNext() {
+        if (prefetchBatchSize > 0) {
+            if (prefetched.isEmpty()) {
+                forgetMappedEntities();
+                prefetch();
+            }
+            return prefetched.removeFirst();
+        }
+        forgetMappedEntities();
         final long start = System.currentTimeMillis();
         final DBObject dbObj = wrapped.next();
         driverTime += System.currentTimeMillis() - start;
         return dbObj;
     }
 
+    /**
+     * Reads documents a batch at a time and loads their references before they are mapped.
+     *
+     * @param batchSize the number of documents to read ahead
+     * @see Mapper#prefetchReferences(Datastore, Class, List, EntityCache)
+     */
+    void prefetchReferences(final int batchSize) {
+        prefetchBatchSize = batchSize;
+    }
+
+    /**
+     * Stops the EntityCache from growing with every document read.  The entities mapped so far are forgotten before the next document,
+     * or the next batch of documents when prefetching references, is read.
+     *
+     * @see QueryResults#stream(FindOptions)
+     */
+    void stream() {
+        streaming = true;
+    }
+
+    /**
+     * Maps the documents on the given executor a batch at a time.  The EntityCache given to this iterator has to be thread safe.
+     *
+     * @param executor  the executor to map on
+     * @param batchSize the number of documents to map at once
+     * @see FindOptions#mappingExecutor(ExecutorService)
+     */
+    void mapOn(final ExecutorService executor, final int batchSize) {
+        mappingExecutor = executor;
+        mappingBatchSize = batchSize;
+    }
+
+    /**
+     * Maps the next batch of documents in parallel.  Nothing is handed out before the whole batch is mapped as an entity put in the cache
+     * by one task may still be populated while another task references it.
+     */
+    private void mapBatch() {
+        final List<DBObject> batch = new ArrayList<DBObject>(mappingBatchSize);
+        while (batch.size() < mappingBatchSize && hasNext()) {
+            batch.add(getNext());
+        }
+
+        final long start = System.currentTimeMillis();
+        final List<Future<V>> futures = new ArrayList<Future<V>>(batch.size());
+        try {
+            for (final DBObject dbObj : batch) {
+                futures.add(mappingExecutor.submit(new Callable<V>() {
+                    @Override
+                    public V call() {
+                        return convertItem(dbObj);
+                    }
+                }));
+            }
+            for (final Future<V> future : futures) {
+                mapped.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MappingException("Interrupted while mapping the results", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new MappingException("Could not map the results", e.getCause());
+        } finally {
+            if (mapped.size() < batch.size()) {
+                mapped.clear();
+                for (final Future<V> future : futures) {
+                    future.cancel(true);
+                }
+            }
+            mapperTime += System.currentTimeMillis() - start;
+        }
+    }
+
+    private void forgetMappedEntities() {
+        if (streaming) {
+            cache.flush();
+        }
+    }
+
+    private void prefetch() {
+        final List<DBObject> batch = new ArrayList<DBObject>(prefetchBatchSize);
+        long start = System.currentTimeMillis();
+        while (batch.size() < prefetchBatchSize && wrapped.hasNext()) {
+            batch.add(wrapped.next());
+        }
+        driverTime += System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        handedOutReferences.addAll(prefetchedReferences);
+        prefetchedReferences = mapper.prefetchReferences(datastore, clazz, batch, cache);
+        mapperTime += System.currentTimeMillis() - start;
+        prefetched.addAll(batch);
+    }
+
     private V processItem(final DBObject dbObj) {
         final long start = System.currentTimeMillis();
         final V item = convertItem(dbObj);
@@ -5,20 +5,28 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
+import com.mongodb.DefaultDBDecoder;
+import com.mongodb.LazyDBDecoder;
 import com.mongodb.ReadPreference;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.DBCollectionFindOptions;
 import org.bson.BSONObject;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.CodeWScope;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.EntityCodecProvider;
 import org.mongodb.morphia.mapping.MappedClass;
 import org.mongodb.morphia.mapping.MappedField;
 import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.cache.SynchronizedEntityCache;
+import org.mongodb.morphia.mapping.lazy.LazyFeatureDependencies;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,10 +50,10 @@ import static org.mongodb.morphia.query.QueryValidator.validateQuery;
 @SuppressWarnings("deprecation")
 public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
     private static final Logger LOG = MorphiaLoggerFactory.get(QueryImpl.class);
+    private static final int DEFAULT_BATCH_SIZE = 100;
     private final org.mongodb.morphia.DatastoreImpl ds;
     private final DBCollection dbColl;
     private final Class<T> clazz;
-    private EntityCache cache;
     private boolean validateName = true;
     private boolean validateType = true;
     private Boolean includeFields;
@@ -73,7 +81,6 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
         this.clazz = clazz;
         this.ds = ((org.mongodb.morphia.DatastoreImpl) ds);
         dbColl = coll;
-        cache = this.ds.getMapper().createEntityCache();
 
         final MappedClass mc = this.ds.getMapper().getMappedClass(clazz);
         final Entity entAn = mc == null ? null : mc.getEntityAnnotation();
@@ -153,7 +160,7 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
 
         if (LOG.isTraceEnabled()) {
             LOG.trace(format("asList: %s \t %d entities, iterator time: driver %d ms, mapper %d ms %n\t cache: %s %n\t for %s",
-                             dbColl.getName(), results.size(), iter.getDriverTime(), iter.getMapperTime(), cache.stats(),
+                             dbColl.getName(), results.size(), iter.getDriverTime(), iter.getMapperTime(), iter.getCache().stats(),
                              getQueryObject()));
         }
 
@@ -187,12 +194,22 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
 
     @Override
     public MorphiaIterator<T, T> fetch(final FindOptions options) {
-        final DBCursor cursor = prepareCursor(options);
-        if (LOG.isTraceEnabled()) {
-            LOG.trace("Getting cursor(" + dbColl.getName() + ")  for query:" + cursor.getQuery());
+        // each execution gets its own cache so that the entities of one are neither held nor handed out by the next
+        final EntityCache cache = ds.getMapper().createEntityCache();
+        if (clazz != null && ds.getMapper().getOptions().isUseCodecs() && ds.getDecoderFact() == DefaultDBDecoder.FACTORY
+            && !options.isPrefetchReferences() && options.getMappingExecutor() == null && !options.isLazyDecoding()) {
+            return new MorphiaCodecIterator<T>(ds, prepareIterable(options, cache).iterator(), ds.getMapper(), clazz, dbColl.getName(),
+                                               cache);
         }
 
-        return new MorphiaIterator<T, T>(ds, cursor, ds.getMapper(), clazz, dbColl.getName(), cache);
+        return createIterator(options, cache);
+    }
+
+    @Override
+    public MorphiaIterator<T, T> stream(final FindOptions options) {
+        final MorphiaIterator<T, T> iterator = createIterator(options, ds.getMapper().createEntityCache());
+        iterator.stream();
+        return iterator;
     }
 
     @Override
@@ -278,7 +295,6 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
     @Override
     public QueryImpl<T> cloneQuery() {
         final QueryImpl<T> n = new QueryImpl<T>(clazz, dbColl, ds);
-        n.cache = ds.getMapper().createEntityCache(); // fresh cache
         n.includeFields = includeFields;
         n.setQuery(n); // feels weird, correct?
         n.validateName = validateName;
@@ -747,6 +763,77 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
     }
 
     private DBCursor prepareCursor(final FindOptions findOptions) {
+        final DBObject query = prepareQuery(findOptions);
+
+        return dbColl.find(query, findOptions.getOptions()
+                                             .copy()
+                                             .sort(getSortObject())
+                                             .projection(getFieldsObject()))
+                     .setDecoderFactory(ds.getDecoderFact());
+    }
+
+    private MorphiaIterator<T, T> createIterator(final FindOptions options, final EntityCache entityCache) {
+        final DBCursor cursor = prepareCursor(options);
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Getting cursor(" + dbColl.getName() + ")  for query:" + cursor.getQuery());
+        }
+
+        final boolean parallel = options.getMappingExecutor() != null && options.getCursorType() == NonTailable;
+        final MorphiaIterator<T, T> iterator = new MorphiaIterator<T, T>(ds, cursor, ds.getMapper(), clazz, dbColl.getName(),
+                                                                         parallel ? new SynchronizedEntityCache(entityCache) : entityCache);
+        final boolean lazy = clazz != null && options.isLazyDecoding() && LazyFeatureDependencies.testDependencyFullFilled();
+        if (lazy) {
+            cursor.setDecoderFactory(LazyDBDecoder.FACTORY);
+            iterator.decodeLazily();
+        } else if (clazz != null) {
+            iterator.project(getFieldsObject());
+        }
+        final int batchSize = Math.abs(options.getBatchSize()) != 0 ? Math.abs(options.getBatchSize()) : DEFAULT_BATCH_SIZE;
+        if (clazz != null && !lazy && options.isPrefetchReferences() && options.getCursorType() == NonTailable) {
+            iterator.prefetchReferences(batchSize);
+        }
+        if (parallel) {
+            iterator.mapOn(options.getMappingExecutor(), batchSize);
+        }
+        return iterator;
+    }
+
+    private FindIterable<T> prepareIterable(final FindOptions findOptions, final EntityCache cache) {
+        final DBObject query = prepareQuery(findOptions);
+        final DBCollectionFindOptions options = findOptions.getOptions();
+
+        final DBObject projection = getFieldsObject();
+        final EntityCodecProvider codecProvider = new EntityCodecProvider(ds, ds.getMapper(), cache, projection);
+        MongoCollection<T> collection = ds.getMongoCollection(dbColl, clazz, codecProvider);
+        if (options.getReadPreference() != null) {
+            collection = collection.withReadPreference(options.getReadPreference());
+        }
+        if (options.getReadConcern() != null) {
+            collection = collection.withReadConcern(options.getReadConcern());
+        }
+
+        final FindIterable<T> iterable = collection.find(toBson(query))
+                                                   .projection(toBson(projection))
+                                                   .sort(toBson(getSortObject()))
+                                                   .batchSize(options.getBatchSize())
+                                                   .limit(options.getLimit())
+                                                   .skip(options.getSkip())
+                                                   .maxTime(options.getMaxTime(MILLISECONDS), MILLISECONDS)
+                                                   .maxAwaitTime(options.getMaxAwaitTime(MILLISECONDS), MILLISECONDS)
+                                                   .cursorType(options.getCursorType())
+                                                   .noCursorTimeout(options.isNoCursorTimeout())
+                                                   .oplogReplay(options.isOplogReplay())
+                                                   .partial(options.isPartial());
+        if (options.getModifiers() != null) {
+            iterable.modifiers(toBson(options.getModifiers()));
+        }
+        if (options.getCollation() != null) {
+            iterable.collation(options.getCollation());
+        }
+        return iterable;
+    }
+
+    private DBObject prepareQuery(final FindOptions findOptions) {
         final DBObject query = getQueryObject();
 
         if (LOG.isTraceEnabled()) {
@@ -760,12 +847,14 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
         if (findOptions.getCursorType() != NonTailable && (findOptions.getSortDBObject() != null)) {
             LOG.warning("Sorting on tail is not allowed.");
         }
+        return query;
+    }
 
-        return dbColl.find(query, findOptions.getOptions()
-                                             .copy()
-                                             .sort(getSortObject())
-                                             .projection(getFieldsObject()))
-                     .setDecoderFactory(ds.getDecoderFact());
+    private Bson toBson(final DBObject dbObject) {
+        if (dbObject == null || dbObject instanceof Bson) {
+            return (Bson) dbObject;
+        }
+        return new BasicDBObject(dbObject.toMap());
     }
 
     @Override
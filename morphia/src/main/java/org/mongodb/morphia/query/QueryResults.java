@@ -88,6 +88,19 @@ public interface QueryResults<T> extends Iterable<T> {
      */
     MorphiaIterator<T, T> fetch(FindOptions options);
 
+    /**
+     * Execute the query and stream the results.  Unlike {@link #fetch(FindOptions)}, the entities read are not remembered once the next
+     * document is mapped, or the next batch when {@link FindOptions#prefetchReferences(boolean) prefetching references}, so memory use
+     * stays flat however many documents are read.  The flip side is that an entity referenced from several documents is loaded, and
+     * returned as a separate instance, for each of them.  The documents are read from the server {@link FindOptions#batchSize(int)
+     * batchSize} at a time.  The iterator should be closed if it is not read to the end.
+     *
+     * @param options the options to apply to the find operation
+     * @return an Iterator of the results
+     * @since 1.4
+     */
+    MorphiaIterator<T, T> stream(FindOptions options);
+
     /**
      * Execute the query and get only the ids of the results.  This is more efficient than fetching the actual results (transfers less
      * data).
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.DatastoreImpl;
+import org.mongodb.morphia.mapping.MappedField;
+import org.mongodb.morphia.mapping.Mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+import static org.mongodb.morphia.query.QueryValidator.validateQuery;
+
+/**
+ * A query shape which is parsed and validated once and then run many times with different values.  {@link Query#filter(String, Object)}
+ * parses the condition, validates the field path against the mapping and translates java field names every time it is called; a template
+ * does all of this when a condition is added so binding values only converts them to their stored form.
+ * <p>
+ * Conditions added with {@link #filter(String)} take their value from the parameters given to {@link #bind(Object...)}, in the order
+ * they were added.  A template can be shared between threads once all its conditions have been added.
+ * <p>
+ * <pre>
+ * QueryTemplate&lt;Person&gt; byAge = new QueryTemplate&lt;Person&gt;(datastore, Person.class)
+ *     .filter("age &gt;=")
+ *     .filter("age &lt;");
+ * List&lt;Person&gt; twenties = byAge.bind(20, 30).asList();
+ * </pre>
+ * Unlike {@link Query#filter(String, Object)}, the types of the parameters are not checked against the types of the fields, and the
+ * operators of several conditions on the same field are combined in a single document rather than with {@code $and}.
+ *
+ * @param <T> the type of the entities queried
+ * @since 1.4
+ */
+public final class QueryTemplate<T> {
+    private final Datastore datastore;
+    private final Mapper mapper;
+    private final Class<T> type;
+    private final DBCollection collection;
+    private final List<Condition> conditions = new ArrayList<Condition>();
+    private boolean validateNames = true;
+    private boolean validateTypes = true;
+    private int parameterCount;
+
+    /**
+     * Creates an empty template
+     *
+     * @param datastore the Datastore to run the queries with
+     * @param type      the type of the entities queried
+     */
+    public QueryTemplate(final Datastore datastore, final Class<T> type) {
+        this.datastore = datastore;
+        mapper = ((DatastoreImpl) datastore).getMapper();
+        this.type = type;
+        collection = datastore.getCollection(type);
+    }
+
+    /**
+     * Turns off the validation of the conditions added after this call, like {@link Query#disableValidation()}.
+     *
+     * @return this
+     */
+    public QueryTemplate<T> disableValidation() {
+        validateNames = false;
+        validateTypes = false;
+        return this;
+    }
+
+    /**
+     * Adds a condition whose value is given when the template is bound.
+     *
+     * @param condition the condition, in the syntax of {@link Query#filter(String, Object)}, e.g. "age &gt;="
+     * @return this
+     * @see #bind(Object...)
+     */
+    public QueryTemplate<T> filter(final String condition) {
+        conditions.add(compile(condition, null, true));
+        parameterCount++;
+        return this;
+    }
+
+    /**
+     * Adds a condition whose value is the same every time the template is bound.
+     *
+     * @param condition the condition, in the syntax of {@link Query#filter(String, Object)}
+     * @param value     the value to compare with
+     * @return this
+     */
+    public QueryTemplate<T> filter(final String condition, final Object value) {
+        conditions.add(compile(condition, value, false));
+        return this;
+    }
+
+    /**
+     * @return the number of values {@link #bind(Object...)} expects
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Creates a query from this template.  The query can be refined further like any other query.
+     *
+     * @param parameters the values of the conditions added with {@link #filter(String)}, in the order the conditions were added
+     * @return the new query
+     * @throws IllegalArgumentException if the number of values does not match the number of parameters
+     */
+    public Query<T> bind(final Object... parameters) {
+        if (parameters.length != parameterCount) {
+            throw new IllegalArgumentException(format("The template takes %d parameters but %d were given", parameterCount,
+                                                      parameters.length));
+        }
+        final DBObject query = new BasicDBObject();
+        int next = 0;
+        for (final Condition condition : conditions) {
+            final Object value = condition.parameter
+                                 ? FieldCriteria.mapValue(mapper, condition.field, condition.mappedField, condition.operator,
+                                                         parameters[next++])
+                                 : condition.value;
+            new FieldCriteria(condition.field, condition.operator, value, false).addTo(query);
+        }
+        return datastore.getQueryFactory().createQuery(datastore, collection, type, query);
+    }
+
+    private Condition compile(final String condition, final Object value, final boolean parameter) {
+        final String[] parts = condition.trim().split(" ");
+        if (parts.length < 1 || parts.length > 6) {
+            throw new IllegalArgumentException("'" + condition + "' is not a legal filter condition");
+        }
+        final FilterOperator operator = parts.length == 2 ? FilterOperator.fromString(parts[1]) : FilterOperator.EQUAL;
+
+        final StringBuilder field = new StringBuilder(parts[0].trim());
+        final MappedField mappedField = validateQuery(type, mapper, field, operator, value, validateNames, validateTypes);
+        return new Condition(field.toString(), operator, mappedField, parameter,
+                             parameter ? null : FieldCriteria.mapValue(mapper, field.toString(), mappedField, operator, value));
+    }
+
+    private static final class Condition {
+        private final String field;
+        private final FilterOperator operator;
+        private final MappedField mappedField;
+        private final boolean parameter;
+        private final Object value;
+
+        private Condition(final String field, final FilterOperator operator, final MappedField mappedField, final boolean parameter,
+                          final Object value) {
+            this.field = field;
+            this.operator = operator;
+            this.mappedField = mappedField;
+            this.parameter = parameter;
+            this.value = value;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package org.mongodb.morphia.query;
 
+import org.mongodb.morphia.annotations.Packed;
 import org.mongodb.morphia.annotations.Serialized;
+import org.mongodb.morphia.internal.FieldVersions;
+import org.mongodb.morphia.internal.ValidatedPath;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
 import org.mongodb.morphia.mapping.MappedClass;
@@ -28,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static java.lang.String.format;
+import static org.mongodb.morphia.internal.MorphiaUtils.isArrayOperator;
 
 final class QueryValidator {
     private static final Logger LOG = MorphiaLoggerFactory.get(QueryValidator.class);
@@ -50,13 +54,32 @@ final class QueryValidator {
                 return null;
             }
 
-            MappedClass mc = mapper.getMappedClass(clazz);
+            final MappedClass root = mapper.getMappedClass(clazz);
+            MappedClass mc = root;
+            if (prop.equals(Mapper.CLASS_NAME_FIELDNAME) && mc.getMappedField(prop) == null) {
+                // the type of the documents, written by the Mapper rather than stored from a field
+                return null;
+            }
+            final ValidatedPath known = root.getValidatedPaths().get(prop);
+            if (known != null && known.isCurrent()) {
+                if (!known.getTranslatedPath().equals(prop)) {
+                    origProp.setLength(0);
+                    origProp.append(known.getTranslatedPath());
+                }
+                return validateType(known.getOwner(), known.getTarget(), op, val, validateTypes);
+            }
+
+            final FieldVersions versions = new FieldVersions();
+            // array indexes and map keys are data, so paths containing them are not worth remembering
+            boolean cacheable = true;
             //CHECKSTYLE:OFF
             for (int i = 0; ; ) {
                 //CHECKSTYLE:ON
                 final String part = parts[i];
-                boolean fieldIsArrayOperator = part.equals("$") || part.matches("[0-9]+");
+                boolean fieldIsArrayOperator = isArrayOperator(part);
+                cacheable &= !fieldIsArrayOperator || part.equals("$");
 
+                versions.record(mc);
                 mf = mc.getMappedField(part);
 
                 //translate from java field name to stored field name
@@ -78,6 +101,7 @@ final class QueryValidator {
                 if (mf != null && mf.isMap()) {
                     //skip the map key validation, and move to the next part
                     i++;
+                    cacheable &= i > parts.length;
                 }
 
                 if (i >= parts.length) {
@@ -85,7 +109,8 @@ final class QueryValidator {
                 }
 
                 if (!fieldIsArrayOperator) {
-                    //catch people trying to search/update into @Reference/@Serialized fields
+                    cacheable &= mf != null && canQueryPast(mf);
+                    //catch people trying to search/update into @Reference/@Serialized/@Packed fields
                     if (validateNames && !canQueryPast(mf)) {
                         throw new ValidationException(format("Cannot use dot-notation past '%s' in '%s'; found while"
                                                              + " validating - %s", part, mc.getClazz().getName(), prop));
@@ -110,24 +135,38 @@ final class QueryValidator {
                     origProp.append(parts[i]);
                 }
             }
+            if (cacheable && mf != null) {
+                // a path validating every segment validates the same way whether names are validated or not
+                root.getValidatedPaths().put(prop, new ValidatedPath(origProp.toString(), mc, mf, versions));
+            }
+            return validateType(mc, mf, op, val, validateTypes);
+        }
+        return mf;
+    }
 
-            if (validateTypes && mf != null) {
-                List<ValidationFailure> typeValidationFailures = new ArrayList<ValidationFailure>();
-                boolean compatibleForType = isCompatibleForOperator(mc, mf, mf.getType(), op, val, typeValidationFailures);
-                List<ValidationFailure> subclassValidationFailures = new ArrayList<ValidationFailure>();
-                boolean compatibleForSubclass = isCompatibleForOperator(mc, mf, mf.getSubClass(), op, val, subclassValidationFailures);
-
-                if ((mf.isSingleValue() && !compatibleForType)
-                    || mf.isMultipleValues() && !(compatibleForSubclass || compatibleForType)) {
-
-                    if (LOG.isWarningEnabled()) {
-                        LOG.warning(format("The type(s) for the query/update may be inconsistent; using an instance of type '%s' "
-                                           + "for the field '%s.%s' which is declared as '%s'", val.getClass().getName(),
-                                           mf.getDeclaringClass().getName(), mf.getJavaFieldName(), mf.getType().getName()
-                                          ));
-                        typeValidationFailures.addAll(subclassValidationFailures);
-                        LOG.warning("Validation warnings: \n" + typeValidationFailures);
-                    }
+    private static MappedField validateType(final MappedClass mc, final MappedField mf, final FilterOperator op, final Object val,
+                                            final boolean validateTypes) {
+        if (validateTypes && mf != null && mf.hasAnnotation(Packed.class)) {
+            // only filters check the types of their values; sorts and projections can still use the field
+            throw new ValidationException(format("The field '%s' of '%s' is stored packed and can not be filtered on",
+                                                 mf.getJavaFieldName(), mf.getDeclaringClass().getName()));
+        }
+        if (validateTypes && mf != null) {
+            List<ValidationFailure> typeValidationFailures = new ArrayList<ValidationFailure>();
+            boolean compatibleForType = isCompatibleForOperator(mc, mf, mf.getType(), op, val, typeValidationFailures);
+            List<ValidationFailure> subclassValidationFailures = new ArrayList<ValidationFailure>();
+            boolean compatibleForSubclass = isCompatibleForOperator(mc, mf, mf.getSubClass(), op, val, subclassValidationFailures);
+
+            if ((mf.isSingleValue() && !compatibleForType)
+                || mf.isMultipleValues() && !(compatibleForSubclass || compatibleForType)) {
+
+                if (LOG.isWarningEnabled()) {
+                    LOG.warning(format("The type(s) for the query/update may be inconsistent; using an instance of type '%s' "
+                                       + "for the field '%s.%s' which is declared as '%s'", val.getClass().getName(),
+                                       mf.getDeclaringClass().getName(), mf.getJavaFieldName(), mf.getType().getName()
+                                      ));
+                    typeValidationFailures.addAll(subclassValidationFailures);
+                    LOG.warning("Validation warnings: \n" + typeValidationFailures);
                 }
             }
         }
@@ -135,7 +174,7 @@ final class QueryValidator {
     }
 
     private static boolean canQueryPast(final MappedField mf) {
-        return !(mf.isReference() || mf.hasAnnotation(Serialized.class));
+        return !(mf.isReference() || mf.hasAnnotation(Serialized.class) || mf.hasAnnotation(Packed.class));
     }
 
     /*package*/
@@ -27,9 +27,12 @@ import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
 import org.mongodb.morphia.mapping.MappingException;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
@@ -64,6 +67,15 @@ import java.util.regex.Pattern;
  * @author Olafur Gauti Gudmundsson
  */
 public final class ReflectionUtils {
+    /**
+     * The resource listing the mapped classes of a jar or directory, one binary class name per line.  The morphia-processor annotation
+     * processor generates it.
+     *
+     * @see #getIndexedClasses(ClassLoader, String, boolean)
+     * @since 1.4
+     */
+    public static final String ENTITY_INDEX = "META-INF/morphia/entities";
+
     private static final Logger LOG = MorphiaLoggerFactory.get(ReflectionUtils.class);
 
 
@@ -533,13 +545,72 @@ public final class ReflectionUtils {
      */
     public static Set<Class<?>> getClasses(final ClassLoader loader, final String packageName, final boolean mapSubPackages)
         throws IOException, ClassNotFoundException {
+        return getClasses(loader, packageName, mapSubPackages, false);
+    }
+
+    /**
+     * Returns the classes of a package which may be mapped.  Where a jar or directory holding the package has an {@link #ENTITY_INDEX},
+     * only the classes it lists are loaded.  Every class of the package is loaded from the others, like {@link #getClasses(ClassLoader,
+     * String, boolean)} does.
+     *
+     * @param loader         the ClassLoader to use
+     * @param packageName    the package to scan
+     * @param mapSubPackages whether to include the sub-packages
+     * @return the classes
+     * @throws IOException            thrown if an error is encountered scanning packages
+     * @throws ClassNotFoundException thrown if a class can not be found
+     * @since 1.4
+     */
+    public static Set<Class<?>> getIndexedClasses(final ClassLoader loader, final String packageName, final boolean mapSubPackages)
+        throws IOException, ClassNotFoundException {
+        return getClasses(loader, packageName, mapSubPackages, true);
+    }
+
+    /**
+     * Reads the class names listed in an entity index
+     *
+     * @param index the URL of the index
+     * @return the binary names of the classes
+     * @throws IOException thrown if the index can not be read
+     * @see #ENTITY_INDEX
+     * @since 1.4
+     */
+    public static List<String> readEntityIndex(final URL index) throws IOException {
+        final List<String> classNames = new ArrayList<String>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() != 0 && !line.startsWith("#")) {
+                    classNames.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return classNames;
+    }
+
+    private static Set<Class<?>> getClasses(final ClassLoader loader, final String packageName, final boolean mapSubPackages,
+                                            final boolean useIndex) throws IOException, ClassNotFoundException {
         final Set<Class<?>> classes = new HashSet<Class<?>>();
         final String path = packageName.replace('.', '/');
         final Enumeration<URL> resources = loader.getResources(path);
         if (resources != null) {
             while (resources.hasMoreElements()) {
-                String filePath = resources.nextElement()
-                                           .getFile();
+                final URL url = resources.nextElement();
+                final List<String> indexed = useIndex ? findEntityIndex(url, path) : null;
+                if (indexed != null) {
+                    for (final String className : indexed) {
+                        final String classPackageName = className.substring(0, Math.max(className.lastIndexOf('.'), 0));
+                        if (classPackageName.equals(packageName) || (mapSubPackages && classPackageName.startsWith(packageName + "."))) {
+                            classes.add(Class.forName(className, true, loader));
+                        }
+                    }
+                    continue;
+                }
+                String filePath = url.getFile();
                 // WINDOWS HACK
                 if (filePath.indexOf("%20") > 0) {
                     filePath = filePath.replaceAll("%20", " ");
@@ -567,6 +638,22 @@ public final class ReflectionUtils {
         return classes;
     }
 
+    /**
+     * @return the classes listed in the entity index of the jar or directory a package was found in, or null if it has none
+     */
+    private static List<String> findEntityIndex(final URL packageUrl, final String path) throws IOException {
+        final String url = packageUrl.toExternalForm();
+        final int start = url.lastIndexOf(path);
+        if (start < 0) {
+            return null;
+        }
+        try {
+            return readEntityIndex(new URL(url.substring(0, start) + ENTITY_INDEX));
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
     /**
      * Returns the classes in a package found in a jar
      *
@@ -40,12 +40,14 @@ import org.mongodb.morphia.query.UpdateResults;
 import org.mongodb.morphia.testmodel.Address;
 import org.mongodb.morphia.testmodel.Hotel;
 import org.mongodb.morphia.testmodel.Rectangle;
+import org.mongodb.morphia.testutil.TestEntity;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.mongodb.ReadPreference.secondaryPreferred;
 import static com.mongodb.WriteConcern.ACKNOWLEDGED;
@@ -250,6 +252,18 @@ public class TestDatastore extends TestBase {
         assertTrue(LifecycleListener.prePersistWithEntity);
     }
 
+    @Test
+    public void testLifecycleListenerReused() throws Exception {
+        getMorphia().map(CountedListenerEntity.class);
+        final int created = CountingListener.CREATED.get();
+        final int calls = CountingListener.CALLS.get();
+        for (int i = 0; i < 5; i++) {
+            getDs().save(new CountedListenerEntity());
+        }
+        assertEquals(calls + 5, CountingListener.CALLS.get());
+        assertEquals(created + 1, CountingListener.CREATED.get());
+    }
+
     @Test
     public void testMorphiaDS() throws Exception {
         new Morphia().createDatastore(getMongoClient(), "test");
@@ -289,6 +303,33 @@ public class TestDatastore extends TestBase {
         testStandardDatastore();
     }
 
+    @Test
+    public void testBulkSave() {
+        getMorphia().setUseBulkWriteOperations(true);
+        final Hotel existing = new Hotel();
+        existing.setName("Hotel One");
+        getDs().save(existing);
+
+        existing.setName("Hotel Renamed");
+        final Rectangle rect = new Rectangle(10, 10);
+        final Hotel hotel = new Hotel();
+        hotel.setName("Hotel Two");
+        final List<Key<TestEntity>> keys = new ArrayList<Key<TestEntity>>();
+        for (final Key<TestEntity> key : getDs().save(asList(rect, hotel, existing))) {
+            keys.add(key);
+        }
+
+        assertEquals(3, keys.size());
+        assertNotNull(rect.getId());
+        assertNotNull(hotel.getId());
+        assertEquals(rect.getId(), keys.get(0).getId());
+        assertEquals(hotel.getId(), keys.get(1).getId());
+        assertEquals(existing.getId(), keys.get(2).getId());
+        assertEquals(1, getDs().getCount(Rectangle.class));
+        assertEquals(2, getDs().getCount(Hotel.class));
+        assertEquals("Hotel Renamed", getDs().get(Hotel.class, existing.getId()).getName());
+    }
+
     @Test
     public void testSaveAndDelete() {
         getDs().getCollection(Rectangle.class).drop();
@@ -699,6 +740,26 @@ public class TestDatastore extends TestBase {
         }
     }
 
+    public static class CountingListener {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+        private static final AtomicInteger CALLS = new AtomicInteger();
+
+        public CountingListener() {
+            CREATED.incrementAndGet();
+        }
+
+        @PrePersist
+        void prePersist(final CountedListenerEntity entity) {
+            CALLS.incrementAndGet();
+        }
+    }
+
+    @EntityListeners(CountingListener.class)
+    public static class CountedListenerEntity {
+        @Id
+        private ObjectId id;
+    }
+
     @SuppressWarnings("UnusedDeclaration")
     @EntityListeners(LifecycleListener.class)
     public static class LifecycleTestObj {
@@ -5,8 +5,13 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mongodb.morphia.testutil.TestEntity;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 
@@ -30,6 +35,48 @@ public class TestGetByKeys extends TestBase {
         Assert.assertFalse(i.hasNext());
     }
 
+    @Test
+    public final void testGetByKeysInKeyOrder() throws InterruptedException {
+        final List<A> entities = new ArrayList<A>();
+        for (int i = 0; i < 7; i++) {
+            final A a = new A();
+            a.foo = "bar" + i;
+            entities.add(a);
+        }
+        final List<Key<A>> keys = new ArrayList<Key<A>>();
+        for (final Key<A> key : getDs().save(entities)) {
+            keys.add(key);
+        }
+        Collections.reverse(keys);
+        getDs().delete(entities.get(3));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<A> reloaded = getDs().getByKeys(A.class, keys, new GetByKeysOptions()
+                .chunkSize(2)
+                .executor(executor)
+                .includeMissing(true));
+            Assert.assertEquals(7, reloaded.size());
+            for (int i = 0; i < keys.size(); i++) {
+                final A a = reloaded.get(i);
+                if (i == 3) {
+                    Assert.assertNull(a);
+                } else {
+                    Assert.assertEquals(keys.get(i).getId(), a.getId());
+                    Assert.assertEquals("bar" + (6 - i), a.foo);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        final List<A> found = getDs().getByKeys(keys);
+        Assert.assertEquals(6, found.size());
+        Assert.assertEquals("bar6", found.get(0).foo);
+        Assert.assertEquals("bar0", found.get(5).foo);
+    }
+
     public static class A extends TestEntity {
         private String foo = "bar";
     }
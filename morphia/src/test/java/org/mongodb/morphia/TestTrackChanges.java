@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.TrackChanges;
+import org.mongodb.morphia.annotations.Version;
+
+import java.util.ConcurrentModificationException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class TestTrackChanges extends TestBase {
+    @Test
+    public void testSaveWritesChangedFields() {
+        final Tracked tracked = new Tracked();
+        tracked.name = "first";
+        tracked.note = "a note";
+        tracked.address = new Address("Main Street", "Springfield");
+        getDs().save(tracked);
+        assertNotNull(getMorphia().getMapper().getSnapshot(tracked));
+
+        final Tracked loaded = getDs().get(Tracked.class, tracked.id);
+        getDs().getCollection(Tracked.class).update(new BasicDBObject("_id", tracked.id),
+                                                    new BasicDBObject("$set", new BasicDBObject("count", 42)
+                                                        .append("address.city", "Shelbyville")));
+
+        loaded.name = "second";
+        loaded.note = null;
+        loaded.address.street = "Evergreen Terrace";
+        getDs().save(loaded);
+
+        final DBObject document = getDs().getCollection(Tracked.class).findOne(new BasicDBObject("_id", tracked.id));
+        assertEquals("second", document.get("name"));
+        assertFalse(document.containsField("note"));
+        assertEquals(42, document.get("count"));
+        final DBObject address = (DBObject) document.get("address");
+        assertEquals("Evergreen Terrace", address.get("street"));
+        assertEquals("Shelbyville", address.get("city"));
+    }
+
+    @Test
+    public void testSaveOfDeletedDocument() {
+        final Tracked tracked = new Tracked();
+        tracked.name = "first";
+        getDs().save(tracked);
+        getDs().delete(tracked);
+
+        tracked.name = "second";
+        getDs().save(tracked);
+        assertEquals("second", getDs().get(Tracked.class, tracked.id).name);
+    }
+
+    @Test
+    public void testVersionedSave() {
+        final TrackedVersioned tracked = new TrackedVersioned();
+        tracked.name = "first";
+        getDs().save(tracked);
+
+        final TrackedVersioned loaded = getDs().get(TrackedVersioned.class, tracked.id);
+        loaded.name = "second";
+        getDs().save(loaded);
+        assertEquals(2L, loaded.version.longValue());
+
+        final TrackedVersioned reloaded = getDs().get(TrackedVersioned.class, tracked.id);
+        assertEquals("second", reloaded.name);
+        assertEquals(2L, reloaded.version.longValue());
+
+        tracked.name = "stale";
+        try {
+            getDs().save(tracked);
+            fail("The stale entity should not have been saved");
+        } catch (ConcurrentModificationException e) {
+            assertEquals("second", getDs().get(TrackedVersioned.class, tracked.id).name);
+        }
+    }
+
+    @Test
+    public void testVersionedSaveWithoutChanges() {
+        final TrackedVersioned tracked = new TrackedVersioned();
+        tracked.name = "first";
+        getDs().save(tracked);
+
+        final TrackedVersioned loaded = getDs().get(TrackedVersioned.class, tracked.id);
+        getDs().save(loaded);
+        assertEquals(1L, loaded.version.longValue());
+        assertEquals(1L, getDs().get(TrackedVersioned.class, tracked.id).version.longValue());
+
+        loaded.name = "second";
+        getDs().save(loaded);
+        assertEquals(2L, loaded.version.longValue());
+        try {
+            getDs().save(tracked);
+            fail("The stale entity should not have been saved");
+        } catch (ConcurrentModificationException e) {
+            assertEquals("second", getDs().get(TrackedVersioned.class, tracked.id).name);
+        }
+    }
+
+    @Test
+    public void testMergeKeepsUnmappedFields() {
+        final Tracked tracked = new Tracked();
+        tracked.name = "first";
+        tracked.note = "a note";
+        getDs().save(tracked);
+
+        final Tracked loaded = getDs().get(Tracked.class, tracked.id);
+        loaded.name = "second";
+        loaded.note = null;
+        getDs().merge(loaded);
+
+        final DBObject document = getDs().getCollection(Tracked.class).findOne(new BasicDBObject("_id", tracked.id));
+        assertEquals("second", document.get("name"));
+        assertEquals("a note", document.get("note"));
+        assertNull(getMorphia().getMapper().getSnapshot(new Tracked()));
+    }
+
+    @Entity
+    @TrackChanges
+    private static class Tracked {
+        @Id
+        private ObjectId id;
+        private String name;
+        private String note;
+        private int count;
+        @Embedded
+        private Address address;
+    }
+
+    @Embedded
+    private static class Address {
+        private String street;
+        private String city;
+
+        Address() {
+        }
+
+        Address(final String street, final String city) {
+            this.street = street;
+            this.city = city;
+        }
+    }
+
+    @Entity
+    @TrackChanges
+    private static class TrackedVersioned {
+        @Id
+        private ObjectId id;
+        private String name;
+        @Version
+        private Long version;
+    }
+}
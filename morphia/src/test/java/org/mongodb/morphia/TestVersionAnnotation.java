@@ -195,6 +195,28 @@ public class TestVersionAnnotation extends TestBase {
         getDs().save(version1);
     }
 
+    @Test
+    public void testBulkSaveChecksVersions() {
+        getMorphia().setUseBulkWriteOperations(true);
+        final Versioned stale = new Versioned();
+        final Versioned current = new Versioned();
+        getDs().save(asList(stale, current));
+        assertEquals(new Long(1), stale.getVersion());
+
+        getDs().save(getDs().get(Versioned.class, stale.getId()));
+        stale.setName("stale");
+        current.setName("updated");
+        try {
+            getDs().save(asList(stale, current));
+            fail("Should have detected the stale version");
+        } catch (ConcurrentModificationException e) {
+            assertEquals(new Long(1), stale.getVersion());
+        }
+
+        assertEquals(new Long(2), current.getVersion());
+        assertEquals("updated", getDs().get(Versioned.class, current.getId()).getName());
+    }
+
     @Test
     public void testUpdatesToVersionedFileAreReflectedInTheDatastore() {
         final Versioned version1 = new Versioned();
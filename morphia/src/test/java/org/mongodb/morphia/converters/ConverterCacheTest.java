@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.converters;
+
+import com.mongodb.DBObject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.mapping.MappedField;
+import org.mongodb.morphia.mapping.Mapper;
+
+import java.io.Serializable;
+
+public class ConverterCacheTest extends TestBase {
+    @Test
+    public void testResolvedConvertersAreCached() {
+        final Mapper mapper = getMorphia().getMapper();
+        getMorphia().map(Holder.class);
+        final Converters converters = mapper.getConverters();
+
+        final Holder holder = new Holder();
+        holder.value = "a string";
+        mapper.toDBObject(holder);
+        converters.resetCacheStatistics();
+
+        mapper.toDBObject(holder);
+        mapper.toDBObject(holder);
+        ConverterCacheStatistics stats = converters.getCacheStatistics();
+        Assert.assertEquals(0, stats.getMisses());
+
+        // the same field with a value of another type resolves again
+        holder.value = 42;
+        final DBObject dbObject = mapper.toDBObject(holder);
+        Assert.assertEquals(42, dbObject.get("value"));
+        stats = converters.getCacheStatistics();
+        Assert.assertTrue(stats.getMisses() > 0);
+    }
+
+    @Test
+    public void testAddingConverterInvalidates() {
+        final Mapper mapper = getMorphia().getMapper();
+        getMorphia().map(Holder.class);
+        final Converters converters = mapper.getConverters();
+
+        final Holder holder = new Holder();
+        holder.value = new Secret("hidden");
+        mapper.toDBObject(holder);
+        converters.resetCacheStatistics();
+
+        final SecretConverter converter = new SecretConverter();
+        converters.addConverter(converter);
+        Assert.assertEquals(1, converters.getCacheStatistics().getInvalidations());
+        Assert.assertEquals("***", mapper.toDBObject(holder).get("value"));
+
+        converters.removeConverter(converter);
+        Assert.assertEquals(2, converters.getCacheStatistics().getInvalidations());
+        Assert.assertNotEquals("***", mapper.toDBObject(holder).get("value"));
+    }
+
+    @Entity
+    private static class Holder {
+        @Id
+        private String id = "holder";
+        private Serializable value;
+    }
+
+    private static class Secret implements Serializable {
+        private String text;
+
+        Secret(final String text) {
+            this.text = text;
+        }
+    }
+
+    private static class SecretConverter extends TypeConverter implements SimpleValueConverter {
+        SecretConverter() {
+            super(Secret.class);
+        }
+
+        @Override
+        public Object decode(final Class<?> targetClass, final Object fromDBObject, final MappedField optionalExtraInfo) {
+            return new Secret((String) fromDBObject);
+        }
+
+        @Override
+        public Object encode(final Object value, final MappedField optionalExtraInfo) {
+            return value == null ? null : "***";
+        }
+    }
+}
@@ -52,6 +52,27 @@ public class CustomConverterInEmbedTest extends TestBase {
         Assert.assertEquals("bar", e.foo.get("bar").string);
     }
 
+    @Test
+    public void testConverterChangesAfterMapping() throws Exception {
+        getMorphia().map(E3.class);
+        final E3 e = new E3();
+        e.foo = new Foo("bar");
+        getDs().save(e);
+        Assert.assertTrue(getDs().getCollection(E3.class).findOne().get("foo") instanceof DBObject);
+
+        final FooConverter fc = new FooConverter();
+        getMorphia().getMapper().getConverters().addConverter(fc);
+        getDs().save(e);
+        Assert.assertTrue(fc.didConversion());
+        Assert.assertEquals("bar", getDs().getCollection(E3.class).findOne().get("foo"));
+        Assert.assertEquals("bar", getDs().get(e).foo.string);
+
+        getMorphia().getMapper().getConverters().removeConverter(fc);
+        getDs().save(e);
+        Assert.assertTrue(getDs().getCollection(E3.class).findOne().get("foo") instanceof DBObject);
+        Assert.assertEquals("bar", getDs().get(e).foo.string);
+    }
+
     @Test
     public void testEmbeddedComplexArrayType() throws Exception {
         ArrayBar bar = new ArrayBar();
@@ -88,6 +109,10 @@ public class CustomConverterInEmbedTest extends TestBase {
         private final Map<String, Foo> foo = new HashMap<String, Foo>();
     }
 
+    public static class E3 extends TestEntity {
+        private Foo foo;
+    }
+
     // unknown type to convert
     public static class Foo {
         private String string;
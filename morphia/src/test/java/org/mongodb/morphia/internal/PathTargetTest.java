@@ -52,6 +52,30 @@ public class PathTargetTest extends TestBase {
         Assert.assertEquals(mappedClass.getMappedField("n"), pathTarget.getTarget());
     }
 
+    @Test
+    public void resolvedPathsAreRemembered() {
+        getMorphia().map(ParentType.class, EmbeddedType.class, EntityWithListsAndArrays.class);
+        Mapper mapper = getMorphia().getMapper();
+        MappedClass mappedClass = mapper.getMappedClass(ParentType.class);
+
+        Assert.assertEquals("n", new PathTarget(mapper, mappedClass, "name").translatedPath());
+        Assert.assertTrue(mappedClass.getResolvedPaths().containsKey("name"));
+
+        PathTarget pathTarget = new PathTarget(mapper, mappedClass, "name");
+        pathTarget.disableValidation();
+        Assert.assertEquals("n", pathTarget.translatedPath());
+        Assert.assertEquals(mappedClass.getMappedFieldByJavaField("name"), pathTarget.getTarget());
+
+        pathTarget = new PathTarget(mapper, mappedClass, "unknown");
+        pathTarget.disableValidation();
+        Assert.assertEquals("unknown", pathTarget.translatedPath());
+        Assert.assertFalse(mappedClass.getResolvedPaths().containsKey("unknown"));
+
+        mappedClass = mapper.getMappedClass(EntityWithListsAndArrays.class);
+        Assert.assertEquals("listEmbeddedType.1.number", new PathTarget(mapper, mappedClass, "listEmbeddedType.1.number").translatedPath());
+        Assert.assertFalse(mappedClass.getResolvedPaths().containsKey("listEmbeddedType.1.number"));
+    }
+
     @Test
     public void dottedPath() {
         getMorphia().map(ParentType.class, EmbeddedType.class);
@@ -0,0 +1,174 @@
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.DBObject;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.AbstractEntityInterceptor;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Creator;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Property;
+import org.mongodb.morphia.annotations.Reference;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+public class CreatorTest extends TestBase {
+    @Test
+    public void testCreatesThroughConstructor() {
+        final Account account = new Account(new ObjectId(), "savings", Money.of("EUR", 1250), asList(Money.of("USD", 3)));
+        account.notes.add("opened");
+        getDs().save(account);
+
+        final Account loaded = getDs().get(Account.class, account.id);
+        Assert.assertTrue(loaded.created);
+        Assert.assertEquals(account.id, loaded.id);
+        Assert.assertEquals("savings", loaded.name);
+        Assert.assertEquals("EUR", loaded.balance.currency);
+        Assert.assertEquals(1250, loaded.balance.amount);
+        Assert.assertTrue(loaded.balance.created);
+        Assert.assertEquals(1, loaded.history.size());
+        Assert.assertEquals(3, loaded.history.get(0).amount);
+        Assert.assertTrue(loaded.history.get(0).created);
+        Assert.assertEquals(asList("opened"), loaded.notes);
+    }
+
+    @Test
+    public void testSkipsPreLoadInterceptors() {
+        final List<Class<?>> loaded = new ArrayList<Class<?>>();
+        getMorphia().getMapper().addInterceptor(new AbstractEntityInterceptor() {
+            @Override
+            public void preLoad(final Object ent, final DBObject dbObj, final Mapper mapper) {
+                loaded.add(ent.getClass());
+            }
+
+            @Override
+            public void postLoad(final Object ent, final DBObject dbObj, final Mapper mapper) {
+                loaded.add(ent.getClass());
+            }
+        });
+        final Account account = new Account(new ObjectId(), "savings", null, new ArrayList<Money>());
+        getDs().save(account);
+
+        Assert.assertEquals("savings", getDs().get(Account.class, account.id).name);
+        Assert.assertEquals(asList(Account.class), loaded);
+    }
+
+    @Test
+    public void testKeepsInitializedFields() {
+        final Account account = new Account(new ObjectId(), "current", null, new ArrayList<Money>());
+        account.notes = null;
+        getDs().save(account);
+
+        final Account loaded = getDs().get(Account.class, account.id);
+        Assert.assertNotNull(loaded.notes);
+        Assert.assertNull(loaded.balance);
+    }
+
+    @Test
+    public void testCallsCreatorOncePerDocument() {
+        final Account account = new Account(new ObjectId(), "savings", Money.of("EUR", 1250), asList(Money.of("USD", 3)));
+        getDs().save(account);
+
+        Money.instances = 0;
+        getDs().get(Account.class, account.id);
+        Assert.assertEquals(2, Money.instances);
+    }
+
+    @Test
+    public void testResolvesReferencesBackToTheCreatedInstance() {
+        final Node parent = new Node(new ObjectId(), "parent");
+        final Node child = new Node(new ObjectId(), "child");
+        parent.other = child;
+        child.other = parent;
+        getDs().save(asList(parent, child));
+
+        final Node loaded = getDs().get(Node.class, parent.id);
+        Assert.assertEquals("child", loaded.other.name);
+        Assert.assertSame(loaded, loaded.other.other);
+    }
+
+    @Test(expected = MappingException.class)
+    public void testNeedsNoArgsConstructorOutsideTheMapper() {
+        getMorphia().map(Account.class);
+        getMorphia().getMapper().getOptions().getObjectFactory().createInstance(Account.class);
+    }
+
+    @Test(expected = MappingException.class)
+    public void testValidatesParameters() {
+        getMorphia().map(Mismatched.class);
+    }
+
+    @Entity
+    private static class Account {
+        @Id
+        private final ObjectId id;
+        @Property("n")
+        private final String name;
+        private final Money balance;
+        private final List<Money> history;
+        private List<String> notes = new ArrayList<String>();
+        private final transient boolean created;
+
+        @Creator({"id", "n", "balance", "history"})
+        Account(final ObjectId id, final String name, final Money balance, final List<Money> history) {
+            this.id = id;
+            this.name = name;
+            this.balance = balance;
+            this.history = history;
+            created = true;
+        }
+    }
+
+    @Embedded
+    private static final class Money {
+        private final String currency;
+        private final long amount;
+        private static int instances;
+        private final transient boolean created;
+
+        private Money(final String currency, final long amount) {
+            this.currency = currency;
+            this.amount = amount;
+            created = true;
+            instances++;
+        }
+
+        @Creator({"currency", "amount"})
+        static Money of(final String currency, final long amount) {
+            return new Money(currency, amount);
+        }
+    }
+
+    @Entity
+    private static class Node {
+        @Id
+        private final ObjectId id;
+        private final String name;
+        @Reference
+        private Node other;
+
+        @Creator({"id", "name"})
+        Node(final ObjectId id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    @Entity
+    private static class Mismatched {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        @Creator({"id", "name"})
+        Mismatched(final ObjectId id, final int name) {
+            this.id = id;
+        }
+    }
+}
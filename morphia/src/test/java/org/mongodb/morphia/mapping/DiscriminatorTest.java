@@ -0,0 +1,102 @@
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Discriminator;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+public class DiscriminatorTest extends TestBase {
+    @Test
+    public void testStoresCode() {
+        getMorphia().map(Shape.class, Square.class, Circle.class);
+        final Square square = new Square();
+        square.side = 2;
+        ((Shape) square).label = new FancyLabel();
+        ((Shape) square).label.text = "two";
+        getDs().save(square);
+
+        final DBObject stored = getDs().getCollection(Shape.class).findOne();
+        Assert.assertEquals("sq", stored.get(Mapper.CLASS_NAME_FIELDNAME));
+        Assert.assertEquals("lbl", ((DBObject) stored.get("label")).get(Mapper.CLASS_NAME_FIELDNAME));
+
+        final Shape loaded = getDs().get(Shape.class, ((Shape) square).id);
+        Assert.assertTrue(loaded instanceof Square);
+        Assert.assertEquals(2, ((Square) loaded).side);
+        Assert.assertTrue(loaded.label instanceof FancyLabel);
+        Assert.assertEquals("two", loaded.label.text);
+    }
+
+    @Test
+    public void testReadsClassNames() {
+        getMorphia().map(Shape.class, Square.class, Circle.class);
+        final ObjectId id = new ObjectId();
+        getDs().getCollection(Shape.class).insert(new BasicDBObject("_id", id)
+                                                      .append(Mapper.CLASS_NAME_FIELDNAME, Square.class.getName())
+                                                      .append("side", 3));
+
+        final Shape loaded = getDs().get(Shape.class, id);
+        Assert.assertTrue(loaded instanceof Square);
+        Assert.assertEquals(3, ((Square) loaded).side);
+    }
+
+    @Test
+    public void testQueriesUseCode() {
+        getMorphia().map(Shape.class, Square.class, Circle.class);
+        getDs().save(asList(new Square(), new Circle(), new Square()));
+
+        Assert.assertEquals(2, getDs().find(Shape.class).filter(Mapper.CLASS_NAME_FIELDNAME, Square.class).count());
+        Assert.assertEquals(1, getDs().find(Shape.class).filter(Mapper.CLASS_NAME_FIELDNAME, Circle.class.getName()).count());
+        final List<Shape> shapes = getDs().find(Shape.class)
+                                          .filter(Mapper.CLASS_NAME_FIELDNAME + " in", asList(Square.class, Circle.class))
+                                          .asList();
+        Assert.assertEquals(3, shapes.size());
+    }
+
+    @Test(expected = MappingException.class)
+    public void testCodesAreUnique() {
+        getMorphia().map(Square.class, Clash.class);
+    }
+
+    @Entity("shapes")
+    private static class Shape {
+        @Id
+        private ObjectId id;
+        private Label label;
+    }
+
+    @Discriminator("sq")
+    private static class Square extends Shape {
+        private int side;
+    }
+
+    @Discriminator("ci")
+    private static class Circle extends Shape {
+        private int radius;
+    }
+
+    @Discriminator("sq")
+    @Entity
+    private static class Clash {
+        @Id
+        private ObjectId id;
+    }
+
+    @Embedded
+    private static class Label {
+        private String text;
+    }
+
+    @Discriminator("lbl")
+    private static class FancyLabel extends Label {
+    }
+}
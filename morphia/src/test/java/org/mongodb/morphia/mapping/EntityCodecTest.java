@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.DBObject;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.PostLoad;
+import org.mongodb.morphia.annotations.PostPersist;
+import org.mongodb.morphia.annotations.Reference;
+import org.mongodb.morphia.query.MorphiaCodecIterator;
+import org.mongodb.morphia.query.MorphiaIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+public class EntityCodecTest extends TestBase {
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        getMorphia().getMapper().getOptions().setUseCodecs(true);
+        getMorphia().map(Author.class, Book.class, Novel.class, Listened.class, WithListenedParts.class);
+    }
+
+    @Test
+    public void testFetchUsesCodec() {
+        getDs().save(new Author("Tolkien"));
+
+        final MorphiaIterator<Author, Author> iterator = getDs().find(Author.class).fetch();
+        try {
+            Assert.assertTrue(iterator instanceof MorphiaCodecIterator);
+            Assert.assertEquals("Tolkien", iterator.next().name);
+        } finally {
+            iterator.close();
+        }
+    }
+
+    @Test
+    public void testInsertAndLoad() {
+        final Author author = new Author("Tolkien");
+        getDs().save(author);
+        final List<Book> books = asList(new Book("The Hobbit", author, 310), new Book("Silmarillion", author, 365));
+        final List<Key<Book>> keys = new ArrayList<Key<Book>>();
+        for (final Key<Book> key : getAds().insert(books)) {
+            keys.add(key);
+        }
+
+        Assert.assertEquals(2, keys.size());
+        Assert.assertNotNull(books.get(0).id);
+        Assert.assertEquals(books.get(0).id, keys.get(0).getId());
+
+        final DBObject stored = getDs().getCollection(Book.class).findOne(books.get(0).id);
+        Assert.assertEquals(Book.class.getName(), stored.get(Mapper.CLASS_NAME_FIELDNAME));
+        Assert.assertEquals(310, stored.get("pages"));
+
+        final Book loaded = getDs().get(Book.class, books.get(0).id);
+        Assert.assertEquals("The Hobbit", loaded.title);
+        Assert.assertEquals(310, loaded.pages);
+        Assert.assertEquals(asList("fantasy", "classic"), loaded.tags);
+        Assert.assertEquals("en", loaded.edition.language);
+        Assert.assertEquals(author.id, loaded.author.id);
+        Assert.assertEquals("Tolkien", loaded.author.name);
+    }
+
+    @Test
+    public void testPolymorphicLoad() {
+        getDs().save(new Book("The Hobbit", null, 310));
+        final Novel novel = new Novel("Dune", 412);
+        novel.series = "Dune Chronicles";
+        getDs().save(novel);
+
+        final List<Book> books = getDs().find(Book.class).order("title").asList();
+        Assert.assertEquals(2, books.size());
+        Assert.assertTrue(books.get(0) instanceof Novel);
+        Assert.assertEquals("Dune Chronicles", ((Novel) books.get(0)).series);
+        Assert.assertEquals(Book.class, books.get(1).getClass());
+    }
+
+    @Test
+    public void testSaveExistingReplacesDocument() {
+        final Book book = new Book("The Hobbit", null, 310);
+        getDs().save(book);
+        final ObjectId id = book.id;
+
+        book.pages = 320;
+        book.edition = null;
+        getDs().save(book);
+
+        Assert.assertEquals(id, book.id);
+        Assert.assertEquals(1, getDs().getCount(Book.class));
+        final DBObject stored = getDs().getCollection(Book.class).findOne(id);
+        Assert.assertEquals(320, stored.get("pages"));
+        Assert.assertFalse(stored.containsField("edition"));
+    }
+
+    @Test
+    public void testLifecycleEntitiesStillMapped() {
+        getDs().save(new Listened("first"));
+
+        final Listened loaded = getDs().find(Listened.class).get();
+        Assert.assertEquals("first", loaded.name);
+        Assert.assertTrue(loaded.loaded);
+    }
+
+    @Test
+    public void testEmbeddedLifecycleMethodsCalled() {
+        final EntityCodecProvider provider = new EntityCodecProvider(getDs(), getMorphia().getMapper(), null);
+        Assert.assertTrue(provider.isSupported(Book.class));
+        Assert.assertFalse(provider.isSupported(WithListenedParts.class));
+
+        final WithListenedParts entity = new WithListenedParts();
+        entity.parts.add(new ListenedPart());
+        getDs().save(entity);
+
+        Assert.assertTrue(entity.parts.get(0).persisted);
+    }
+
+    @Entity("authors")
+    private static class Author {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        Author() {
+        }
+
+        Author(final String name) {
+            this.name = name;
+        }
+    }
+
+    @Entity("books")
+    private static class Book {
+        @Id
+        private ObjectId id;
+        private String title;
+        private int pages;
+        private List<String> tags = new ArrayList<String>(asList("fantasy", "classic"));
+        private Edition edition = new Edition("en");
+        @Reference
+        private Author author;
+
+        Book() {
+        }
+
+        Book(final String title, final Author author, final int pages) {
+            this.title = title;
+            this.author = author;
+            this.pages = pages;
+        }
+    }
+
+    private static class Novel extends Book {
+        private String series;
+
+        Novel() {
+        }
+
+        Novel(final String title, final int pages) {
+            super(title, null, pages);
+        }
+    }
+
+    @Embedded
+    private static class Edition {
+        private String language;
+
+        Edition() {
+        }
+
+        Edition(final String language) {
+            this.language = language;
+        }
+    }
+
+    @Entity("listened")
+    private static class Listened {
+        @Id
+        private ObjectId id;
+        private String name;
+        private transient boolean loaded;
+
+        Listened() {
+        }
+
+        Listened(final String name) {
+            this.name = name;
+        }
+
+        @PostLoad
+        void postLoad() {
+            loaded = true;
+        }
+    }
+
+    @Entity("parts")
+    private static class WithListenedParts {
+        @Id
+        private ObjectId id;
+        private List<ListenedPart> parts = new ArrayList<ListenedPart>();
+    }
+
+    @Embedded
+    private static class ListenedPart {
+        private String name = "part";
+        private transient boolean persisted;
+
+        @PostPersist
+        void postPersist() {
+            persisted = true;
+        }
+    }
+}
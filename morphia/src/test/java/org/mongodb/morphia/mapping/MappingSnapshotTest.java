@@ -0,0 +1,100 @@
+package org.mongodb.morphia.mapping;
+
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Property;
+import org.mongodb.morphia.mapping.validation.ConstraintViolationException;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+public class MappingSnapshotTest {
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final MapperOptions options = new MapperOptions();
+        options.setMappingSnapshot(new MappingSnapshot());
+        final Mapper mapper = new Mapper(options);
+        final MappedClass valid = mapper.addMappedClass(Valid.class);
+        Assert.assertTrue(options.getMappingSnapshot().isValidated(valid, mapper));
+
+        final File file = File.createTempFile("morphia", ".snapshot");
+        try {
+            options.getMappingSnapshot().save(file);
+            final MappingSnapshot loaded = MappingSnapshot.load(file);
+            Assert.assertEquals(1, loaded.size());
+            Assert.assertTrue(loaded.isValidated(valid, mapper));
+            Assert.assertFalse(loaded.isValidated(new MappedClass(Invalid.class, mapper), mapper));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testIgnoresUnreadableFiles() throws IOException {
+        final File file = File.createTempFile("morphia", ".snapshot");
+        try {
+            final FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(new byte[]{1, 2, 3});
+            } finally {
+                out.close();
+            }
+            Assert.assertEquals(0, MappingSnapshot.load(file).size());
+        } finally {
+            file.delete();
+        }
+        Assert.assertEquals(0, MappingSnapshot.load(file).size());
+    }
+
+    @Test(expected = ConstraintViolationException.class)
+    public void testValidatesNewClasses() {
+        final MapperOptions options = new MapperOptions();
+        options.setMappingSnapshot(new MappingSnapshot());
+        new Mapper(options).addMappedClass(Invalid.class);
+    }
+
+    @Test
+    public void testSkipsValidatedClasses() {
+        final MappingSnapshot snapshot = new MappingSnapshot();
+        final MapperOptions options = new MapperOptions();
+        options.setMappingSnapshot(snapshot);
+        final Mapper mapper = new Mapper(options);
+        snapshot.validated(new MappedClass(Invalid.class, mapper), mapper);
+        Assert.assertNotNull(mapper.addMappedClass(Invalid.class));
+    }
+
+    @Test
+    public void testValidatesAgainWithOtherOptions() {
+        final MapperOptions options = new MapperOptions();
+        options.setMappingSnapshot(new MappingSnapshot());
+        final Mapper mapper = new Mapper(options);
+        final MappedClass valid = mapper.addMappedClass(Valid.class);
+
+        final MapperOptions ignoringFinals = new MapperOptions();
+        ignoringFinals.setIgnoreFinals(true);
+        final Mapper other = new Mapper(ignoringFinals);
+        Assert.assertFalse(options.getMappingSnapshot().isValidated(new MappedClass(Valid.class, other), other));
+        Assert.assertTrue(options.getMappingSnapshot().isValidated(valid, mapper));
+    }
+
+    @Entity
+    private static class Valid {
+        @Id
+        private ObjectId id;
+        private String name;
+    }
+
+    @Entity
+    private static class Invalid {
+        @Id
+        private ObjectId id;
+        @Property("same")
+        private String first;
+        @Property("same")
+        private String second;
+    }
+}
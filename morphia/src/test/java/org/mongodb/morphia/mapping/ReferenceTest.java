@@ -13,7 +13,9 @@ import org.mongodb.morphia.annotations.Embedded;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.annotations.Id;
 import org.mongodb.morphia.annotations.Reference;
+import org.mongodb.morphia.mapping.cache.EntityCache;
 import org.mongodb.morphia.mapping.lazy.ProxyTestBase;
+import org.mongodb.morphia.query.FindOptions;
 import org.mongodb.morphia.query.MorphiaKeyIterator;
 import org.mongodb.morphia.query.Query;
 
@@ -124,6 +126,30 @@ public class ReferenceTest extends ProxyTestBase {
         assertEquals(expectedRefMap, unwrapMap(retrieved.getLazyMapRef()));
     }
 
+    @Test
+    public void testPrefetchReferences() {
+        final List<Ref> refs = asList(new Ref("foo"), new Ref("bar"), new Ref("baz"));
+        getDs().save(refs);
+        getDs().save(asList(new Container(refs), new Container(asList(refs.get(2), refs.get(1))), new Container(asList(refs.get(1)))));
+
+        final List<Container> expected = getDs().find(Container.class).order("_id").asList();
+        final List<Container> prefetched = getDs().find(Container.class).order("_id")
+                                                  .asList(new FindOptions().prefetchReferences(true));
+        assertEquals(3, prefetched.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getSingleRef(), prefetched.get(i).getSingleRef());
+            assertEquals(expected.get(i).getCollectionRef(), prefetched.get(i).getCollectionRef());
+            assertEquals(expected.get(i).getMapRef(), prefetched.get(i).getMapRef());
+        }
+
+        final EntityCache cache = getMorphia().getMapper().createEntityCache();
+        final List<DBObject> documents = getDs().getCollection(Container.class).find().toArray();
+        getMorphia().getMapper().prefetchReferences(getDs(), Container.class, documents, cache);
+        for (final Ref ref : refs) {
+            assertEquals(ref, cache.getEntity(new Key<Ref>(Ref.class, "Ref", ref.id)));
+        }
+    }
+
     @Test
     public void testNullReferences() {
         Container container = new Container();
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.access;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.mapping.MappedClass;
+import org.mongodb.morphia.mapping.MappedField;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+public class ReflectiveAccessorFactoryTest extends TestBase {
+    private final AccessorFactory factory = new ReflectiveAccessorFactory();
+
+    @Test
+    public void testPrimitives() throws Exception {
+        final Values values = new Values();
+        set("i", values, 42);
+        set("l", values, 42L);
+        set("d", values, 4.2D);
+        set("f", values, 4.2F);
+        set("b", values, true);
+        set("s", values, (short) 42);
+        set("by", values, (byte) 42);
+        set("c", values, 'x');
+
+        Assert.assertEquals(42, values.i);
+        Assert.assertEquals(42L, values.l);
+        Assert.assertEquals(4.2D, values.d, 0);
+        Assert.assertEquals(4.2F, values.f, 0);
+        Assert.assertTrue(values.b);
+        Assert.assertEquals(42, values.s);
+        Assert.assertEquals(42, values.by);
+        Assert.assertEquals('x', values.c);
+
+        Assert.assertEquals(42, get("i", values));
+        Assert.assertEquals(42L, get("l", values));
+        Assert.assertEquals(4.2D, get("d", values));
+        Assert.assertEquals(4.2F, get("f", values));
+        Assert.assertEquals(true, get("b", values));
+        Assert.assertEquals((short) 42, get("s", values));
+        Assert.assertEquals((byte) 42, get("by", values));
+        Assert.assertEquals('x', get("c", values));
+    }
+
+    @Test
+    public void testObjectsAndFinalFields() throws Exception {
+        final Values values = new Values();
+        set("name", values, "morphia");
+        set("tags", values, new String[]{"a", "b"});
+        set("fixed", values, "changed");
+
+        Assert.assertEquals("morphia", get("name", values));
+        Assert.assertTrue(Arrays.equals(new String[]{"a", "b"}, (String[]) get("tags", values)));
+        Assert.assertEquals("changed", get("fixed", values));
+
+        set("name", values, null);
+        Assert.assertNull(values.name);
+    }
+
+    @Test
+    public void testInheritedField() throws Exception {
+        final SubValues values = new SubValues();
+        set("i", values, 7);
+        Assert.assertEquals(7, ((Values) values).i);
+        Assert.assertEquals(7, get("i", values));
+    }
+
+    @Test
+    public void testMismatchedValues() throws Exception {
+        final Values values = new Values();
+        set("l", values, 42);
+        Assert.assertEquals(42L, values.l);
+
+        assertRejected("i", values, "42");
+        assertRejected("i", values, null);
+        assertRejected("name", values, 42);
+        assertRejected("name", new Object(), "morphia");
+        Assert.assertNull(values.name);
+    }
+
+    @Test
+    public void testMapping() {
+        getMorphia().getMapper().getOptions().setAccessorFactory(new ReflectiveAccessorFactory());
+        getMorphia().map(Entity1.class);
+        final MappedClass mc = getMorphia().getMapper().getMappedClass(Entity1.class);
+        final MappedField count = mc.getMappedField("count");
+
+        final Entity1 entity = new Entity1();
+        count.setFieldValue(entity, 3);
+        Assert.assertEquals(3, count.getFieldValue(entity));
+
+        getDs().save(entity);
+        Assert.assertEquals(3, getDs().get(entity).count);
+    }
+
+    private void assertRejected(final String name, final Object instance, final Object value) throws Exception {
+        try {
+            set(name, instance, value);
+            Assert.fail("Should have rejected " + value);
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    private Object get(final String name, final Object instance) throws Exception {
+        return factory.createFieldAccessor(Values.class.getDeclaredField(name)).get(instance);
+    }
+
+    private void set(final String name, final Object instance, final Object value) throws Exception {
+        final Field field = Values.class.getDeclaredField(name);
+        factory.createFieldAccessor(field).set(instance, value);
+    }
+
+    private static class Values {
+        private final String fixed = "fixed";
+        private int i;
+        private long l;
+        private double d;
+        private float f;
+        private boolean b;
+        private short s;
+        private byte by;
+        private char c;
+        private String name;
+        private String[] tags;
+    }
+
+    private static class SubValues extends Values {
+    }
+
+    @Entity
+    private static class Entity1 {
+        @Id
+        private String id = "one";
+        private int count;
+    }
+}
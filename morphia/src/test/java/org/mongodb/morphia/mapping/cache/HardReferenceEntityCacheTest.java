@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Reference;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HardReferenceEntityCacheTest extends TestBase {
+    @Test
+    public void testPutAndGet() {
+        final HardReferenceEntityCache cache = new HardReferenceEntityCache();
+        final List<Key<Author>> keys = new ArrayList<Key<Author>>();
+        for (int i = 0; i < 100; i++) {
+            final Author author = new Author("author" + i);
+            author.id = new ObjectId();
+            final Key<Author> key = new Key<Author>(Author.class, "authors", author.id);
+            keys.add(key);
+            cache.putEntity(key, author);
+        }
+        cache.notifyExists(new Key<Author>(Author.class, "authors", "missing"), false);
+
+        for (int i = 0; i < keys.size(); i++) {
+            final Key<Author> key = keys.get(i);
+            final Author author = cache.getEntity(new Key<Author>(Author.class, "authors", key.getId()));
+            Assert.assertEquals("author" + i, author.name);
+            Assert.assertSame(author, cache.getEntity(new Key<Object>(Object.class, "authors", key.getId())));
+            Assert.assertNull(cache.getEntity(new Key<Author>(Author.class, "writers", key.getId())));
+            Assert.assertNull(cache.getEntity(new Key<Book>(Book.class, "authors", key.getId())));
+            Assert.assertTrue(cache.exists(key));
+        }
+        Assert.assertFalse(cache.exists(new Key<Author>(Author.class, "authors", "missing")));
+        Assert.assertNull(cache.exists(new Key<Author>(Author.class, "authors", "unknown")));
+        Assert.assertEquals(101, cache.stats().getEntities());
+
+        cache.flush();
+        Assert.assertNull(cache.getEntity(keys.get(0)));
+        Assert.assertNull(cache.exists(new Key<Author>(Author.class, "authors", "missing")));
+        Assert.assertEquals(0, cache.stats().getEntities());
+
+        final Author again = new Author("again");
+        cache.putEntity(keys.get(1), again);
+        Assert.assertSame(again, cache.getEntity(keys.get(1)));
+        Assert.assertNull(cache.getEntity(keys.get(2)));
+    }
+
+    @Test
+    public void testReferencesShareInstances() {
+        getMorphia().getMapper().getOptions().setCacheFactory(new HardReferenceEntityCacheFactory());
+        final Author author = new Author("Tolkien");
+        getDs().save(author);
+        getDs().save(new Book("The Hobbit", author));
+        getDs().save(new Book("Silmarillion", author));
+
+        final List<Book> books = getDs().find(Book.class).asList();
+        Assert.assertEquals(2, books.size());
+        Assert.assertEquals("Tolkien", books.get(0).author.name);
+        Assert.assertSame(books.get(0).author, books.get(1).author);
+        Assert.assertNotSame(books.get(0).author, getDs().find(Book.class).asList().get(0).author);
+    }
+
+    @Entity("authors")
+    private static class Author {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        Author() {
+        }
+
+        Author(final String name) {
+            this.name = name;
+        }
+    }
+
+    @Entity("books")
+    private static class Book {
+        @Id
+        private ObjectId id;
+        private String title;
+        @Reference
+        private Author author;
+
+        Book() {
+        }
+
+        Book(final String title, final Author author) {
+            this.title = title;
+            this.author = author;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Cached;
+import org.mongodb.morphia.annotations.Creator;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Reference;
+import org.mongodb.morphia.annotations.Version;
+import org.mongodb.morphia.query.FindOptions;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class SecondLevelCacheTest extends TestBase {
+    private SecondLevelCache secondLevelCache;
+
+    @Before
+    @Override
+    public void setUp() {
+        super.setUp();
+        useCache(new SecondLevelCache(100, 0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testGetHitsCache() {
+        final Country country = new Country("NZ", "New Zealand");
+        getDs().save(country);
+
+        final Country first = getDs().get(Country.class, "NZ");
+        Assert.assertEquals("New Zealand", first.name);
+        Assert.assertSame(first, getDs().get(Country.class, "NZ"));
+        Assert.assertSame(first, getDs().find(Country.class).filter("_id", "NZ").get());
+
+        final EntityCacheStatistics stats = secondLevelCache.stats();
+        Assert.assertEquals(1, stats.getEntities());
+        Assert.assertTrue(stats.getHits() >= 2);
+    }
+
+    @Test
+    public void testUncachedEntitiesAreNotShared() {
+        final Plain plain = new Plain();
+        getDs().save(plain);
+
+        Assert.assertNotSame(getDs().get(Plain.class, plain.id), getDs().get(Plain.class, plain.id));
+        Assert.assertEquals(0, secondLevelCache.stats().getEntities());
+    }
+
+    @Test
+    public void testProjectedEntitiesAreNotShared() {
+        getDs().save(new Country("NZ", "New Zealand"));
+
+        final Country projected = getDs().find(Country.class).filter("_id", "NZ").project("name", false).get();
+        Assert.assertNull(projected.name);
+        Assert.assertEquals(0, secondLevelCache.stats().getEntities());
+        Assert.assertEquals("New Zealand", getDs().get(Country.class, "NZ").name);
+    }
+
+    @Test
+    public void testLazilyDecodedEntitiesAreNotShared() {
+        getDs().save(new Country("NZ", "New Zealand"));
+
+        final List<Country> lazy = getDs().find(Country.class).asList(new FindOptions().lazyDecoding(true));
+        Assert.assertEquals(1, lazy.size());
+        Assert.assertEquals(0, secondLevelCache.stats().getEntities());
+    }
+
+    @Test
+    public void testCreatedEntitiesAreShared() {
+        getDs().save(new Currency("NZD", "New Zealand dollar"));
+
+        final Currency first = getDs().get(Currency.class, "NZD");
+        Assert.assertEquals("New Zealand dollar", first.name);
+        Assert.assertSame(first, getDs().get(Currency.class, "NZD"));
+        Assert.assertEquals(1, secondLevelCache.stats().getEntities());
+    }
+
+    @Test
+    public void testReferencesHitCache() {
+        final Country country = new Country("NZ", "New Zealand");
+        getDs().save(country);
+        getDs().save(new City("Wellington", country));
+        getDs().save(new City("Auckland", country));
+
+        final City wellington = getDs().find(City.class).filter("name", "Wellington").get();
+        final City auckland = getDs().find(City.class).filter("name", "Auckland").get();
+        Assert.assertSame(wellington.country, auckland.country);
+        Assert.assertSame(wellington.country, getDs().get(Country.class, "NZ"));
+    }
+
+    @Test
+    public void testWritesEvict() {
+        final Country country = new Country("NZ", "New Zealand");
+        getDs().save(country);
+        getDs().save(new Country("AU", "Australia"));
+        Assert.assertNotNull(getDs().get(Country.class, "NZ"));
+
+        country.name = "Aotearoa";
+        getDs().save(country);
+        Assert.assertEquals("Aotearoa", getDs().get(Country.class, "NZ").name);
+
+        getDs().update(getDs().find(Country.class).filter("_id", "NZ"), getDs().createUpdateOperations(Country.class).set("name", "NZ"));
+        Assert.assertEquals("NZ", getDs().get(Country.class, "NZ").name);
+
+        getDs().findAndModify(getDs().find(Country.class).filter("_id", "NZ"),
+                              getDs().createUpdateOperations(Country.class).set("name", "New Zealand"));
+        Assert.assertEquals("New Zealand", getDs().get(Country.class, "NZ").name);
+
+        Assert.assertNotNull(getDs().get(Country.class, "AU"));
+        getDs().update(getDs().find(Country.class).filter("name", "Australia"),
+                       getDs().createUpdateOperations(Country.class).set("name", "Oz"));
+        Assert.assertEquals("Oz", getDs().get(Country.class, "AU").name);
+
+        getDs().delete(Country.class, "NZ");
+        Assert.assertNull(getDs().get(Country.class, "NZ"));
+    }
+
+    @Test
+    public void testVersionedWritesEvictOnlyTheirEntity() {
+        final Region north = new Region("north");
+        getDs().save(north);
+        getDs().save(new Region("south"));
+        final Region south = getDs().get(Region.class, "south");
+        Assert.assertNotNull(getDs().get(Region.class, "north"));
+
+        getDs().save(north);
+        Assert.assertSame(south, getDs().get(Region.class, "south"));
+        Assert.assertEquals(north.version, getDs().get(Region.class, "north").version);
+    }
+
+    @Test
+    public void testLoadsOlderThanEvictionAreNotShared() {
+        getDs().save(new Country("NZ", "New Zealand"));
+        final SecondLevelEntityCache cache = new SecondLevelEntityCache(secondLevelCache);
+        final Key<Country> key = new Key<Country>(Country.class, "countries", "NZ");
+        // a write happening while the document is being read
+        secondLevelCache.evict("countries", "NZ");
+        cache.putLoadedEntity(key, new Country("NZ", "New Zealand"));
+
+        Assert.assertNull(secondLevelCache.get(key));
+        Assert.assertNotNull(cache.getEntity(key));
+
+        new SecondLevelEntityCache(secondLevelCache).putLoadedEntity(key, new Country("NZ", "New Zealand"));
+        Assert.assertNotNull(secondLevelCache.get(key));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        useCache(new SecondLevelCache(2, 0, TimeUnit.SECONDS));
+        getDs().save(new Country("NZ", "New Zealand"));
+        getDs().save(new Country("AU", "Australia"));
+        getDs().save(new Country("FJ", "Fiji"));
+
+        final Country nz = getDs().get(Country.class, "NZ");
+        getDs().get(Country.class, "AU");
+        Assert.assertSame(nz, getDs().get(Country.class, "NZ"));
+        getDs().get(Country.class, "FJ");
+
+        Assert.assertEquals(2, secondLevelCache.stats().getEntities());
+        Assert.assertEquals(1, secondLevelCache.stats().getEvictions());
+        Assert.assertSame(nz, getDs().get(Country.class, "NZ"));
+    }
+
+    @Test
+    public void testExpiredEvicted() throws InterruptedException {
+        useCache(new SecondLevelCache(100, 1, TimeUnit.MILLISECONDS));
+        getDs().save(new Country("NZ", "New Zealand"));
+
+        final Country nz = getDs().get(Country.class, "NZ");
+        Thread.sleep(10);
+        Assert.assertNotSame(nz, getDs().get(Country.class, "NZ"));
+        Assert.assertEquals(1, secondLevelCache.stats().getEvictions());
+    }
+
+    private void useCache(final SecondLevelCache cache) {
+        secondLevelCache = cache;
+        getMorphia().getMapper().getOptions().setCacheFactory(new SecondLevelEntityCacheFactory(cache));
+    }
+
+    @Cached
+    @Entity("countries")
+    private static class Country {
+        @Id
+        private String code;
+        private String name;
+
+        Country() {
+        }
+
+        Country(final String code, final String name) {
+            this.code = code;
+            this.name = name;
+        }
+    }
+
+    @Cached
+    @Entity("regions")
+    private static class Region {
+        @Id
+        private String name;
+        @Version
+        private Long version;
+
+        Region() {
+        }
+
+        Region(final String name) {
+            this.name = name;
+        }
+    }
+
+    @Cached
+    @Entity("currencies")
+    private static class Currency {
+        @Id
+        private final String code;
+        private final String name;
+
+        @Creator({"code", "name"})
+        Currency(final String code, final String name) {
+            this.code = code;
+            this.name = name;
+        }
+    }
+
+    @Entity("cities")
+    private static class City {
+        @Id
+        private ObjectId id;
+        private String name;
+        @Reference
+        private Country country;
+
+        City() {
+        }
+
+        City(final String name, final Country country) {
+            this.name = name;
+            this.country = country;
+        }
+    }
+
+    @Entity("plain")
+    private static class Plain {
+        @Id
+        private ObjectId id;
+    }
+}
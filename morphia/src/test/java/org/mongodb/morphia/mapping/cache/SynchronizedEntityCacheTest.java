@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.Key;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SynchronizedEntityCacheTest {
+    @Test
+    public void testLoadsConcurrentMissesOnce() throws Exception {
+        final SynchronizedEntityCache cache = new SynchronizedEntityCache(new DefaultEntityCache());
+        final Key<StringBuilder> key = new Key<StringBuilder>(StringBuilder.class, "builders", 1);
+        final AtomicInteger loads = new AtomicInteger();
+        final Callable<StringBuilder> loader = new Callable<StringBuilder>() {
+            @Override
+            public StringBuilder call() throws Exception {
+                loads.incrementAndGet();
+                Thread.sleep(200);
+                final StringBuilder entity = new StringBuilder("loaded");
+                cache.putEntity(key, entity);
+                return entity;
+            }
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<StringBuilder>> futures = new ArrayList<Future<StringBuilder>>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(new Callable<StringBuilder>() {
+                    @Override
+                    public StringBuilder call() throws Exception {
+                        return cache.loadEntity(key, loader);
+                    }
+                }));
+            }
+            final StringBuilder first = futures.get(0).get();
+            for (final Future<StringBuilder> future : futures) {
+                Assert.assertSame(first, future.get());
+            }
+            Assert.assertEquals(1, loads.get());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testLoadsAgainAfterFailure() throws Exception {
+        final SynchronizedEntityCache cache = new SynchronizedEntityCache(new DefaultEntityCache());
+        final Key<String> key = new Key<String>(String.class, "strings", 1);
+        try {
+            cache.loadEntity(key, new Callable<String>() {
+                @Override
+                public String call() {
+                    throw new IllegalStateException("failed");
+                }
+            });
+            Assert.fail("the failure should be rethrown");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        Assert.assertEquals("loaded", cache.loadEntity(key, new Callable<String>() {
+            @Override
+            public String call() {
+                return "loaded";
+            }
+        }));
+    }
+}
@@ -3,8 +3,11 @@ package org.mongodb.morphia.mapping.lazy;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -12,6 +15,8 @@ import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.mapping.lazy.proxy.LazyReferenceFetchingException;
 import org.mongodb.morphia.testutil.TestEntity;
 
+import static java.util.Arrays.asList;
+
 
 public class TestLazyCollectionReference extends ProxyTestBase {
     @Test(expected = LazyReferenceFetchingException.class)
@@ -62,9 +67,51 @@ public class TestLazyCollectionReference extends ProxyTestBase {
 
     }
 
+    @Test
+    public final void testFetchKeepsKeyOrder() {
+        if (!LazyFeatureDependencies.testDependencyFullFilled()) {
+            return;
+        }
+
+        final List<ReferencedEntity> references = new ArrayList<ReferencedEntity>();
+        for (int i = 0; i < 5; i++) {
+            final ReferencedEntity referenced = new ReferencedEntity();
+            referenced.setFoo("bar" + i);
+            references.add(referenced);
+        }
+        getDs().save(references);
+
+        RootEntity root = new RootEntity();
+        root.ordered = new ArrayList<ReferencedEntity>(references);
+        Collections.reverse(root.ordered);
+        root.byName = new LinkedHashMap<String, ReferencedEntity>();
+        for (final ReferencedEntity referenced : root.ordered) {
+            root.byName.put(referenced.getFoo(), referenced);
+        }
+        getDs().save(root);
+        getDs().delete(references.get(2));
+
+        root = getDs().get(root);
+        assertNotFetched(root.ordered);
+        assertNotFetched(root.byName);
+
+        final List<String> foos = new ArrayList<String>();
+        for (final ReferencedEntity referenced : root.ordered) {
+            foos.add(referenced.getFoo());
+        }
+        Assert.assertEquals(asList("bar4", "bar3", "bar1", "bar0"), foos);
+        Assert.assertEquals(5, root.byName.size());
+        Assert.assertEquals("bar3", root.byName.get("bar3").getFoo());
+        Assert.assertNull(root.byName.get("bar2"));
+    }
+
     public static class RootEntity extends TestEntity {
         @Reference(lazy = true)
         private Collection<ReferencedEntity> references;
+        @Reference(lazy = true, ignoreMissing = true)
+        private List<ReferencedEntity> ordered;
+        @Reference(lazy = true)
+        private Map<String, ReferencedEntity> byName;
     }
 
     public static class ReferencedEntity extends TestEntity {
@@ -1,6 +1,7 @@
 package org.mongodb.morphia.mapping.primitives;
 
 
+import com.mongodb.BasicDBObject;
 import org.bson.types.ObjectId;
 import org.junit.Assert;
 import org.junit.Test;
@@ -43,6 +44,38 @@ public class DoubleMappingTest extends TestBase {
         Assert.assertArrayEquals(ent.nestedWrapperArray, loaded.nestedWrapperArray);
     }
 
+    @Test
+    public void testLargeArrays() {
+        getMorphia().map(Doubles.class);
+        final Doubles ent = new Doubles();
+        ent.primitiveArray = new double[10000];
+        ent.wrapperArray = new Double[10000];
+        for (int i = 0; i < ent.primitiveArray.length; i++) {
+            ent.primitiveArray[i] = i / 3.0;
+            ent.wrapperArray[i] = i * 1.5;
+            ent.listWrapper.add(-i / 7.0);
+        }
+        getDs().save(ent);
+
+        final Doubles loaded = getDs().get(ent);
+        Assert.assertArrayEquals(ent.primitiveArray, loaded.primitiveArray, 0.0);
+        Assert.assertArrayEquals(ent.wrapperArray, loaded.wrapperArray);
+        Assert.assertEquals(ent.listWrapper, loaded.listWrapper);
+    }
+
+    @Test
+    public void testOtherNumberTypes() {
+        getMorphia().map(Doubles.class);
+        final ObjectId id = new ObjectId();
+        getDs().getCollection(Doubles.class).insert(new BasicDBObject("_id", id)
+                                                       .append("primitiveArray", Arrays.asList(1, 2L, 3.5))
+                                                       .append("listWrapper", Arrays.asList(4, 5.5, null)));
+
+        final Doubles loaded = getDs().get(Doubles.class, id);
+        Assert.assertArrayEquals(new double[]{1.0, 2.0, 3.5}, loaded.primitiveArray, 0.0);
+        Assert.assertEquals(Arrays.asList(4.0, 5.5, null), loaded.listWrapper);
+    }
+
     private static class Doubles {
         private final List<Double[]> listWrapperArray = new ArrayList<Double[]>();
         private final List<double[]> listPrimitiveArray = new ArrayList<double[]>();
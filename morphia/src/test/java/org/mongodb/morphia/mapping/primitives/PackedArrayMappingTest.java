@@ -0,0 +1,120 @@
+package org.mongodb.morphia.mapping.primitives;
+
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Packed;
+import org.mongodb.morphia.mapping.validation.ConstraintViolationException;
+import org.mongodb.morphia.query.ValidationException;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PackedArrayMappingTest extends TestBase {
+    @Test
+    public void testMapping() {
+        getMorphia().map(PackedArrays.class);
+        final PackedArrays ent = new PackedArrays();
+        ent.doubles = new double[10000];
+        for (int i = 0; i < ent.doubles.length; i++) {
+            ent.doubles[i] = i / 3.0;
+        }
+        ent.floats = new float[]{1.5f, -2.25f};
+        ent.longs = new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE};
+        ent.ints = new int[]{1, -1, 65536};
+        ent.shorts = new short[]{7, -7};
+        ent.chars = new char[]{'a', '\u00e9'};
+        ent.booleans = new boolean[]{true, false, true};
+        ent.empty = new double[0];
+        getDs().save(ent);
+
+        final PackedArrays loaded = getDs().get(ent);
+        Assert.assertArrayEquals(ent.doubles, loaded.doubles, 0.0);
+        Assert.assertArrayEquals(ent.floats, loaded.floats, 0.0f);
+        Assert.assertArrayEquals(ent.longs, loaded.longs);
+        Assert.assertArrayEquals(ent.ints, loaded.ints);
+        Assert.assertArrayEquals(ent.shorts, loaded.shorts);
+        Assert.assertArrayEquals(ent.chars, loaded.chars);
+        Assert.assertTrue(Arrays.equals(ent.booleans, loaded.booleans));
+        Assert.assertArrayEquals(ent.empty, loaded.empty, 0.0);
+    }
+
+    @Test
+    public void testStoredLittleEndian() {
+        getMorphia().map(PackedArrays.class);
+        final PackedArrays ent = new PackedArrays();
+        ent.ints = new int[]{1, 0x01020304};
+        getDs().save(ent);
+
+        final DBObject stored = getDs().getCollection(PackedArrays.class).findOne(new BasicDBObject("_id", ent.id));
+        final Object ints = stored.get("ints");
+        final byte[] data = ints instanceof Binary ? ((Binary) ints).getData() : (byte[]) ints;
+        Assert.assertArrayEquals(new byte[]{1, 0, 0, 0, 4, 3, 2, 1}, data);
+    }
+
+    @Test
+    public void testReadsArraysStoredUnpacked() {
+        getMorphia().map(PackedArrays.class);
+        final ObjectId id = new ObjectId();
+        getDs().getCollection(PackedArrays.class).insert(new BasicDBObject("_id", id)
+                                                            .append("doubles", Arrays.asList(1.5, 2, 3L)));
+
+        Assert.assertArrayEquals(new double[]{1.5, 2, 3}, getDs().get(PackedArrays.class, id).doubles, 0.0);
+    }
+
+    @Test(expected = ValidationException.class)
+    public void testFilterRejected() {
+        getDs().find(PackedArrays.class).field("doubles").equal(new double[]{1.0});
+    }
+
+    @Test
+    public void testProjection() {
+        final PackedArrays ent = new PackedArrays();
+        ent.doubles = new double[]{4.0, 2.0};
+        ent.ints = new int[]{42};
+        getDs().save(ent);
+
+        final PackedArrays loaded = getDs().find(PackedArrays.class).project("doubles", true).get();
+        Assert.assertArrayEquals(ent.doubles, loaded.doubles, 0.0);
+        Assert.assertNull(loaded.ints);
+    }
+
+    @Test(expected = ConstraintViolationException.class)
+    public void testOnlyPrimitiveArrays() {
+        getMorphia().map(PackedList.class);
+    }
+
+    private static class PackedArrays {
+        @Id
+        private ObjectId id;
+        @Packed
+        private double[] doubles;
+        @Packed
+        private float[] floats;
+        @Packed
+        private long[] longs;
+        @Packed
+        private int[] ints;
+        @Packed
+        private short[] shorts;
+        @Packed
+        private char[] chars;
+        @Packed
+        private boolean[] booleans;
+        @Packed
+        private double[] empty;
+    }
+
+    private static class PackedList {
+        @Id
+        private ObjectId id;
+        @Packed
+        private List<Double> values;
+    }
+}
@@ -0,0 +1,77 @@
+package org.mongodb.morphia.query;
+
+import com.mongodb.BasicDBObject;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Property;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+public class QueryTemplateTest extends TestBase {
+    @Test
+    public void testBind() {
+        getDs().save(asList(new Person("Ann", 19), new Person("Bob", 25), new Person("Cid", 31), new Person("Dee", 27)));
+
+        final QueryTemplate<Person> template = new QueryTemplate<Person>(getDs(), Person.class)
+            .filter("age >=")
+            .filter("age <")
+            .filter("name !=", "Dee");
+        Assert.assertEquals(2, template.getParameterCount());
+
+        final List<Person> twenties = template.bind(20, 30).asList();
+        Assert.assertEquals(1, twenties.size());
+        Assert.assertEquals("Bob", twenties.get(0).name);
+
+        Assert.assertEquals(2, template.bind(0, 30).order("age").asList().size());
+        Assert.assertEquals(new BasicDBObject("age", new BasicDBObject("$gte", 20).append("$lt", 30))
+                                .append("n", new BasicDBObject("$ne", "Dee")),
+                            template.bind(20, 30).getQueryObject());
+    }
+
+    @Test
+    public void testTranslatesFieldNames() {
+        final QueryTemplate<Person> template = new QueryTemplate<Person>(getDs(), Person.class).filter("name in");
+        Assert.assertEquals(getDs().createQuery(Person.class).filter("name in", asList("Ann")).getQueryObject(),
+                            template.bind("Ann").getQueryObject());
+        Assert.assertTrue(template.bind("Ann").getQueryObject().containsField("n"));
+    }
+
+    @Test(expected = ValidationException.class)
+    public void testValidatesPaths() {
+        new QueryTemplate<Person>(getDs(), Person.class).filter("missing");
+    }
+
+    @Test
+    public void testDisableValidation() {
+        final QueryTemplate<Person> template = new QueryTemplate<Person>(getDs(), Person.class).disableValidation().filter("missing");
+        Assert.assertEquals("x", template.bind("x").getQueryObject().get("missing"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParameterCount() {
+        new QueryTemplate<Person>(getDs(), Person.class).filter("age >").bind(1, 2);
+    }
+
+    @Entity
+    private static class Person {
+        @Id
+        private ObjectId id;
+        @Property("n")
+        private String name;
+        private int age;
+
+        Person() {
+        }
+
+        Person(final String name, final int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+}
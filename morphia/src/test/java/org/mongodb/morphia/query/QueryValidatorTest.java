@@ -6,9 +6,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mongodb.morphia.Key;
+import org.mongodb.morphia.annotations.Property;
 import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.annotations.Serialized;
 import org.mongodb.morphia.entities.EntityWithListsAndArrays;
+import org.mongodb.morphia.entities.ParentType;
 import org.mongodb.morphia.entities.SimpleEntity;
 import org.mongodb.morphia.mapping.MappedClass;
 import org.mongodb.morphia.mapping.MappedField;
@@ -467,6 +469,32 @@ public class QueryValidatorTest {
                                                           new ArrayList<ValidationFailure>()), is(false));
     }
 
+    @Test
+    public void shouldRememberValidatedPaths() {
+        Mapper mapper = new Mapper();
+        MappedClass mappedClass = mapper.getMappedClass(ParentType.class);
+        MappedClass other = mapper.getMappedClass(SimpleEntity.class);
+        StringBuilder path = new StringBuilder("name");
+        MappedField field = validateQuery(ParentType.class, mapper, path, EQUAL, "value", true, true);
+        assertThat(path.toString(), is("n"));
+        assertThat(mappedClass.getValidatedPaths().containsKey("name"), is(true));
+
+        path = new StringBuilder("name");
+        assertThat(validateQuery(ParentType.class, mapper, path, EQUAL, "value", false, true), is(field));
+        assertThat(path.toString(), is("n"));
+
+        // the names a field answers to may change with its annotations, but only for its own class
+        int version = mappedClass.getFieldVersion();
+        int otherVersion = other.getFieldVersion();
+        field.addAnnotation(Property.class);
+        assertThat(mappedClass.getFieldVersion() == version, is(false));
+        assertThat(mappedClass.getValidatedPaths().containsKey("name"), is(false));
+        assertThat(other.getFieldVersion(), is(otherVersion));
+
+        validateQuery(WithReference.class, mapper, new StringBuilder("reference.name"), EQUAL, "", false, true);
+        assertThat(mapper.getMappedClass(WithReference.class).getValidatedPaths().containsKey("reference.name"), is(false));
+    }
+
     @Test
     public void shouldReferToMappedClassInExceptionWhenFieldNotFound() {
         thrown.expect(ValidationException.class);
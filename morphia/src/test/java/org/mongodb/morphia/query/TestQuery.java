@@ -30,6 +30,7 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.Test;
+import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
 import org.mongodb.morphia.TestBase;
 import org.mongodb.morphia.TestDatastore.FacebookUser;
@@ -44,7 +45,11 @@ import org.mongodb.morphia.annotations.Indexed;
 import org.mongodb.morphia.annotations.PrePersist;
 import org.mongodb.morphia.annotations.Property;
 import org.mongodb.morphia.annotations.Reference;
+import org.mongodb.morphia.mapping.CustomMapper;
+import org.mongodb.morphia.mapping.MappedField;
 import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.lazy.proxy.ProxyHelper;
 import org.mongodb.morphia.testmodel.Hotel;
 import org.mongodb.morphia.testmodel.Rectangle;
 
@@ -56,6 +61,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -71,7 +77,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -655,6 +663,98 @@ public class TestQuery extends TestBase {
         assertEquals(pwk3.id, keys.next().getId());
     }
 
+    @Test
+    public void testParallelMapping() throws InterruptedException {
+        final Pic pic = new Pic("fist");
+        getDs().save(pic);
+        for (int i = 0; i < 10; i++) {
+            final ContainsPic containsPic = new ContainsPic();
+            containsPic.setPic(pic);
+            containsPic.setSize(i);
+            getDs().save(containsPic);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<ContainsPic> list = getDs().find(ContainsPic.class).order("size")
+                                                  .asList(new FindOptions().mappingExecutor(executor).prefetchReferences(true));
+            assertEquals(10, list.size());
+            for (int i = 0; i < list.size(); i++) {
+                assertEquals(i, list.get(i).getSize());
+                assertSame(list.get(0).getPic(), list.get(i).getPic());
+            }
+            assertEquals("fist", list.get(9).getPic().getName());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testParallelMappingWithoutPrefetching() throws InterruptedException {
+        final Pic pic = new Pic("fist");
+        getDs().save(pic);
+        final List<ContainsPic> saved = new ArrayList<ContainsPic>();
+        for (int i = 0; i < 50; i++) {
+            final ContainsPic containsPic = new ContainsPic();
+            containsPic.setPic(pic);
+            containsPic.setSize(i);
+            saved.add(containsPic);
+        }
+        getDs().save(saved);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<ContainsPic> list = getDs().find(ContainsPic.class).order("size")
+                                                  .asList(new FindOptions().mappingExecutor(executor));
+            assertEquals(50, list.size());
+            for (int i = 0; i < list.size(); i++) {
+                assertEquals(i, list.get(i).getSize());
+                assertSame(list.get(0).getPic(), list.get(i).getPic());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testStream() {
+        final Pic pic = new Pic("fist");
+        getDs().save(pic);
+        for (int i = 0; i < 3; i++) {
+            final ContainsPic containsPic = new ContainsPic();
+            containsPic.setPic(pic);
+            containsPic.setSize(i);
+            getDs().save(containsPic);
+        }
+
+        final Query<ContainsPic> query = getDs().find(ContainsPic.class).order("size");
+        final List<ContainsPic> fetched = query.asList();
+        assertSame(fetched.get(0).getPic(), fetched.get(2).getPic());
+
+        final List<ContainsPic> streamed = new ArrayList<ContainsPic>();
+        final MorphiaIterator<ContainsPic, ContainsPic> stream = query.stream(new FindOptions());
+        try {
+            for (final ContainsPic containsPic : stream) {
+                streamed.add(containsPic);
+            }
+        } finally {
+            stream.close();
+        }
+        assertEquals(3, streamed.size());
+        assertEquals(2, streamed.get(2).getSize());
+        assertEquals("fist", streamed.get(2).getPic().getName());
+        assertNotSame(streamed.get(0).getPic(), streamed.get(2).getPic());
+
+        final MorphiaIterator<ContainsPic, ContainsPic> prefetching = query.stream(new FindOptions().prefetchReferences(true));
+        try {
+            assertSame(prefetching.next().getPic(), prefetching.next().getPic());
+        } finally {
+            prefetching.close();
+        }
+    }
+
     @Test
     @SuppressWarnings("deprecation")
     public void testFluentAndOrQuery() {
@@ -1109,6 +1209,87 @@ public class TestQuery extends TestBase {
                                                                    .get().scalars);
     }
 
+    @Test
+    public void testProjectionSkipsUnprojectedFields() {
+        final CountingMapper embeddedMapper = new CountingMapper(getMorphia().getMapper().getOptions().getEmbeddedMapper());
+        getMorphia().getMapper().getOptions().setEmbeddedMapper(embeddedMapper);
+        final PhotoWithKeywords photo = new PhotoWithKeywords("california", "nevada");
+        getDs().save(photo);
+
+        assertEquals(2, getDs().find(PhotoWithKeywords.class).get().keywords.size());
+        assertEquals(1, embeddedMapper.reads);
+
+        PhotoWithKeywords found = getDs().find(PhotoWithKeywords.class)
+                                         .project("_id", true)
+                                         .get();
+        assertEquals(photo.id, found.id);
+        assertTrue(found.keywords.isEmpty());
+
+        found = getDs().find(PhotoWithKeywords.class)
+                       .project("keywords", false)
+                       .get();
+        assertEquals(photo.id, found.id);
+        assertTrue(found.keywords.isEmpty());
+        assertEquals(1, embeddedMapper.reads);
+
+        found = getDs().find(PhotoWithKeywords.class)
+                       .project("keywords", new ArraySlice(1))
+                       .get();
+        assertFalse(found.keywords.isEmpty());
+        assertEquals(2, embeddedMapper.reads);
+    }
+
+    @Test
+    public void testLazyDecoding() {
+        final CountingMapper embeddedMapper = new CountingMapper(getMorphia().getMapper().getOptions().getEmbeddedMapper());
+        getMorphia().getMapper().getOptions().setEmbeddedMapper(embeddedMapper);
+        final LazyPhoto photo = new LazyPhoto();
+        photo.setTitle("Lake Tahoe");
+        photo.getKeywords().add(new Keyword("california"));
+        photo.getKeywords().add(new Keyword("nevada"));
+        getDs().save(photo);
+
+        final LazyPhoto found = getDs().find(LazyPhoto.class)
+                                       .get(new FindOptions().lazyDecoding(true));
+        assertTrue(ProxyHelper.isProxy(found));
+        assertEquals("Lake Tahoe", found.getTitle());
+        assertEquals(0, embeddedMapper.reads);
+        assertFalse(ProxyHelper.isFetched(found));
+
+        assertEquals(2, found.getKeywords().size());
+        assertEquals(1, embeddedMapper.reads);
+        assertEquals(photo.getId(), found.getId());
+        assertTrue(ProxyHelper.isFetched(found));
+        assertEquals(LazyPhoto.class, ProxyHelper.getReferentClass(found));
+
+        found.setTitle("Lake Mead");
+        getDs().save(found);
+        final LazyPhoto reloaded = getDs().find(LazyPhoto.class).get();
+        assertFalse(ProxyHelper.isProxy(reloaded));
+        assertEquals("Lake Mead", reloaded.getTitle());
+        assertEquals(2, reloaded.getKeywords().size());
+        assertEquals(1, getDs().getCount(LazyPhoto.class));
+    }
+
+    @Test
+    public void testMergeLazilyDecoded() {
+        final LazyPhoto photo = new LazyPhoto();
+        photo.setTitle("Lake Tahoe");
+        photo.getKeywords().add(new Keyword("california"));
+        getDs().save(photo);
+
+        final LazyPhoto found = getDs().find(LazyPhoto.class)
+                                       .get(new FindOptions().lazyDecoding(true));
+        assertTrue(ProxyHelper.isProxy(found));
+        found.setTitle("Lake Mead");
+        assertEquals(photo.getId(), getDs().merge(found).getId());
+
+        final LazyPhoto reloaded = getDs().find(LazyPhoto.class).get();
+        assertEquals("Lake Mead", reloaded.getTitle());
+        assertEquals(1, reloaded.getKeywords().size());
+        assertEquals(1, getDs().getCount(LazyPhoto.class));
+    }
+
     @Test
     public void testQBE() {
         final CustomId cId = new CustomId();
@@ -1500,6 +1681,53 @@ public class TestQuery extends TestBase {
         }
     }
 
+    private static class CountingMapper implements CustomMapper {
+        private final CustomMapper delegate;
+        private int reads;
+
+        CountingMapper(final CustomMapper delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void fromDBObject(final Datastore datastore, final DBObject dbObject, final MappedField mf, final Object entity,
+                                 final EntityCache cache, final Mapper mapper) {
+            reads++;
+            delegate.fromDBObject(datastore, dbObject, mf, entity, cache, mapper);
+        }
+
+        @Override
+        public void toDBObject(final Object entity, final MappedField mf, final DBObject dbObject,
+                               final Map<Object, DBObject> involvedObjects, final Mapper mapper) {
+            delegate.toDBObject(entity, mf, dbObject, involvedObjects, mapper);
+        }
+    }
+
+    @Entity
+    public static class LazyPhoto {
+        @Id
+        private ObjectId id;
+        private String title;
+        @Embedded
+        private List<Keyword> keywords = new ArrayList<Keyword>();
+
+        public ObjectId getId() {
+            return id;
+        }
+
+        public List<Keyword> getKeywords() {
+            return keywords;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(final String title) {
+            this.title = title;
+        }
+    }
+
     public static class PhotoWithKeywords {
         @Id
         private ObjectId id;
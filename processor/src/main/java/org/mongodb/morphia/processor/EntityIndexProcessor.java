@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia.processor;
+
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.utils.ReflectionUtils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.lang.String.format;
+
+/**
+ * Writes the {@link ReflectionUtils#ENTITY_INDEX} of the classes annotated with {@link Entity} or {@link Embedded}, directly or through
+ * a superclass, so they can be found without scanning the classpath.  The classes of an existing index which still exist are kept so
+ * incremental builds, which only compile the changed sources, don't lose the others.
+ *
+ * @see org.mongodb.morphia.Morphia#mapPackage(String, boolean)
+ * @since 1.4
+ */
+public class EntityIndexProcessor extends AbstractProcessor {
+    private final Set<String> classNames = new TreeSet<String>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        final Set<String> types = new LinkedHashSet<String>();
+        types.add(Entity.class.getName());
+        types.add(Embedded.class.getName());
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                // @Embedded also marks fields
+                if (element.getKind() == ElementKind.CLASS) {
+                    classNames.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !classNames.isEmpty()) {
+            readExisting();
+            write();
+        }
+        return false;
+    }
+
+    private void readExisting() {
+        try {
+            final FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                                                                              ReflectionUtils.ENTITY_INDEX);
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.length() != 0 && !line.startsWith("#")
+                        && processingEnv.getElementUtils().getTypeElement(line.replace('$', '.')) != null) {
+                        classNames.add(line);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            // there is no index yet
+        }
+    }
+
+    private void write() {
+        try {
+            final FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                                                                             ReflectionUtils.ENTITY_INDEX);
+            final PrintWriter out = new PrintWriter(new OutputStreamWriter(index.openOutputStream(), "UTF-8"));
+            try {
+                out.println(format("# generated by %s", getClass().getName()));
+                for (final String className : classNames) {
+                    out.println(className);
+                }
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, format("Could not write %s: %s", ReflectionUtils.ENTITY_INDEX,
+                                                                        e.getMessage()));
+        }
+    }
+}
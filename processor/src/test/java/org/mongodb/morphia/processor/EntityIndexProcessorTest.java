@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia.processor;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mongodb.morphia.utils.ReflectionUtils;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class EntityIndexProcessorTest {
+    private final TestCompiler compiler = new TestCompiler(EntityIndexProcessor.class);
+
+    @After
+    public void deleteOutput() {
+        compiler.close();
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        compiler.compile("example.Person",
+                         "package example;\n"
+                         + "import org.mongodb.morphia.annotations.*;\n"
+                         + "@Entity\n"
+                         + "public class Person {\n"
+                         + "    @Id String id;\n"
+                         + "    @Embedded Address address;\n"
+                         + "    @Embedded public static class Address { String city; }\n"
+                         + "}\n"
+                         + "class Employee extends Person { }\n"
+                         + "class Helper { }\n");
+        final ClassLoader loader = compiler.compile("example.sub.Pet",
+                                                    "package example.sub;\n"
+                                                    + "@org.mongodb.morphia.annotations.Entity\n"
+                                                    + "public class Pet { String id; }\n");
+
+        assertEquals(asList("example.Employee", "example.Person", "example.Person$Address", "example.sub.Pet"),
+                     ReflectionUtils.readEntityIndex(new File(compiler.getOutput(), ReflectionUtils.ENTITY_INDEX).toURI().toURL()));
+
+        final Set<String> names = new HashSet<String>();
+        for (final Class<?> c : ReflectionUtils.getIndexedClasses(loader, "example", false)) {
+            names.add(c.getName());
+        }
+        assertEquals(new HashSet<String>(asList("example.Employee", "example.Person", "example.Person$Address")), names);
+        assertEquals(4, ReflectionUtils.getIndexedClasses(loader, "example", true).size());
+        assertEquals(5, ReflectionUtils.getClasses(loader, "example", true).size());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia.processor;
+
+import org.junit.Assume;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles sources with a processor in to a temporary directory.  The classes compiled earlier are on the classpath of the later
+ * compilations, like in an incremental build.
+ */
+class TestCompiler {
+    private final Class<? extends Processor> processor;
+    private final File output = new File(System.getProperty("java.io.tmpdir"), "morphia-processor-" + System.nanoTime());
+
+    TestCompiler(final Class<? extends Processor> processor) {
+        this.processor = processor;
+    }
+
+    File getOutput() {
+        return output;
+    }
+
+    ClassLoader compile(final String className, final String source) throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(compiler);
+        assertTrue(output.isDirectory() || output.mkdirs());
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        try {
+            final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"),
+                                                                 JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+            final CompilationTask task = compiler.getTask(null, fileManager, null,
+                                                          asList("-d", output.getPath(), "-s", output.getPath(),
+                                                                 "-classpath", System.getProperty("java.class.path")
+                                                                               + File.pathSeparator + output.getPath()),
+                                                          null, singletonList(file));
+            task.setProcessors(singletonList(processor.newInstance()));
+            assertTrue(task.call());
+        } finally {
+            fileManager.close();
+        }
+        return new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    void close() {
+        delete(output);
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}